@@ -0,0 +1,119 @@
+package com.aivideocoach.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (-rf json) and exits non-zero when a benchmark got
+ * slower or allocates more than the threshold allows.
+ *
+ * A score change only counts when it is larger than both the relative threshold and the
+ * combined 99.9% error of the two runs, so noise on a busy machine does not fail the build.
+ * Allocation (gc.alloc.rate.norm, bytes per operation) is deterministic enough to compare
+ * against the threshold alone.
+ *
+ * Usage: BenchmarkCompare baseline.json current.json [--threshold 0.10]
+ */
+public class BenchmarkCompare {
+
+    // JMH before 1.36 prefixed secondary metrics with a middle dot
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    private static final String LEGACY_ALLOC_NORM = "\u00b7gc.alloc.rate.norm";
+
+    record Result(String mode, String unit, double score, double error, Double bytesPerOp) {
+
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    record Comparison(String key, Result baseline, Result current, double scoreChange, Double allocChange,
+                      boolean regression) {}
+
+    static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText())
+                    .append(" [").append(run.path("mode").asText()).append(']');
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+
+            JsonNode primary = run.path("primaryMetric");
+            JsonNode secondary = run.path("secondaryMetrics");
+            JsonNode alloc = secondary.has(ALLOC_NORM) ? secondary.path(ALLOC_NORM) : secondary.path(LEGACY_ALLOC_NORM);
+            double error = primary.path("scoreError").asDouble(0);
+            results.put(key.toString(), new Result(run.path("mode").asText(), primary.path("scoreUnit").asText(),
+                    primary.path("score").asDouble(), Double.isNaN(error) ? 0 : error,
+                    alloc.isMissingNode() ? null : alloc.path("score").asDouble()));
+        }
+        return results;
+    }
+
+    static Comparison compare(String key, Result baseline, Result current, double threshold) {
+        // Positive = worse, as a fraction of the baseline
+        double delta = baseline.higherIsBetter()
+                ? baseline.score() - current.score()
+                : current.score() - baseline.score();
+        double scoreChange = delta / baseline.score();
+        boolean slower = scoreChange > threshold && delta > baseline.error() + current.error();
+
+        Double allocChange = null;
+        boolean allocates = false;
+        if (baseline.bytesPerOp() != null && current.bytesPerOp() != null) {
+            allocChange = (current.bytesPerOp() - baseline.bytesPerOp()) / Math.max(1.0, baseline.bytesPerOp());
+            // A few bytes per op are measurement artefacts, not allocation
+            allocates = allocChange > threshold && current.bytesPerOp() - baseline.bytesPerOp() > 16;
+        }
+        return new Comparison(key, baseline, current, scoreChange, allocChange, slower || allocates);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkCompare baseline.json current.json [--threshold 0.10]");
+            System.exit(2);
+        }
+        double threshold = 0.10;
+        for (int i = 2; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--threshold")) {
+                threshold = Double.parseDouble(args[i + 1]);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "NEW         %s  %.3f %s%n", entry.getKey(),
+                        entry.getValue().score(), entry.getValue().unit());
+                continue;
+            }
+            Comparison c = compare(entry.getKey(), before, entry.getValue(), threshold);
+            if (c.regression()) regressions++;
+            System.out.printf(Locale.ROOT, "%-11s %s  %.3f -> %.3f %s (%.1f%% %s)%s%n",
+                    c.regression() ? "REGRESSION" : "ok", c.key(), before.score(), c.current().score(),
+                    before.unit(), 100 * Math.abs(c.scoreChange()), c.scoreChange() > 0 ? "worse" : "better",
+                    c.allocChange() != null
+                            ? String.format(Locale.ROOT, ", alloc %.0f -> %.0f B/op", before.bytesPerOp(),
+                                    c.current().bytesPerOp())
+                            : "");
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.println("MISSING     " + key));
+
+        System.out.printf(Locale.ROOT, "%d regression(s) beyond %.0f%%%n", regressions, threshold * 100);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.aivideocoach.benchmark;
+
+import com.aivideocoach.youtube.dto.YoutubeVideoResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic inputs shared by the benchmarks. Candidate sets are generated with a fixed
+ * seed so every run and every branch ranks the same data; HTML pages and API payloads are
+ * recorded files on the test class path.
+ */
+public final class BenchmarkFixtures {
+
+    /** Reference time for candidate timestamps and the scorer's clock. */
+    public static final Instant NOW = Instant.parse("2025-03-14T12:00:00Z");
+
+    private static final String[] TOPICS = {"home workout", "meal prep", "yoga for beginners", "kettlebell",
+            "first apartment", "mortgage tips", "teeth whitening", "sourdough", "pilates", "marathon training",
+            "אימון בבית", "מתכון קל", "יוגה למתחילים"};
+    private static final String[] FORMATS = {"%s in 10 minutes", "5 %s mistakes to avoid", "%s routine (no equipment)",
+            "The only %s guide you need", "%s | full tutorial", "I tried %s for 30 days", "%s - Q&A"};
+    private static final String[] SPAM = {" - free money", " CLICK HERE", " giveaway!!"};
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Candidates shaped like enriched search results: log-normal views, likes and comments
+     * proportional to views with noise, uploads spread over the 30-day window, mostly
+     * second-precision UTC timestamps, a few spam titles and missing counters.
+     */
+    public static List<YoutubeVideoResult> candidates(int count, long seed) {
+        Random random = new Random(seed);
+        List<YoutubeVideoResult> videos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long views = (long) Math.exp(7 + random.nextGaussian() * 2.2);
+            long likes = (long) (views * (0.005 + random.nextDouble() * 0.05));
+            Long comments = i % 50 == 0 ? null : (long) (likes * random.nextDouble() * 0.2);
+            Instant published = NOW.minusSeconds(random.nextInt(30 * 86_400));
+            String publishedAt = switch (i % 40) {
+                case 0 -> published.atOffset(ZoneOffset.ofHours(2)).toString();
+                case 1 -> published.plusMillis(random.nextInt(1000)).toString();
+                default -> published.toString();
+            };
+            String title = String.format(FORMATS[random.nextInt(FORMATS.length)], TOPICS[random.nextInt(TOPICS.length)])
+                    + (i % 97 == 0 ? SPAM[random.nextInt(SPAM.length)] : "");
+            String id = "v" + Long.toString(seed, 36) + "x" + i;
+            videos.add(new YoutubeVideoResult(
+                    id, title, "Channel " + random.nextInt(Math.max(1, count / 8)), publishedAt,
+                    "https://www.youtube.com/watch?v=" + id,
+                    views, likes, comments,
+                    i % 60 == 0 ? null : 15 + random.nextInt(3_600),
+                    (long) Math.exp(8 + random.nextGaussian() * 2.5), 0.0));
+        }
+        return videos;
+    }
+
+    public static byte[] resource(String path) {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark fixture " + path);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String text(String path) {
+        return new String(resource(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.aivideocoach.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * contentDetails.duration values as YouTube returns them: mostly minutes and seconds, some
+ * hours, zero-length lives and multi-day streams. Reported per parsed value.
+ *
+ * regexBaseline is the previous PT-only regex parser (P0D and P1DT... came back null),
+ * kept to compare against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DurationParserBenchmark {
+
+    static final String[] DURATIONS = {
+            "PT4M13S", "PT12M", "PT59S", "PT1H2M10S", "PT8M41S", "PT21M3S", "PT45S", "PT3M",
+            "PT1H", "PT15M33S", "P0D", "PT10H5M", "PT7M7S", "P1DT2H3M4S", "PT30M", "PT2M30S"
+    };
+
+    private static final Pattern DURATION_PATTERN = Pattern.compile("PT(?:(\\d+)H)?(?:(\\d+)M)?(?:(\\d+)S)?");
+
+    private final YouTubeDurationParser parser = new YouTubeDurationParser();
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void parseSeconds(Blackhole blackhole) {
+        for (String duration : DURATIONS) {
+            blackhole.consume(parser.parseSeconds(duration));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void parseToSeconds(Blackhole blackhole) {
+        for (String duration : DURATIONS) {
+            blackhole.consume(parser.parseToSeconds(duration));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void regexBaseline(Blackhole blackhole) {
+        for (String duration : DURATIONS) {
+            blackhole.consume(regexParseToSeconds(duration));
+        }
+    }
+
+    private static Integer regexParseToSeconds(String isoDuration) {
+        Matcher matcher = DURATION_PATTERN.matcher(isoDuration);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return group(matcher.group(1)) * 3600 + group(matcher.group(2)) * 60 + group(matcher.group(3));
+    }
+
+    private static int group(String group) {
+        return group != null ? Integer.parseInt(group) : 0;
+    }
+}
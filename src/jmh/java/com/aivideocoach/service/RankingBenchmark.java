@@ -0,0 +1,73 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.benchmark.BenchmarkFixtures;
+import com.aivideocoach.youtube.dto.YoutubeVideoResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 ranking of one candidate set: the columnar {@link VideoQualityScorer.Ranker} against
+ * the per-object reference formula it replaced, and with near-duplicate collapsing (the
+ * fixture titles repeat a small set of formats and topics).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingBenchmark {
+
+    private static final String SPAM_PATTERNS = "free money,crypto pump,giveaway,click here,subscribe for,100% guaranteed";
+
+    @Param({"25", "500", "50000"})
+    public int candidates;
+
+    private List<YoutubeVideoResult> videos;
+    private VideoQualityScorer scorer;
+    private VideoQualityScorer distinctScorer;
+    private ReferenceVideoQualityScorer reference;
+    private OffsetDateTime now;
+
+    @Setup
+    public void setUp() {
+        videos = BenchmarkFixtures.candidates(candidates, 42);
+        scorer = new VideoQualityScorer(new SpamPatternRegistry(SPAM_PATTERNS), 10_000, 7,
+                Clock.fixed(BenchmarkFixtures.NOW, ZoneOffset.UTC));
+        distinctScorer = new VideoQualityScorer(new SpamPatternRegistry(SPAM_PATTERNS), 10_000, 7,
+                new NearDuplicateDetector(true, 0.7), Clock.fixed(BenchmarkFixtures.NOW, ZoneOffset.UTC));
+        reference = new ReferenceVideoQualityScorer(SPAM_PATTERNS, 10_000, 7);
+        now = BenchmarkFixtures.NOW.atOffset(ZoneOffset.UTC);
+    }
+
+    @Benchmark
+    public List<YoutubeVideoResult> columnar() {
+        return scorer.newRanker("fitness", 10).offer(videos).topK();
+    }
+
+    @Benchmark
+    public List<YoutubeVideoResult> columnarDistinct() {
+        return distinctScorer.newRanker("fitness", 10).offer(videos).topK();
+    }
+
+    @Benchmark
+    public List<YoutubeVideoResult> reference() {
+        List<YoutubeVideoResult> ranked = reference.scoreAndRankVideos(videos, "fitness", now);
+        return ranked.subList(0, Math.min(10, ranked.size()));
+    }
+}
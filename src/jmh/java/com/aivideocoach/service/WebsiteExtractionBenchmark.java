@@ -0,0 +1,56 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.agent.dto.WebsiteContext;
+import com.aivideocoach.benchmark.BenchmarkFixtures;
+import com.aivideocoach.util.SingleFlightRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTML-to-text extraction and keyword analysis of saved business landing pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebsiteExtractionBenchmark {
+
+    @Param({"fitness-studio-en", "dental-clinic-he"})
+    public String page;
+
+    private WebsiteContextExtractor extractor;
+    private String html;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        // Only the parsing half is exercised; no HTTP client is needed
+        extractor = new WebsiteContextExtractor(new SingleFlightRegistry(), null, null, null, new SimpleMeterRegistry());
+        html = BenchmarkFixtures.text("/benchmark/html/" + page + ".html");
+        text = extractor.extractTextFromHtml(html);
+    }
+
+    @Benchmark
+    public String extractTextFromHtml() {
+        return extractor.extractTextFromHtml(html);
+    }
+
+    @Benchmark
+    public WebsiteContext analyzeContent() {
+        return extractor.analyzeContent(text, "https://www.example.com/");
+    }
+}
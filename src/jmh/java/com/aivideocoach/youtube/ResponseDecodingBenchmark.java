@@ -0,0 +1,56 @@
+package com.aivideocoach.youtube;
+
+import com.aivideocoach.benchmark.BenchmarkFixtures;
+import com.aivideocoach.youtube.model.YoutubeSearchResponse;
+import com.aivideocoach.youtube.model.YoutubeVideosResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of recorded search.list (25 items) and videos.list (50 items) responses: the
+ * streaming decoder against full data binding of the same bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseDecodingBenchmark {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private byte[] search;
+    private byte[] videos;
+
+    @Setup
+    public void setUp() {
+        search = BenchmarkFixtures.resource("/youtube/search-list.json");
+        videos = BenchmarkFixtures.resource("/youtube/videos-list.json");
+    }
+
+    @Benchmark
+    public YoutubeSearchResponse decodeSearch() {
+        return YouTubeResponseDecoder.decodeSearch(search);
+    }
+
+    @Benchmark
+    public YoutubeVideosResponse decodeVideos() {
+        return YouTubeResponseDecoder.decodeVideos(videos);
+    }
+
+    @Benchmark
+    public YoutubeVideosResponse decodeVideosDatabind() {
+        return mapper.readValue(videos, YoutubeVideosResponse.class);
+    }
+}
@@ -3,6 +3,7 @@ package com.aivideocoach.agent;
 import com.aivideocoach.agent.memory.SessionStateStore;
 import com.aivideocoach.agent.tools.InspirationTool;
 import com.aivideocoach.agent.tools.WebsiteContextTool;
+import com.aivideocoach.service.YoutubeInspirationService;
 import com.aivideocoach.service.YoutubeInspirationSyncService;
 import com.aivideocoach.service.WebsiteContextExtractor;
 import org.springframework.context.annotation.Bean;
@@ -17,8 +18,8 @@ public class AgentConfig {
     }
 
     @Bean
-    public InspirationTool inspirationTool(YoutubeInspirationSyncService youtube) {
-        return new InspirationTool(youtube);
+    public InspirationTool inspirationTool(YoutubeInspirationSyncService youtube, YoutubeInspirationService engine) {
+        return new InspirationTool(youtube, engine);
     }
 
     @Bean
@@ -43,23 +43,23 @@ public class AgentService {
         }
 
         // יש מספיק → מפעילים tool (YouTube)
-        YoutubeInspirationResponse response = tools.topYoutube(
+        return tools.topYoutubeReactive(
                 merged.businessName(),
                 merged.domain(),
                 merged.targetAudience(),
                 merged.keywords(),
                 merged.language(),
                 merged.location()
-        );
-        
-        Pair pair = successMessage(response);
-        return Mono.just(new AgentChatResponse(
-                sessionId,
-                pair.message(),
-                merged,
-                List.of(),
-                pair.res().results()
-        ));
+        ).map(response -> {
+            Pair pair = successMessage(response);
+            return new AgentChatResponse(
+                    sessionId,
+                    pair.message(),
+                    merged,
+                    List.of(),
+                    pair.res().results()
+            );
+        });
 
     }
 
@@ -0,0 +1,117 @@
+package com.aivideocoach.agent.llm;
+
+import com.aivideocoach.jfr.LlmCallEvent;
+import com.aivideocoach.jfr.TraceContext;
+import com.aivideocoach.util.StageTimer;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Chat model decorator recording, per agent, the latency of every model round-trip
+ * (llm.call.duration) and the input/output tokens it used (llm.tokens). One agent turn
+ * with tool calls is several round-trips, each recorded separately and emitted as an
+ * LlmCall JFR event tagged with the turn's session.
+ */
+public class MeteredChatLanguageModel implements ChatLanguageModel {
+
+    private final ChatLanguageModel delegate;
+    private final String agent;
+    private final StageTimer calls;
+    private final DistributionSummary inputTokens;
+    private final DistributionSummary outputTokens;
+
+    public MeteredChatLanguageModel(ChatLanguageModel delegate, String agent, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.agent = agent;
+        this.calls = StageTimer.of(registry, "llm.call.duration", "Latency of one LLM round-trip", "agent", agent);
+        this.inputTokens = tokens(registry, agent, "input");
+        this.outputTokens = tokens(registry, agent, "output");
+    }
+
+    private static DistributionSummary tokens(MeterRegistry registry, String agent, String type) {
+        return DistributionSummary.builder("llm.tokens")
+                .description("Tokens used by one LLM round-trip")
+                .baseUnit("tokens")
+                .tags("agent", agent, "type", type)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        return recorded(() -> delegate.generate(messages), Response::content, Response::tokenUsage);
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        return recorded(() -> delegate.generate(messages, toolSpecifications), Response::content, Response::tokenUsage);
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, ToolSpecification toolSpecification) {
+        return recorded(() -> delegate.generate(messages, toolSpecification), Response::content, Response::tokenUsage);
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest request) {
+        return recorded(() -> delegate.chat(request), ChatResponse::aiMessage, ChatResponse::tokenUsage);
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    private <R> R recorded(Supplier<R> call, Function<R, AiMessage> message, Function<R, TokenUsage> usage) {
+        LlmCallEvent event = new LlmCallEvent();
+        event.begin();
+        R response = null;
+        try {
+            response = calls.record(call);
+            recordTokens(usage.apply(response));
+            return response;
+        } finally {
+            commit(event, response != null ? message.apply(response) : null,
+                    response != null ? usage.apply(response) : null, response != null);
+        }
+    }
+
+    private void commit(LlmCallEvent event, AiMessage message, TokenUsage usage, boolean success) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.agent = agent;
+        event.sessionId = TraceContext.session();
+        if (usage != null) {
+            event.inputTokens = usage.inputTokenCount() != null ? usage.inputTokenCount() : 0;
+            event.outputTokens = usage.outputTokenCount() != null ? usage.outputTokenCount() : 0;
+        }
+        event.toolCalls = message != null && message.hasToolExecutionRequests()
+                ? message.toolExecutionRequests().size() : 0;
+        event.outcome = success ? "success" : "error";
+        event.commit();
+    }
+
+    private void recordTokens(TokenUsage usage) {
+        if (usage == null) {
+            return;
+        }
+        if (usage.inputTokenCount() != null) inputTokens.record(usage.inputTokenCount());
+        if (usage.outputTokenCount() != null) outputTokens.record(usage.outputTokenCount());
+    }
+}
@@ -0,0 +1,75 @@
+package com.aivideocoach.agent.llm;
+
+import com.aivideocoach.jfr.ToolCallEvent;
+import com.aivideocoach.util.StageTimer;
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.agent.tool.ToolSpecifications;
+import dev.langchain4j.service.tool.DefaultToolExecutor;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tool executor recording agent.tool.duration per agent and @Tool method; the timer count
+ * is the number of calls. Each call is also a ToolCall JFR event tagged with the session
+ * (the chat memory ID). Tools are discovered the same way AiServices.tools(Object...) does.
+ */
+public class MeteredToolExecutor implements ToolExecutor {
+
+    private final ToolExecutor delegate;
+    private final String agent;
+    private final String tool;
+    private final StageTimer timer;
+
+    MeteredToolExecutor(ToolExecutor delegate, String agent, String tool, StageTimer timer) {
+        this.delegate = delegate;
+        this.agent = agent;
+        this.tool = tool;
+        this.timer = timer;
+    }
+
+    /**
+     * Specifications and metered executors for every @Tool method of the given objects,
+     * for AiServices.tools(Map).
+     */
+    public static Map<ToolSpecification, ToolExecutor> toolsOf(String agent, MeterRegistry registry, Object... tools) {
+        Map<ToolSpecification, ToolExecutor> executors = new LinkedHashMap<>();
+        for (Object tool : tools) {
+            for (Method method : tool.getClass().getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Tool.class)) continue;
+                ToolSpecification specification = ToolSpecifications.toolSpecificationFrom(method);
+                StageTimer timer = StageTimer.of(registry, "agent.tool.duration", "Latency of one agent tool call",
+                        "agent", agent, "tool", specification.name());
+                executors.put(specification, new MeteredToolExecutor(new DefaultToolExecutor(tool, method), agent,
+                        specification.name(), timer));
+            }
+        }
+        return executors;
+    }
+
+    @Override
+    public String execute(ToolExecutionRequest request, Object memoryId) {
+        ToolCallEvent event = new ToolCallEvent();
+        event.begin();
+        boolean success = false;
+        try {
+            String result = timer.record(() -> delegate.execute(request, memoryId));
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.agent = agent;
+                event.tool = tool;
+                event.sessionId = memoryId != null ? memoryId.toString() : null;
+                event.outcome = success ? "success" : "error";
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.aivideocoach.agent.llm;
+
+import com.aivideocoach.jfr.AgentTurnEvent;
+import com.aivideocoach.jfr.JfrRecorder;
+import com.aivideocoach.jfr.TraceContext;
+import dev.langchain4j.service.MemoryId;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+/**
+ * Wraps an AiServices agent so each call is one AgentTurn JFR event, and the session (the
+ * @MemoryId argument) is visible to the LLM calls, tools and outbound requests of the turn.
+ * Turns slower than jfr.slow-turn-threshold trigger a recording dump.
+ */
+public final class TracedAgent {
+
+    private TracedAgent() {}
+
+    public static <T> T wrap(Class<T> type, T agent, JfrRecorder recorder) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invoke(method, agent, args);
+            }
+            String sessionId = memoryId(method, args);
+            AgentTurnEvent event = new AgentTurnEvent();
+            event.begin();
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                Object result = TraceContext.inSession(sessionId, () -> invokeUnchecked(method, agent, args));
+                success = true;
+                return result;
+            } finally {
+                event.end();
+                String session = sessionId != null ? sessionId : TraceContext.session();
+                if (event.shouldCommit()) {
+                    event.agent = type.getSimpleName();
+                    event.method = method.getName();
+                    event.sessionId = session;
+                    event.outcome = success ? "success" : "error";
+                    event.commit();
+                }
+                recorder.onTurnCompleted(type.getSimpleName(), session, Duration.ofNanos(System.nanoTime() - start));
+            }
+        });
+        return type.cast(proxy);
+    }
+
+    private static String memoryId(Method method, Object[] args) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof MemoryId && args[i] != null) {
+                    return args[i].toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object invokeUnchecked(Method method, Object target, Object[] args) {
+        try {
+            return invoke(method, target, args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
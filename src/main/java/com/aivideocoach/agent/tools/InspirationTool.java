@@ -1,10 +1,12 @@
 package com.aivideocoach.agent.tools;
 
+import com.aivideocoach.service.YoutubeInspirationService;
 import com.aivideocoach.service.YoutubeInspirationSyncService;
 import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
 import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
 import dev.langchain4j.agent.tool.Tool;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -12,11 +14,14 @@ import java.util.List;
 public class InspirationTool {
     
     private final YoutubeInspirationSyncService service;
+    private final YoutubeInspirationService reactiveService;
     
-    public InspirationTool(YoutubeInspirationSyncService service) {
+    public InspirationTool(YoutubeInspirationSyncService service, YoutubeInspirationService reactiveService) {
         this.service = service;
+        this.reactiveService = reactiveService;
     }
     
+    // LangChain4j invokes tools synchronously on the agent's worker thread, never on the event loop
     @Tool("Finds top YouTube videos with quality ranking")
     public YoutubeInspirationResponse topYoutube(
             String businessName,
@@ -26,7 +31,29 @@ public class InspirationTool {
             String language,
             String location
     ) {
-        YoutubeInspirationRequest req = new YoutubeInspirationRequest(
+        return service.topVideos(buildRequest(businessName, domain, targetAudience, keywords, language, location));
+    }
+
+    public Mono<YoutubeInspirationResponse> topYoutubeReactive(
+            String businessName,
+            String domain,
+            String targetAudience,
+            List<String> keywords,
+            String language,
+            String location
+    ) {
+        return reactiveService.topVideosReactive(buildRequest(businessName, domain, targetAudience, keywords, language, location));
+    }
+
+    private YoutubeInspirationRequest buildRequest(
+            String businessName,
+            String domain,
+            String targetAudience,
+            List<String> keywords,
+            String language,
+            String location
+    ) {
+        return new YoutubeInspirationRequest(
                 businessName,
                 domain,
                 targetAudience,
@@ -35,7 +62,5 @@ public class InspirationTool {
                 keywords,
                 30  // Simple 30 day window
         );
-
-        return service.topVideos(req);
     }
-}
\ No newline at end of file
+}
@@ -5,10 +5,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,11 +12,6 @@ import java.util.regex.Pattern;
 public class VideoAnalysisTool {
     
     private static final Logger log = LoggerFactory.getLogger(VideoAnalysisTool.class);
-    private final HttpClient httpClient;
-    
-    public VideoAnalysisTool() {
-        this.httpClient = HttpClient.newHttpClient();
-    }
     
     @Tool("Analyzes YouTube video content and extracts key insights for content creation")
     public String analyzeVideo(String videoUrl, String businessContext, String targetAudience) {
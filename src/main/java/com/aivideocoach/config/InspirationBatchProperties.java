@@ -0,0 +1,34 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "inspiration.batch")
+public class InspirationBatchProperties {
+    private int maxItems = 500;
+
+    // Items in flight per batch; clients may ask for less, never more than maxConcurrency
+    private int concurrency = 4;
+    private int maxConcurrency = 16;
+
+    // YouTube quota units one batch may spend in total (cached answers are free)
+    private long quotaBudget = 5_000;
+
+    private Duration itemTimeout = Duration.ofSeconds(60);
+
+    public int getMaxItems() { return maxItems; }
+    public void setMaxItems(int maxItems) { this.maxItems = maxItems; }
+
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+
+    public int getMaxConcurrency() { return maxConcurrency; }
+    public void setMaxConcurrency(int maxConcurrency) { this.maxConcurrency = maxConcurrency; }
+
+    public long getQuotaBudget() { return quotaBudget; }
+    public void setQuotaBudget(long quotaBudget) { this.quotaBudget = quotaBudget; }
+
+    public Duration getItemTimeout() { return itemTimeout; }
+    public void setItemTimeout(Duration itemTimeout) { this.itemTimeout = itemTimeout; }
+}
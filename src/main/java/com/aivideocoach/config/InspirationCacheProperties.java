@@ -0,0 +1,31 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "inspiration.cache")
+public class InspirationCacheProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofMinutes(30);
+    private long maxSize = 5_000;
+
+    // Serve entries older than ttl (up to ttl + staleWindow) while one background refresh repopulates them
+    private boolean staleWhileRevalidate = true;
+    private Duration staleWindow = Duration.ofHours(6);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+    public long getMaxSize() { return maxSize; }
+    public void setMaxSize(long maxSize) { this.maxSize = maxSize; }
+
+    public boolean isStaleWhileRevalidate() { return staleWhileRevalidate; }
+    public void setStaleWhileRevalidate(boolean staleWhileRevalidate) { this.staleWhileRevalidate = staleWhileRevalidate; }
+
+    public Duration getStaleWindow() { return staleWindow; }
+    public void setStaleWindow(Duration staleWindow) { this.staleWindow = staleWindow; }
+}
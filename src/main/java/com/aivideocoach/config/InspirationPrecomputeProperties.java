@@ -0,0 +1,69 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "inspiration.precompute")
+public class InspirationPrecomputeProperties {
+    private boolean enabled = true;
+
+    // Niches that are always kept warm, on top of the learned ones
+    private List<Tuple> tuples = new ArrayList<>();
+
+    // Most requested keys are promoted into the index automatically
+    private int learnedMax = 5;
+    private long learnMinRequests = 3;
+    private Duration learningHalfLife = Duration.ofHours(24);
+
+    // Each key is refreshed roughly every refreshInterval (staggered per key) and served
+    // from the index while younger than maxAge
+    private Duration refreshInterval = Duration.ofHours(6);
+    private Duration maxAge = Duration.ofHours(12);
+    private int refreshesPerRun = 2;
+
+    public static class Tuple {
+        private String domain;
+        private List<String> keywords = new ArrayList<>();
+        private String language;
+        private String location;
+
+        public String getDomain() { return domain; }
+        public void setDomain(String domain) { this.domain = domain; }
+
+        public List<String> getKeywords() { return keywords; }
+        public void setKeywords(List<String> keywords) { this.keywords = keywords; }
+
+        public String getLanguage() { return language; }
+        public void setLanguage(String language) { this.language = language; }
+
+        public String getLocation() { return location; }
+        public void setLocation(String location) { this.location = location; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<Tuple> getTuples() { return tuples; }
+    public void setTuples(List<Tuple> tuples) { this.tuples = tuples; }
+
+    public int getLearnedMax() { return learnedMax; }
+    public void setLearnedMax(int learnedMax) { this.learnedMax = learnedMax; }
+
+    public long getLearnMinRequests() { return learnMinRequests; }
+    public void setLearnMinRequests(long learnMinRequests) { this.learnMinRequests = learnMinRequests; }
+
+    public Duration getLearningHalfLife() { return learningHalfLife; }
+    public void setLearningHalfLife(Duration learningHalfLife) { this.learningHalfLife = learningHalfLife; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+
+    public Duration getMaxAge() { return maxAge; }
+    public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+
+    public int getRefreshesPerRun() { return refreshesPerRun; }
+    public void setRefreshesPerRun(int refreshesPerRun) { this.refreshesPerRun = refreshesPerRun; }
+}
@@ -0,0 +1,12 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the jfr.* settings for {@link com.aivideocoach.jfr.JfrRecorder}.
+ */
+@Configuration
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrConfig {
+}
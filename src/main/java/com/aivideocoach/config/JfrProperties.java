@@ -0,0 +1,47 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "jfr")
+public class JfrProperties {
+    // Continuous in-process recording with the JDK "default" settings (~1% overhead) plus the app events
+    private boolean enabled = false;
+    private Duration maxAge = Duration.ofMinutes(30);
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+
+    // Agent turns slower than this dump the recording, at most once per dump interval
+    private Duration slowTurnThreshold = Duration.ofSeconds(20);
+    private Duration minDumpInterval = Duration.ofMinutes(5);
+    private String dumpDirectory = "data/jfr";
+
+    // Oldest dumps are deleted once there are more than maxDumps or they take more than maxDumpBytes
+    private int maxDumps = 10;
+    private DataSize maxDumpBytes = DataSize.ofGigabytes(2);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getMaxAge() { return maxAge; }
+    public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+
+    public DataSize getMaxSize() { return maxSize; }
+    public void setMaxSize(DataSize maxSize) { this.maxSize = maxSize; }
+
+    public Duration getSlowTurnThreshold() { return slowTurnThreshold; }
+    public void setSlowTurnThreshold(Duration slowTurnThreshold) { this.slowTurnThreshold = slowTurnThreshold; }
+
+    public Duration getMinDumpInterval() { return minDumpInterval; }
+    public void setMinDumpInterval(Duration minDumpInterval) { this.minDumpInterval = minDumpInterval; }
+
+    public String getDumpDirectory() { return dumpDirectory; }
+    public void setDumpDirectory(String dumpDirectory) { this.dumpDirectory = dumpDirectory; }
+
+    public int getMaxDumps() { return maxDumps; }
+    public void setMaxDumps(int maxDumps) { this.maxDumps = maxDumps; }
+
+    public DataSize getMaxDumpBytes() { return maxDumpBytes; }
+    public void setMaxDumpBytes(DataSize maxDumpBytes) { this.maxDumpBytes = maxDumpBytes; }
+}
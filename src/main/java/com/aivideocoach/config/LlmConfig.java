@@ -1,6 +1,9 @@
 package com.aivideocoach.config;
 
 import com.aivideocoach.agent.llm.InspirationChatAgent;
+import com.aivideocoach.agent.llm.MeteredChatLanguageModel;
+import com.aivideocoach.agent.llm.MeteredToolExecutor;
+import com.aivideocoach.agent.llm.TracedAgent;
 import com.aivideocoach.agent.llm.VideoContentAgent;
 import com.aivideocoach.agent.llm.VideoQualityValidatorAgent;
 import com.aivideocoach.agent.tools.InspirationTool;
@@ -8,9 +11,11 @@ import com.aivideocoach.agent.tools.WebsiteContextTool;
 import com.aivideocoach.agent.tools.VideoQualityValidatorTool;
 import com.aivideocoach.agent.tools.VideoAnalysisTool;
 import com.aivideocoach.agent.tools.ContentCreationTool;
+import com.aivideocoach.jfr.JfrRecorder;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
 import dev.langchain4j.model.anthropic.AnthropicChatModel;
 import dev.langchain4j.service.AiServices;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,45 +28,61 @@ public class LlmConfig {
     @Bean
     public AnthropicChatModel anthropicChatModel(
             @Value("${anthropic.api-key}") String apiKey,
-            @Value("${anthropic.model:claude-3-5-haiku-latest}") String modelName
+            @Value("${anthropic.model:claude-3-5-haiku-latest}") String modelName,
+            @Value("${anthropic.base-url:}") String baseUrl
     ) {
-        return AnthropicChatModel.builder()
+        AnthropicChatModel.AnthropicChatModelBuilder builder = AnthropicChatModel.builder()
                 .apiKey(apiKey)
-                .modelName(modelName)
-                .build();
+                .modelName(modelName);
+        // Overridable so load tests can run against a local stand-in
+        if (baseUrl != null && !baseUrl.isBlank()) {
+            builder.baseUrl(baseUrl);
+        }
+        return builder.build();
     }
 
+    // Each agent gets its own metered view of the shared model, so latency and tokens are tagged per agent;
+    // every call to an agent is traced as one JFR turn
     @Bean
     public InspirationChatAgent inspirationChatAgent(
             AnthropicChatModel model,
+            MeterRegistry meterRegistry,
+            JfrRecorder jfrRecorder,
             InspirationTool inspirationTool,
             WebsiteContextTool websiteContextTool,
             VideoQualityValidatorTool videoValidatorTool
     ) {
-        return AiServices.builder(InspirationChatAgent.class)
-                .chatLanguageModel(model)
-                .tools(inspirationTool, websiteContextTool, videoValidatorTool)
+        String agent = InspirationChatAgent.class.getSimpleName();
+        return TracedAgent.wrap(InspirationChatAgent.class, AiServices.builder(InspirationChatAgent.class)
+                .chatLanguageModel(new MeteredChatLanguageModel(model, agent, meterRegistry))
+                .tools(MeteredToolExecutor.toolsOf(agent, meterRegistry,
+                        inspirationTool, websiteContextTool, videoValidatorTool))
                 .chatMemoryProvider(memoryId -> MessageWindowChatMemory.withMaxMessages(20))
-                .build();
+                .build(), jfrRecorder);
     }
 
     @Bean
     public VideoContentAgent videoContentAgent(
             AnthropicChatModel model,
+            MeterRegistry meterRegistry,
+            JfrRecorder jfrRecorder,
             VideoAnalysisTool videoAnalysisTool,
             ContentCreationTool contentCreationTool
     ) {
-        return AiServices.builder(VideoContentAgent.class)
-                .chatLanguageModel(model)
-                .tools(videoAnalysisTool, contentCreationTool)
+        String agent = VideoContentAgent.class.getSimpleName();
+        return TracedAgent.wrap(VideoContentAgent.class, AiServices.builder(VideoContentAgent.class)
+                .chatLanguageModel(new MeteredChatLanguageModel(model, agent, meterRegistry))
+                .tools(MeteredToolExecutor.toolsOf(agent, meterRegistry, videoAnalysisTool, contentCreationTool))
                 .chatMemoryProvider(memoryId -> MessageWindowChatMemory.withMaxMessages(20))
-                .build();
+                .build(), jfrRecorder);
     }
 
     @Bean
-    public VideoQualityValidatorAgent videoQualityValidatorAgent(AnthropicChatModel model) {
-        return AiServices.builder(VideoQualityValidatorAgent.class)
-                .chatLanguageModel(model)
-                .build();
+    public VideoQualityValidatorAgent videoQualityValidatorAgent(AnthropicChatModel model, MeterRegistry meterRegistry,
+                                                                 JfrRecorder jfrRecorder) {
+        return TracedAgent.wrap(VideoQualityValidatorAgent.class, AiServices.builder(VideoQualityValidatorAgent.class)
+                .chatLanguageModel(new MeteredChatLanguageModel(model,
+                        VideoQualityValidatorAgent.class.getSimpleName(), meterRegistry))
+                .build(), jfrRecorder);
     }
 }
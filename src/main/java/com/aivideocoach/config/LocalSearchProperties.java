@@ -0,0 +1,34 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "inspiration.local-search")
+public class LocalSearchProperties {
+    private boolean enabled = true;
+
+    // The local corpus answers a request when at least minHits videos in the window match
+    // at least minTermCoverage of the query words and enough of them pass the quality filters
+    private int minHits = 30;
+    private double minTermCoverage = 0.5;
+
+    // Inserts are buffered and flushed into an immutable segment once this many docs arrive
+    private int bufferMaxDocs = 1_000;
+
+    // At most this many videos are indexed; the longest-indexed ones are evicted first
+    private int maxDocs = 100_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getMinHits() { return minHits; }
+    public void setMinHits(int minHits) { this.minHits = minHits; }
+
+    public double getMinTermCoverage() { return minTermCoverage; }
+    public void setMinTermCoverage(double minTermCoverage) { this.minTermCoverage = minTermCoverage; }
+
+    public int getBufferMaxDocs() { return bufferMaxDocs; }
+    public void setBufferMaxDocs(int bufferMaxDocs) { this.bufferMaxDocs = bufferMaxDocs; }
+
+    public int getMaxDocs() { return maxDocs; }
+    public void setMaxDocs(int maxDocs) { this.maxDocs = maxDocs; }
+}
@@ -0,0 +1,39 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "metadata-store")
+public class MetadataStoreProperties {
+    private boolean enabled = true;
+    private String directory = "data/metadata";
+
+    // The active segment is sealed and a new one started once it reaches this size
+    private DataSize segmentMaxSize = DataSize.ofMegabytes(64);
+
+    // Segments are rewritten with only live records once this fraction of bytes is
+    // superseded or older than retention
+    private double compactionGarbageRatio = 0.5;
+    private DataSize compactionMinSize = DataSize.ofMegabytes(1);
+    private Duration retention = Duration.ofDays(7);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+
+    public DataSize getSegmentMaxSize() { return segmentMaxSize; }
+    public void setSegmentMaxSize(DataSize segmentMaxSize) { this.segmentMaxSize = segmentMaxSize; }
+
+    public double getCompactionGarbageRatio() { return compactionGarbageRatio; }
+    public void setCompactionGarbageRatio(double compactionGarbageRatio) { this.compactionGarbageRatio = compactionGarbageRatio; }
+
+    public DataSize getCompactionMinSize() { return compactionMinSize; }
+    public void setCompactionMinSize(DataSize compactionMinSize) { this.compactionMinSize = compactionMinSize; }
+
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+}
@@ -0,0 +1,160 @@
+package com.aivideocoach.config;
+
+import com.aivideocoach.http.Hedger;
+import com.aivideocoach.service.InspirationResultCache;
+import com.aivideocoach.service.LocalVideoIndex;
+import com.aivideocoach.service.SpamPatternRegistry;
+import com.aivideocoach.service.TrendingIndex;
+import com.aivideocoach.service.VideoMetadataStore;
+import com.aivideocoach.service.YoutubeInspirationService;
+import com.aivideocoach.util.SingleFlight;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.youtube.ConditionalResponseCache;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import com.aivideocoach.youtube.YouTubeQuotaManager.Operation;
+import com.aivideocoach.youtube.YouTubeQuotaManager.Priority;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exports the counters the components already keep (the /stats endpoints) as gauges and
+ * function counters, read on each scrape. Latency histograms are recorded where the work
+ * happens; see StageTimer.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder quotaMetrics(YouTubeQuotaManager quotaManager) {
+        return registry -> {
+            for (Operation op : Operation.values()) {
+                for (Priority priority : Priority.values()) {
+                    FunctionCounter.builder("youtube.quota.units.spent", quotaManager, q -> q.unitsSpent(op, priority))
+                            .description("YouTube Data API quota units charged")
+                            .baseUnit("units")
+                            .tags("operation", lower(op), "priority", lower(priority))
+                            .register(registry);
+                }
+            }
+            FunctionCounter.builder("youtube.quota.denied", quotaManager, YouTubeQuotaManager::deniedCalls)
+                    .description("YouTube calls refused by the quota ledger")
+                    .register(registry);
+            Gauge.builder("youtube.quota.used", quotaManager, q -> q.snapshot().used())
+                    .description("Quota units used today").baseUnit("units").register(registry);
+            Gauge.builder("youtube.quota.remaining", quotaManager, q -> q.snapshot().remaining())
+                    .description("Quota units left today").baseUnit("units").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder inspirationMetrics(YoutubeInspirationService service) {
+        return registry -> {
+            Function<YoutubeInspirationService, InspirationResultCache.Stats> cache = YoutubeInspirationService::cacheStats;
+            gauge(registry, "inspiration.cache.size", service, cache, InspirationResultCache.Stats::size);
+            counter(registry, "inspiration.cache.hits", service, cache, InspirationResultCache.Stats::hitCount);
+            counter(registry, "inspiration.cache.misses", service, cache, InspirationResultCache.Stats::missCount);
+            counter(registry, "inspiration.cache.evictions", service, cache, InspirationResultCache.Stats::evictionCount);
+            counter(registry, "inspiration.cache.load.failures", service, cache,
+                    InspirationResultCache.Stats::loadFailureCount);
+
+            Function<YoutubeInspirationService, TrendingIndex.Stats> trending = YoutubeInspirationService::trendingStats;
+            gauge(registry, "inspiration.trending.indexed.keys", service, trending, TrendingIndex.Stats::indexedKeys);
+            counter(registry, "inspiration.trending.hits", service, trending, TrendingIndex.Stats::hits);
+            counter(registry, "inspiration.trending.misses", service, trending, TrendingIndex.Stats::misses);
+
+            Function<YoutubeInspirationService, LocalVideoIndex.Stats> local = YoutubeInspirationService::localSearchStats;
+            gauge(registry, "inspiration.local.docs", service, local, LocalVideoIndex.Stats::liveDocs);
+            gauge(registry, "inspiration.local.segments", service, local, LocalVideoIndex.Stats::segments);
+            counter(registry, "inspiration.local.searches", service, local, LocalVideoIndex.Stats::searches);
+        };
+    }
+
+    @Bean
+    public MeterBinder storeMetrics(VideoMetadataStore store, SpamPatternRegistry spamPatterns) {
+        return registry -> {
+            Function<VideoMetadataStore, VideoMetadataStore.Stats> stored = VideoMetadataStore::stats;
+            gauge(registry, "metadata.store.videos", store, stored, VideoMetadataStore.Stats::videos);
+            gauge(registry, "metadata.store.channels", store, stored, VideoMetadataStore.Stats::channels);
+            gauge(registry, "metadata.store.segments", store, stored, VideoMetadataStore.Stats::segments);
+            gauge(registry, "metadata.store.total.bytes", store, stored, VideoMetadataStore.Stats::totalBytes);
+            gauge(registry, "metadata.store.live.bytes", store, stored, VideoMetadataStore.Stats::liveBytes);
+            counter(registry, "metadata.store.compactions", store, stored, VideoMetadataStore.Stats::compactions);
+
+            Function<SpamPatternRegistry, SpamPatternRegistry.Stats> spam = SpamPatternRegistry::stats;
+            gauge(registry, "spam.patterns.default", spamPatterns, spam, SpamPatternRegistry.Stats::defaultPatterns);
+            gauge(registry, "spam.patterns.compiled.matchers", spamPatterns, spam,
+                    SpamPatternRegistry.Stats::compiledMatchers);
+            counter(registry, "spam.patterns.reloads", spamPatterns, spam, SpamPatternRegistry.Stats::reloads);
+        };
+    }
+
+    @Bean
+    public MeterBinder coalescingMetrics(SingleFlightRegistry singleFlights, YouTubeClient youTubeClient) {
+        return registry -> {
+            // Flights, hedgers and ETag caches are all created at startup, so the names are fixed by now
+            for (SingleFlight.Stats flight : singleFlights.stats()) {
+                Function<SingleFlightRegistry, SingleFlight.Stats> stats =
+                        r -> named(r.stats(), flight.name(), SingleFlight.Stats::name);
+                String[] tags = {"name", flight.name()};
+                counter(registry, "singleflight.executed", singleFlights, stats, SingleFlight.Stats::executed, tags);
+                counter(registry, "singleflight.coalesced", singleFlights, stats, SingleFlight.Stats::coalesced, tags);
+                gauge(registry, "singleflight.in.flight", singleFlights, stats, SingleFlight.Stats::inFlight, tags);
+            }
+            for (Hedger.Stats hedger : youTubeClient.hedgeStats()) {
+                Function<YouTubeClient, Hedger.Stats> stats = c -> named(c.hedgeStats(), hedger.name(), Hedger.Stats::name);
+                String[] tags = {"name", hedger.name()};
+                counter(registry, "hedge.calls", youTubeClient, stats, Hedger.Stats::calls, tags);
+                counter(registry, "hedge.hedged", youTubeClient, stats, Hedger.Stats::hedged, tags);
+                counter(registry, "hedge.wins", youTubeClient, stats, Hedger.Stats::hedgeWins, tags);
+                gauge(registry, "hedge.delay.seconds", youTubeClient, stats, s -> s.currentDelayMillis() / 1000.0, tags);
+            }
+            for (ConditionalResponseCache.Stats etags : youTubeClient.conditionalRequestStats()) {
+                Function<YouTubeClient, ConditionalResponseCache.Stats> stats =
+                        c -> named(c.conditionalRequestStats(), etags.name(), ConditionalResponseCache.Stats::name);
+                String[] tags = {"name", etags.name()};
+                gauge(registry, "youtube.etag.cache.size", youTubeClient, stats, ConditionalResponseCache.Stats::size, tags);
+                counter(registry, "youtube.etag.not.modified", youTubeClient, stats,
+                        ConditionalResponseCache.Stats::notModified, tags);
+                counter(registry, "youtube.etag.modified", youTubeClient, stats,
+                        ConditionalResponseCache.Stats::modified, tags);
+            }
+        };
+    }
+
+    /**
+     * Gauges and function counters hold their source weakly, so they reference the (singleton)
+     * component and read its stats on each scrape. NaN while the component reports no stats,
+     * e.g. the result cache when it is disabled.
+     */
+    private static <C, S> void gauge(MeterRegistry registry, String name, C component, Function<C, S> stats,
+                                     ToDoubleFunction<S> value, String... tags) {
+        Gauge.builder(name, component, c -> read(stats.apply(c), value)).tags(tags).register(registry);
+    }
+
+    private static <C, S> void counter(MeterRegistry registry, String name, C component, Function<C, S> stats,
+                                       ToDoubleFunction<S> value, String... tags) {
+        FunctionCounter.builder(name, component, c -> read(stats.apply(c), value)).tags(tags).register(registry);
+    }
+
+    private static <S> double read(S stats, ToDoubleFunction<S> value) {
+        return stats != null ? value.applyAsDouble(stats) : Double.NaN;
+    }
+
+    private static <S> S named(List<S> stats, String name, Function<S, String> nameOf) {
+        return stats.stream().filter(s -> nameOf.apply(s).equals(name)).findFirst().orElse(null);
+    }
+
+    private static String lower(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,44 @@
+package com.aivideocoach.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class OutboundHttpConfig {
+
+    /**
+     * One pool for all non-YouTube hosts; Reactor Netty keeps a separate sub-pool per
+     * remote address, so a hung site cannot starve connections to the others.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider(OutboundHttpProperties props) {
+        return ConnectionProvider.builder("outbound")
+                .maxConnections(props.getMaxConnectionsPerHost())
+                .pendingAcquireTimeout(props.getPendingAcquireTimeout())
+                .maxIdleTime(props.getMaxIdleTime())
+                .evictInBackground(props.getMaxIdleTime())
+                .build();
+    }
+
+    @Bean
+    public WebClient outboundWebClient(WebClient.Builder builder,
+                                       ConnectionProvider outboundConnectionProvider,
+                                       OutboundHttpProperties props) {
+        HttpClient httpClient = HttpClient.create(outboundConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) props.getConnectTimeout().toMillis())
+                .responseTimeout(props.getResponseTimeout())
+                .followRedirect(true);
+
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "outbound.http")
+public class OutboundHttpProperties {
+    // Shared pool for non-YouTube hosts (customer websites etc.); limits apply per host
+    private int maxConnectionsPerHost = 20;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Duration responseTimeout = Duration.ofSeconds(5);
+    // Overall deadline for one website page fetch, retries included
+    private Duration websiteTimeout = Duration.ofSeconds(8);
+
+    // Retries on 5xx/429 and connection failures, idempotent calls only
+    private int retryMaxAttempts = 3;
+    private Duration retryInitialBackoff = Duration.ofMillis(200);
+    private Duration retryMaxBackoff = Duration.ofSeconds(2);
+    private double retryJitter = 0.5;
+
+    // Per-host circuit breakers
+    private int breakerWindowSize = 20;
+    private int breakerMinimumCalls = 10;
+    private double breakerFailureRateThreshold = 0.5;
+    private Duration breakerOpenDuration = Duration.ofSeconds(30);
+    private int breakerHalfOpenCalls = 2;
+
+    public int getMaxConnectionsPerHost() { return maxConnectionsPerHost; }
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) { this.maxConnectionsPerHost = maxConnectionsPerHost; }
+
+    public Duration getPendingAcquireTimeout() { return pendingAcquireTimeout; }
+    public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) { this.pendingAcquireTimeout = pendingAcquireTimeout; }
+
+    public Duration getMaxIdleTime() { return maxIdleTime; }
+    public void setMaxIdleTime(Duration maxIdleTime) { this.maxIdleTime = maxIdleTime; }
+
+    public Duration getConnectTimeout() { return connectTimeout; }
+    public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+
+    public Duration getResponseTimeout() { return responseTimeout; }
+    public void setResponseTimeout(Duration responseTimeout) { this.responseTimeout = responseTimeout; }
+
+    public Duration getWebsiteTimeout() { return websiteTimeout; }
+    public void setWebsiteTimeout(Duration websiteTimeout) { this.websiteTimeout = websiteTimeout; }
+
+    public int getRetryMaxAttempts() { return retryMaxAttempts; }
+    public void setRetryMaxAttempts(int retryMaxAttempts) { this.retryMaxAttempts = retryMaxAttempts; }
+
+    public Duration getRetryInitialBackoff() { return retryInitialBackoff; }
+    public void setRetryInitialBackoff(Duration retryInitialBackoff) { this.retryInitialBackoff = retryInitialBackoff; }
+
+    public Duration getRetryMaxBackoff() { return retryMaxBackoff; }
+    public void setRetryMaxBackoff(Duration retryMaxBackoff) { this.retryMaxBackoff = retryMaxBackoff; }
+
+    public double getRetryJitter() { return retryJitter; }
+    public void setRetryJitter(double retryJitter) { this.retryJitter = retryJitter; }
+
+    public int getBreakerWindowSize() { return breakerWindowSize; }
+    public void setBreakerWindowSize(int breakerWindowSize) { this.breakerWindowSize = breakerWindowSize; }
+
+    public int getBreakerMinimumCalls() { return breakerMinimumCalls; }
+    public void setBreakerMinimumCalls(int breakerMinimumCalls) { this.breakerMinimumCalls = breakerMinimumCalls; }
+
+    public double getBreakerFailureRateThreshold() { return breakerFailureRateThreshold; }
+    public void setBreakerFailureRateThreshold(double breakerFailureRateThreshold) { this.breakerFailureRateThreshold = breakerFailureRateThreshold; }
+
+    public Duration getBreakerOpenDuration() { return breakerOpenDuration; }
+    public void setBreakerOpenDuration(Duration breakerOpenDuration) { this.breakerOpenDuration = breakerOpenDuration; }
+
+    public int getBreakerHalfOpenCalls() { return breakerHalfOpenCalls; }
+    public void setBreakerHalfOpenCalls(int breakerHalfOpenCalls) { this.breakerHalfOpenCalls = breakerHalfOpenCalls; }
+}
@@ -2,20 +2,25 @@ package com.aivideocoach.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
-import java.time.Duration;
+import java.net.http.HttpClient;
 
 @Configuration
 public class RestClientConfig {
 
     @Bean
-    public RestClient restClient() {
+    public RestClient restClient(OutboundHttpProperties props) {
+        // Same deadlines as the reactive outbound client
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder()
+                        .connectTimeout(props.getConnectTimeout())
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .build());
+        requestFactory.setReadTimeout(props.getResponseTimeout());
         return RestClient.builder()
-                .requestFactory(new org.springframework.http.client.JdkClientHttpRequestFactory(
-                        java.net.http.HttpClient.newBuilder()
-                                .build()
-                ))
+                .requestFactory(requestFactory)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "inspiration.spam-filter")
+public class SpamFilterProperties {
+    // A pattern containing one of these words is not applied when the request domain
+    // contains the same word (a crypto channel may say "crypto pump")
+    private List<String> exemptions = List.of("crypto", "giveaway");
+
+    // Extra phrases on top of inspiration.spam-patterns, keyed by language code and by tenant id
+    private Map<String, List<String>> languages = new LinkedHashMap<>();
+    private Map<String, List<String>> tenants = new LinkedHashMap<>();
+
+    // Optional directory of phrase lists (default.txt, language-<code>.txt, tenant-<id>.txt),
+    // re-read when a file changes
+    private String directory;
+    private Duration reloadInterval = Duration.ofMinutes(1);
+
+    public List<String> getExemptions() { return exemptions; }
+    public void setExemptions(List<String> exemptions) { this.exemptions = exemptions; }
+
+    public Map<String, List<String>> getLanguages() { return languages; }
+    public void setLanguages(Map<String, List<String>> languages) { this.languages = languages; }
+
+    public Map<String, List<String>> getTenants() { return tenants; }
+    public void setTenants(Map<String, List<String>> tenants) { this.tenants = tenants; }
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+
+    public Duration getReloadInterval() { return reloadInterval; }
+    public void setReloadInterval(Duration reloadInterval) { this.reloadInterval = reloadInterval; }
+}
@@ -1,10 +1,43 @@
 package com.aivideocoach.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
-@EnableConfigurationProperties(YouTubeProperties.class)
+@EnableConfigurationProperties({YouTubeProperties.class, YouTubeQuotaProperties.class, InspirationCacheProperties.class,
+        InspirationPrecomputeProperties.class, MetadataStoreProperties.class, LocalSearchProperties.class,
+        InspirationBatchProperties.class, SpamFilterProperties.class})
 public class YouTubeConfig {
-    // No WebClient needed - using simple HttpClient
-}
\ No newline at end of file
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider youTubeConnectionProvider(YouTubeProperties props) {
+        return ConnectionProvider.builder("youtube")
+                .maxConnections(props.getMaxConnections())
+                .pendingAcquireTimeout(props.getPendingAcquireTimeout())
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public WebClient youTubeWebClient(WebClient.Builder builder,
+                                      ConnectionProvider youTubeConnectionProvider,
+                                      YouTubeProperties props) {
+        HttpClient httpClient = HttpClient.create(youTubeConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) props.getConnectTimeout().toMillis())
+                .responseTimeout(props.getResponseTimeout());
+
+        return builder.clone()
+                .baseUrl(props.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
+                .build();
+    }
+}
@@ -2,12 +2,54 @@ package com.aivideocoach.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "youtube")
 public class YouTubeProperties {
     private String baseUrl = "https://www.googleapis.com/youtube/v3";
     private String apiKey;
     private boolean debug = false;
 
+    // Shared connection pool for all YouTube Data API calls
+    private int maxConnections = 50;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    // Per-attempt deadlines (search.list; videos.list and channels.list), applied inside retries and
+    // the circuit breaker; below response-timeout so a hung call counts as a host failure
+    private Duration searchTimeout = Duration.ofSeconds(8);
+    private Duration detailsTimeout = Duration.ofSeconds(6);
+
+    // Multi-keyword fan-out: one search per keyword group, merged before videos.list
+    private boolean fanOutEnabled = true;
+    private int fanOutMaxQueries = 3;
+
+    // Result pages per query (100 quota units each); stops early once enough candidates pass the filters
+    private int searchMaxPages = 3;
+
+    // Channel statistics change slowly and repeat across tenants
+    private Duration channelCacheTtl = Duration.ofHours(24);
+    private long channelCacheMaxSize = 50_000;
+
+    // Per-video details cache, refreshed in the background on an age/velocity schedule
+    private long videoStatsMaxSize = 100_000;
+    private Duration videoStatsIdleExpiry = Duration.ofDays(7);
+    private int videoStatsRefreshBatchesPerRun = 10;
+
+    // ETag + decoded payload per videos/channels request, revalidated with If-None-Match
+    private long etagCacheMaxSize = 20_000;
+    private Duration etagCacheIdleExpiry = Duration.ofDays(7);
+
+    // Hedged requests: a second identical call once the first exceeds the latency percentile.
+    // Opt-in; search hedges cost another 100 quota units, so they have their own switch
+    private boolean hedgeEnabled = false;
+    private boolean hedgeSearch = false;
+    private double hedgePercentile = 0.95;
+    private Duration hedgeMinDelay = Duration.ofMillis(150);
+    private Duration hedgeMaxDelay = Duration.ofSeconds(3);
+    private double hedgeMaxRatio = 0.10;
+
     public String getBaseUrl() { return baseUrl; }
     public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
 
@@ -16,4 +58,70 @@ public class YouTubeProperties {
     
     public boolean isDebug() { return debug; }
     public void setDebug(boolean debug) { this.debug = debug; }
+
+    public int getMaxConnections() { return maxConnections; }
+    public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+
+    public Duration getPendingAcquireTimeout() { return pendingAcquireTimeout; }
+    public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) { this.pendingAcquireTimeout = pendingAcquireTimeout; }
+
+    public Duration getConnectTimeout() { return connectTimeout; }
+    public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+
+    public Duration getResponseTimeout() { return responseTimeout; }
+    public void setResponseTimeout(Duration responseTimeout) { this.responseTimeout = responseTimeout; }
+
+    public Duration getSearchTimeout() { return searchTimeout; }
+    public void setSearchTimeout(Duration searchTimeout) { this.searchTimeout = searchTimeout; }
+
+    public Duration getDetailsTimeout() { return detailsTimeout; }
+    public void setDetailsTimeout(Duration detailsTimeout) { this.detailsTimeout = detailsTimeout; }
+
+    public boolean isFanOutEnabled() { return fanOutEnabled; }
+    public void setFanOutEnabled(boolean fanOutEnabled) { this.fanOutEnabled = fanOutEnabled; }
+
+    public int getFanOutMaxQueries() { return fanOutMaxQueries; }
+    public void setFanOutMaxQueries(int fanOutMaxQueries) { this.fanOutMaxQueries = fanOutMaxQueries; }
+
+    public Duration getChannelCacheTtl() { return channelCacheTtl; }
+    public void setChannelCacheTtl(Duration channelCacheTtl) { this.channelCacheTtl = channelCacheTtl; }
+
+    public long getChannelCacheMaxSize() { return channelCacheMaxSize; }
+    public void setChannelCacheMaxSize(long channelCacheMaxSize) { this.channelCacheMaxSize = channelCacheMaxSize; }
+
+    public long getVideoStatsMaxSize() { return videoStatsMaxSize; }
+    public void setVideoStatsMaxSize(long videoStatsMaxSize) { this.videoStatsMaxSize = videoStatsMaxSize; }
+
+    public Duration getVideoStatsIdleExpiry() { return videoStatsIdleExpiry; }
+    public void setVideoStatsIdleExpiry(Duration videoStatsIdleExpiry) { this.videoStatsIdleExpiry = videoStatsIdleExpiry; }
+
+    public int getVideoStatsRefreshBatchesPerRun() { return videoStatsRefreshBatchesPerRun; }
+    public void setVideoStatsRefreshBatchesPerRun(int videoStatsRefreshBatchesPerRun) { this.videoStatsRefreshBatchesPerRun = videoStatsRefreshBatchesPerRun; }
+
+    public int getSearchMaxPages() { return searchMaxPages; }
+    public void setSearchMaxPages(int searchMaxPages) { this.searchMaxPages = searchMaxPages; }
+
+    public long getEtagCacheMaxSize() { return etagCacheMaxSize; }
+    public void setEtagCacheMaxSize(long etagCacheMaxSize) { this.etagCacheMaxSize = etagCacheMaxSize; }
+
+    public Duration getEtagCacheIdleExpiry() { return etagCacheIdleExpiry; }
+    public void setEtagCacheIdleExpiry(Duration etagCacheIdleExpiry) { this.etagCacheIdleExpiry = etagCacheIdleExpiry; }
+
+    public boolean isHedgeEnabled() { return hedgeEnabled; }
+    public void setHedgeEnabled(boolean hedgeEnabled) { this.hedgeEnabled = hedgeEnabled; }
+
+    public boolean isHedgeSearch() { return hedgeSearch; }
+    public void setHedgeSearch(boolean hedgeSearch) { this.hedgeSearch = hedgeSearch; }
+
+    public double getHedgePercentile() { return hedgePercentile; }
+    public void setHedgePercentile(double hedgePercentile) { this.hedgePercentile = hedgePercentile; }
+
+    public Duration getHedgeMinDelay() { return hedgeMinDelay; }
+    public void setHedgeMinDelay(Duration hedgeMinDelay) { this.hedgeMinDelay = hedgeMinDelay; }
+
+    public Duration getHedgeMaxDelay() { return hedgeMaxDelay; }
+    public void setHedgeMaxDelay(Duration hedgeMaxDelay) { this.hedgeMaxDelay = hedgeMaxDelay; }
+
+    public double getHedgeMaxRatio() { return hedgeMaxRatio; }
+    public void setHedgeMaxRatio(double hedgeMaxRatio) { this.hedgeMaxRatio = hedgeMaxRatio; }
 }
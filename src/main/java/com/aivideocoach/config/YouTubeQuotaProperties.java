@@ -0,0 +1,30 @@
+package com.aivideocoach.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "youtube.quota")
+public class YouTubeQuotaProperties {
+    // Google's default project allowance; resets at midnight Pacific time
+    private long dailyBudget = 10_000;
+    private long tenantDailyBudget = 2_000;
+
+    // Fractions of remaining budget at which requests degrade
+    private double reducedThreshold = 0.25;   // below: no fan-out, fewer pages
+    private double cacheOnlyThreshold = 0.10; // below: no API calls, caches only
+    private double backgroundReserve = 0.50;  // below: background refreshes stop spending
+
+    public long getDailyBudget() { return dailyBudget; }
+    public void setDailyBudget(long dailyBudget) { this.dailyBudget = dailyBudget; }
+
+    public long getTenantDailyBudget() { return tenantDailyBudget; }
+    public void setTenantDailyBudget(long tenantDailyBudget) { this.tenantDailyBudget = tenantDailyBudget; }
+
+    public double getReducedThreshold() { return reducedThreshold; }
+    public void setReducedThreshold(double reducedThreshold) { this.reducedThreshold = reducedThreshold; }
+
+    public double getCacheOnlyThreshold() { return cacheOnlyThreshold; }
+    public void setCacheOnlyThreshold(double cacheOnlyThreshold) { this.cacheOnlyThreshold = cacheOnlyThreshold; }
+
+    public double getBackgroundReserve() { return backgroundReserve; }
+    public void setBackgroundReserve(double backgroundReserve) { this.backgroundReserve = backgroundReserve; }
+}
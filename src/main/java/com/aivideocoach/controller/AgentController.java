@@ -2,6 +2,8 @@ package com.aivideocoach.controller;
 
 import com.aivideocoach.agent.llm.InspirationChatAgent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @RestController
 @RequestMapping("/api/agent")
@@ -17,11 +19,13 @@ public class AgentController {
     public record ChatResponse(String assistantMessage) {}
 
     @PostMapping("/chat")
-    public ChatResponse chat(@RequestBody ChatRequest req) {
+    public Mono<ChatResponse> chat(@RequestBody ChatRequest req) {
         String sessionId = (req.sessionId == null || req.sessionId.isBlank()) 
                 ? "default" 
                 : req.sessionId;
-        String answer = agent.chat(sessionId, req.message);
-        return new ChatResponse(answer);
+        // The agent and its tools block on LLM/YouTube calls - keep them off the Netty event loop
+        return Mono.fromCallable(() -> agent.chat(sessionId, req.message))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ChatResponse::new);
     }
 }
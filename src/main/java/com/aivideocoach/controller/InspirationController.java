@@ -1,11 +1,28 @@
 package com.aivideocoach.controller;
 
+import com.aivideocoach.youtube.dto.YoutubeInspirationBatchItem;
+import com.aivideocoach.youtube.dto.YoutubeInspirationProgressEvent;
 import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
 import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import com.aivideocoach.service.InspirationBatchService;
+import com.aivideocoach.service.InspirationResultCache;
+import com.aivideocoach.service.LocalVideoIndex;
+import com.aivideocoach.service.TrendingIndex;
 import com.aivideocoach.service.YoutubeInspirationService;
+import com.aivideocoach.util.SingleFlight;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.http.Hedger;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/inspiration")
@@ -14,24 +31,90 @@ public class InspirationController {
     private static final Logger log = LoggerFactory.getLogger(InspirationController.class);
     
     private final YoutubeInspirationService service;
+    private final InspirationBatchService batchService;
+    private final YouTubeQuotaManager quotaManager;
+    private final SingleFlightRegistry singleFlights;
+    private final YouTubeClient youTubeClient;
 
-    public InspirationController(YoutubeInspirationService service) {
+    public InspirationController(YoutubeInspirationService service,
+                                 InspirationBatchService batchService,
+                                 YouTubeQuotaManager quotaManager,
+                                 SingleFlightRegistry singleFlights,
+                                 YouTubeClient youTubeClient) {
         this.service = service;
+        this.batchService = batchService;
+        this.quotaManager = quotaManager;
+        this.singleFlights = singleFlights;
+        this.youTubeClient = youTubeClient;
     }
 
     @PostMapping("/top-youtube")
-    public YoutubeInspirationResponse topYoutube(@RequestBody YoutubeInspirationRequest req) {
+    public Mono<YoutubeInspirationResponse> topYoutube(@RequestBody YoutubeInspirationRequest req,
+                                                       @RequestHeader(value = "X-Tenant-Id", required = false) String tenantId) {
         log.info("Received inspiration request: domain={}, targetAudience={}, keywords={}, language={}, location={}", 
                 req.domain(), req.targetAudience(), 
                 req.keywords() != null ? req.keywords().size() : 0, 
                 req.language(), req.location());
         
-        YoutubeInspirationResponse response = service.topVideos(req);
-        
-        log.info("Returning inspiration response: windowDays={}, totalCandidates={}, results={}", 
-                response.windowDays(), response.totalCandidates(), 
-                response.results() != null ? response.results().size() : 0);
-        
-        return response;
+        return service.topVideosReactive(req)
+                .doOnNext(response -> log.info("Returning inspiration response: windowDays={}, totalCandidates={}, results={}", 
+                        response.windowDays(), response.totalCandidates(), 
+                        response.results() != null ? response.results().size() : 0))
+                .contextWrite(YouTubeQuotaManager.tenantContext(tenantId));
+    }
+
+    /**
+     * SSE variant of top-youtube: one event per pipeline stage (named after the stage), the
+     * last one named "final" with the full response.
+     */
+    @PostMapping(value = "/top-youtube/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<YoutubeInspirationProgressEvent>> topYoutubeStream(@RequestBody YoutubeInspirationRequest req,
+                                                                                  @RequestHeader(value = "X-Tenant-Id", required = false) String tenantId) {
+        log.info("Received streaming inspiration request: domain={}", req.domain());
+
+        return service.topVideosWithProgress(req)
+                .map(event -> ServerSentEvent.builder(event).event(event.stage()).build())
+                .contextWrite(YouTubeQuotaManager.tenantContext(tenantId));
+    }
+
+    /**
+     * Accepts a JSON array (or NDJSON stream) of requests and streams one NDJSON line per item
+     * as soon as it is ready.
+     */
+    @PostMapping(value = "/top-youtube/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<YoutubeInspirationBatchItem> topYoutubeBatch(@RequestBody Flux<YoutubeInspirationRequest> requests,
+                                                             @RequestParam(required = false) Integer concurrency,
+                                                             @RequestHeader(value = "X-Tenant-Id", required = false) String tenantId) {
+        return batchService.run(requests, concurrency, tenantId);
+    }
+
+    @GetMapping("/cache/stats")
+    public InspirationResultCache.Stats cacheStats() {
+        return service.cacheStats();
+    }
+
+    @GetMapping("/trending/stats")
+    public TrendingIndex.Stats trendingStats() {
+        return service.trendingStats();
+    }
+
+    @GetMapping("/local-search/stats")
+    public LocalVideoIndex.Stats localSearchStats() {
+        return service.localSearchStats();
+    }
+
+    @GetMapping("/quota")
+    public YouTubeQuotaManager.Snapshot quota() {
+        return quotaManager.snapshot();
+    }
+
+    @GetMapping("/coalescing/stats")
+    public List<SingleFlight.Stats> coalescingStats() {
+        return singleFlights.stats();
+    }
+
+    @GetMapping("/hedging/stats")
+    public List<Hedger.Stats> hedgingStats() {
+        return youTubeClient.hedgeStats();
     }
-}
\ No newline at end of file
+}
@@ -1,24 +1,24 @@
 package com.aivideocoach.controller;
 
+import com.aivideocoach.youtube.YouTubeApiException;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/test")
 public class TestController {
 
-    private final WebClient webClient;
+    private final YouTubeClient youTubeClient;
     private final String youtubeApiKey;
 
-    public TestController(@Value("${youtube.api-key:}") String youtubeApiKey) {
+    public TestController(@Value("${youtube.api-key:}") String youtubeApiKey, YouTubeClient youTubeClient) {
         this.youtubeApiKey = youtubeApiKey;
-        this.webClient = WebClient.builder()
-                .baseUrl("https://www.googleapis.com/youtube/v3")
-                .build();
+        this.youTubeClient = youTubeClient;
     }
 
     @GetMapping("/youtube-api")
@@ -27,23 +27,15 @@ public class TestController {
             return Mono.just("❌ YouTube API key not configured. Set YOUTUBE_API_KEY environment variable.");
         }
 
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/search")
-                        .queryParam("part", "snippet")
-                        .queryParam("type", "video")
-                        .queryParam("maxResults", "1")
-                        .queryParam("q", "test")
-                        .queryParam("key", youtubeApiKey)
-                        .build())
-                .retrieve()
-                .bodyToMono(String.class)
+        // Even a 1-result search costs 100 quota units
+        return youTubeClient.probeSearch()
+                .contextWrite(YouTubeQuotaManager.tenantContext("diagnostics"))
                 .map(response -> "✅ YouTube API is working! Response length: " + response.length())
                 .onErrorResume(error -> {
-                    if (error.getMessage().contains("403")) {
-                        return Mono.just("❌ YouTube API key is invalid or quota exceeded. Error: " + error.getMessage());
+                    if (error instanceof YouTubeApiException api && api.getStatusCode() == 403) {
+                        return Mono.just("❌ YouTube API key is invalid or quota exceeded. Error: " + api.getResponseBody());
                     }
                     return Mono.just("❌ YouTube API error: " + error.getMessage());
                 });
     }
-}
\ No newline at end of file
+}
@@ -1,47 +1,38 @@
 package com.aivideocoach.controller;
 
-import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.youtube.YouTubeApiException;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaExceededException;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/test")
 public class YouTubeTestController {
 
-    private final YouTubeProperties props;
-    private final HttpClient httpClient;
+    private final YouTubeClient youTubeClient;
 
-    public YouTubeTestController(YouTubeProperties props) {
-        this.props = props;
-        this.httpClient = HttpClient.newHttpClient();
+    public YouTubeTestController(YouTubeClient youTubeClient) {
+        this.youTubeClient = youTubeClient;
     }
 
     @GetMapping("/youtube-key")
-    public String testYouTubeKey() {
-        try {
-            String testUrl = props.getBaseUrl() + "/search?part=snippet&type=video&maxResults=1&q=test&key=" + props.getApiKey();
-            
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(testUrl))
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() == 200) {
-                String body = response.body();
-                return "YouTube API Key is VALID. Response: " + body.substring(0, Math.min(200, body.length()));
-            } else {
-                return "YouTube API Key is INVALID. Status: " + response.statusCode() + ", Body: " + response.body();
-            }
-        } catch (Exception e) {
-            return "YouTube API Key test FAILED: " + e.getMessage();
-        }
+    public Mono<String> testYouTubeKey() {
+        // Even a 1-result search costs 100 quota units
+        return youTubeClient.probeSearch()
+                .contextWrite(YouTubeQuotaManager.tenantContext("diagnostics"))
+                .map(body -> "YouTube API Key is VALID. Response: " + body.substring(0, Math.min(200, body.length())))
+                .onErrorResume(e -> {
+                    if (e instanceof YouTubeQuotaExceededException) {
+                        return Mono.just("YouTube API Key test SKIPPED: quota budget exhausted");
+                    }
+                    if (e instanceof YouTubeApiException api) {
+                        return Mono.just("YouTube API Key is INVALID. Status: " + api.getStatusCode() + ", Body: " + api.getResponseBody());
+                    }
+                    return Mono.just("YouTube API Key test FAILED: " + e.getMessage());
+                });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.aivideocoach.http;
+
+/**
+ * Call rejected without touching the network because the host's circuit is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private final String host;
+
+    public CircuitOpenException(String host) {
+        super("Circuit open for " + host, null, false, false);
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
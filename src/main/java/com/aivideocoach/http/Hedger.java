@@ -0,0 +1,94 @@
+package com.aivideocoach.http;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedged requests for one idempotent call type. If the primary attempt has not answered
+ * within the observed latency percentile, an identical second attempt is started and the
+ * first to answer wins; the other is cancelled.
+ *
+ * Hedges are capped at {@code maxHedgeRatio} of calls so a slow upstream does not get
+ * twice the load, and each hedge must be permitted by the caller (e.g. quota level).
+ */
+public class Hedger {
+
+    public record Stats(String name, long calls, long hedged, long hedgeWins, long currentDelayMillis) {}
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final String name;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final double maxHedgeRatio;
+    private final LatencyTracker latencies = new LatencyTracker(512);
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public Hedger(String name, double percentile, Duration minDelay, Duration maxDelay, double maxHedgeRatio) {
+        this.name = name;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.maxHedgeRatio = maxHedgeRatio;
+    }
+
+    /**
+     * @param call   the attempt; subscribed once for the primary and once more for a hedge
+     * @param permit evaluated when the hedge delay fires; false (or empty) skips the hedge
+     */
+    public <T> Mono<T> execute(Mono<T> call, Mono<Boolean> permit) {
+        return Mono.defer(() -> {
+            calls.increment();
+            long started = System.nanoTime();
+
+            Mono<T> primary = call.doOnSuccess(value -> record(started));
+
+            Mono<T> hedge = Mono.delay(delay())
+                    .then(permit.defaultIfEmpty(false))
+                    .flatMap(allowed -> {
+                        if (!allowed || !reserveHedge()) {
+                            return Mono.<T>never();
+                        }
+                        long hedgeStarted = System.nanoTime();
+                        return call.doOnSuccess(value -> {
+                            hedgeWins.increment();
+                            record(hedgeStarted);
+                        });
+                    })
+                    // A failed hedge must not fail the call - the primary is still running
+                    .onErrorResume(e -> Mono.never());
+
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    public Stats stats() {
+        return new Stats(name, calls.sum(), hedged.sum(), hedgeWins.sum(), delay().toMillis());
+    }
+
+    Duration delay() {
+        if (latencies.count() < MIN_SAMPLES) {
+            return maxDelay;
+        }
+        long millis = latencies.percentileMillis(percentile);
+        return Duration.ofMillis(Math.max(minDelay.toMillis(), Math.min(maxDelay.toMillis(), millis)));
+    }
+
+    private boolean reserveHedge() {
+        if (hedged.sum() + 1 > maxHedgeRatio * calls.sum()) {
+            return false;
+        }
+        hedged.increment();
+        return true;
+    }
+
+    private void record(long startedNanos) {
+        latencies.record(Duration.ofNanos(System.nanoTime() - startedNanos));
+    }
+}
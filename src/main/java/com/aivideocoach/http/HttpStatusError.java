@@ -0,0 +1,10 @@
+package com.aivideocoach.http;
+
+/**
+ * Implemented by client-specific exceptions that carry the upstream HTTP status,
+ * so the outbound layer can tell retryable (5xx/429) failures from caller errors.
+ */
+public interface HttpStatusError {
+
+    int getStatusCode();
+}
@@ -0,0 +1,39 @@
+package com.aivideocoach.http;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Recent latencies of one call type in a fixed ring buffer, for percentile lookups.
+ */
+public class LatencyTracker {
+
+    private final long[] samplesMillis;
+    private int next;
+    private int count;
+
+    public LatencyTracker(int capacity) {
+        this.samplesMillis = new long[capacity];
+    }
+
+    public synchronized void record(Duration latency) {
+        samplesMillis[next] = latency.toMillis();
+        next = (next + 1) % samplesMillis.length;
+        if (count < samplesMillis.length) count++;
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentile (0..1) over the current window, or -1 without samples.
+     */
+    public synchronized long percentileMillis(double percentile) {
+        if (count == 0) return -1;
+        long[] sorted = Arrays.copyOf(samplesMillis, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * count);
+        return sorted[Math.max(0, Math.min(count - 1, rank - 1))];
+    }
+}
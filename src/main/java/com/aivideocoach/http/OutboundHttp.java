@@ -0,0 +1,177 @@
+package com.aivideocoach.http;
+
+import com.aivideocoach.config.OutboundHttpProperties;
+import com.aivideocoach.jfr.OutboundCallEvent;
+import com.aivideocoach.jfr.TraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resilience policy shared by every outbound call: a circuit breaker per remote host and
+ * jittered exponential retries for transient failures (5xx, 429, connection errors).
+ *
+ * Each attempt re-subscribes the wrapped call, so anything inside it (quota accounting,
+ * conditional headers) applies per attempt. Only wrap idempotent requests. Every attempt
+ * is an OutboundCall JFR event tagged with the session and correlation ID from the context.
+ *
+ * A per-attempt deadline applies inside the breaker and the retries: a hung host fails the
+ * attempt with a TimeoutException, which counts against the breaker. Callers should not add a
+ * shorter outer timeout; cancelling from outside is neither a failure nor a success.
+ */
+@Component
+public class OutboundHttp {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundHttp.class);
+
+    private final OutboundHttpProperties props;
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public OutboundHttp(OutboundHttpProperties props) {
+        this.props = props;
+    }
+
+    public <T> Mono<T> execute(String host, Mono<T> call) {
+        return execute(host, null, call);
+    }
+
+    /**
+     * As {@link #execute(String, Mono)}, failing each attempt that takes longer than attemptTimeout.
+     */
+    public <T> Mono<T> execute(String host, Duration attemptTimeout, Mono<T> call) {
+        CircuitBreaker breaker = breaker(host);
+        Mono<T> deadlined = attemptTimeout != null ? call.timeout(attemptTimeout) : call;
+        Mono<T> attempt = Mono.deferContextual(ctx -> {
+            OutboundCallEvent event = new OutboundCallEvent();
+            event.begin();
+            if (!breaker.tryAcquirePermission()) {
+                commit(event, host, ctx, "circuit_open", -1);
+                return Mono.error(new CircuitOpenException(host));
+            }
+            AtomicBoolean recorded = new AtomicBoolean();
+            return deadlined
+                    .doOnSuccess(value -> commit(event, host, ctx, "success", -1))
+                    .doOnError(e -> commit(event, host, ctx, "error", statusOf(e)))
+                    .doOnCancel(() -> commit(event, host, ctx, "cancelled", -1))
+                    .doOnSuccess(value -> {
+                        if (recorded.compareAndSet(false, true)) breaker.onSuccess();
+                    })
+                    .doOnError(e -> {
+                        if (!recorded.compareAndSet(false, true)) return;
+                        if (isHostFailure(e)) {
+                            breaker.onFailure();
+                        } else if (statusOf(e) > 0) {
+                            // The host answered; a 4xx says nothing about its health
+                            breaker.onSuccess();
+                        } else {
+                            breaker.onIgnored();
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (recorded.compareAndSet(false, true)) breaker.onIgnored();
+                    });
+        });
+
+        if (props.getRetryMaxAttempts() <= 1) {
+            return attempt;
+        }
+        return attempt.retryWhen(Retry.backoff(props.getRetryMaxAttempts() - 1, props.getRetryInitialBackoff())
+                .maxBackoff(props.getRetryMaxBackoff())
+                .jitter(props.getRetryJitter())
+                .filter(OutboundHttp::isRetryable)
+                .doBeforeRetry(signal -> log.warn("OUTBOUND_RETRY: host={}, attempt={}, error={}",
+                        host, signal.totalRetries() + 2, signal.failure().toString()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * Longest a call with the given per-attempt deadline can take, all attempts and backoffs included;
+     * the floor for any overall timeout around it.
+     */
+    public Duration maxDuration(Duration attemptTimeout) {
+        int attempts = Math.max(1, props.getRetryMaxAttempts());
+        Duration backoff = props.getRetryMaxBackoff().multipliedBy(Math.round((1 + props.getRetryJitter()) * 100)).dividedBy(100);
+        return attemptTimeout.multipliedBy(attempts).plus(backoff.multipliedBy(attempts - 1));
+    }
+
+    private static void commit(OutboundCallEvent event, String host, ContextView ctx, String outcome, int status) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.host = host;
+            event.statusCode = status;
+            event.sessionId = TraceContext.session(ctx);
+            event.correlationId = TraceContext.correlation(ctx);
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    public CircuitBreaker breaker(String host) {
+        return breakers.computeIfAbsent(host.toLowerCase(Locale.ROOT), h -> new CircuitBreaker(h,
+                props.getBreakerWindowSize(), props.getBreakerMinimumCalls(),
+                props.getBreakerFailureRateThreshold(), props.getBreakerOpenDuration(),
+                props.getBreakerHalfOpenCalls()));
+    }
+
+    public List<CircuitBreaker.Snapshot> breakerStates() {
+        return breakers.values().stream().map(CircuitBreaker::snapshot).toList();
+    }
+
+    public static String hostOf(String url) {
+        String host = URI.create(url).getHost();
+        return host != null ? host : url;
+    }
+
+    static boolean isRetryable(Throwable e) {
+        if (e instanceof CircuitOpenException) {
+            return false;
+        }
+        int status = statusOf(e);
+        if (status > 0) {
+            return status >= 500 || status == 429;
+        }
+        // Connection refused/reset, DNS failures - but not read timeouts: the host is slow,
+        // and retrying would only multiply the wait
+        return e instanceof WebClientRequestException && !hasTimeoutCause(e);
+    }
+
+    static boolean isHostFailure(Throwable e) {
+        int status = statusOf(e);
+        if (status > 0) {
+            return status >= 500 || status == 429;
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    private static int statusOf(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().value();
+        }
+        if (e instanceof HttpStatusError statusError) {
+            return statusError.getStatusCode();
+        }
+        return -1;
+    }
+
+    private static boolean hasTimeoutCause(Throwable e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause.getClass().getSimpleName().contains("Timeout")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.aivideocoach.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One agent call, from the user message to the final answer; the LLM calls and tool
+ * invocations of the turn are nested in it on the same thread.
+ */
+@Name("com.aivideocoach.AgentTurn")
+@Label("Agent Turn")
+@Category({"AI Video Coach", "Agent"})
+@Description("One agent call, including every LLM round-trip and tool invocation it made")
+@StackTrace(false)
+public class AgentTurnEvent extends Event {
+
+    @Label("Agent")
+    public String agent;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Session ID")
+    public String sessionId;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,153 @@
+package com.aivideocoach.jfr;
+
+import com.aivideocoach.config.JfrProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Continuous JFR recording kept in a bounded on-disk ring (max age / max size), dumped to
+ * dump-directory when an agent turn is slower than the threshold. The dump covers the slow
+ * turn's whole timeline: its AgentTurn, LlmCall, ToolCall, OutboundCall and Scoring events,
+ * next to GC, lock and CPU samples from the JDK defaults. Only the newest dumps are kept,
+ * bounded by max-dumps and max-dump-bytes.
+ *
+ * Off by default; a recording started with -XX:StartFlightRecording or jcmd JFR.start
+ * captures the same events without this component.
+ */
+@Component
+public class JfrRecorder implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecorder.class);
+
+    private static final String DUMP_PREFIX = "slow-turn-";
+    private static final String DUMP_SUFFIX = ".jfr";
+
+    private final JfrProperties props;
+    private final LongSupplier clock;
+    private final Recording recording;
+    private final AtomicLong lastDumpMillis = new AtomicLong(Long.MIN_VALUE);
+
+    @Autowired
+    public JfrRecorder(JfrProperties props) {
+        this(props, System::currentTimeMillis);
+    }
+
+    JfrRecorder(JfrProperties props, LongSupplier clock) {
+        this.props = props;
+        this.clock = clock;
+        this.recording = props.isEnabled() ? start(props) : null;
+    }
+
+    private static Recording start(JfrProperties props) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("ai-video-coach");
+            recording.setToDisk(true);
+            recording.setMaxAge(props.getMaxAge());
+            recording.setMaxSize(props.getMaxSize().toBytes());
+            recording.start();
+            log.info("JFR_RECORDING_STARTED: maxAge={}, maxSize={}, slowTurnThreshold={}",
+                    props.getMaxAge(), props.getMaxSize(), props.getSlowTurnThreshold());
+            return recording;
+        } catch (IOException | ParseException | RuntimeException e) {
+            log.warn("JFR_RECORDING_FAILED: {}", e.toString());
+            return null;
+        }
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Called after every agent turn; dumps in the background so the caller is not delayed.
+     */
+    public void onTurnCompleted(String agent, String sessionId, Duration elapsed) {
+        if (recording == null || elapsed.compareTo(props.getSlowTurnThreshold()) < 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long last = lastDumpMillis.get();
+        if (last != Long.MIN_VALUE && now - last < props.getMinDumpInterval().toMillis()) {
+            log.info("JFR_DUMP_SKIPPED: agent={}, sessionId={}, elapsed={}ms, reason=rate-limited",
+                    agent, sessionId, elapsed.toMillis());
+            return;
+        }
+        if (!lastDumpMillis.compareAndSet(last, now)) {
+            return;
+        }
+        Path target = Path.of(props.getDumpDirectory(),
+                DUMP_PREFIX + Instant.ofEpochMilli(now).toString().replace(':', '-') + DUMP_SUFFIX);
+        Schedulers.boundedElastic().schedule(() -> dump(target, agent, sessionId, elapsed));
+    }
+
+    void dump(Path target, String agent, String sessionId, Duration elapsed) {
+        try {
+            Files.createDirectories(target.getParent());
+            recording.dump(target);
+            log.warn("JFR_SLOW_TURN_DUMPED: agent={}, sessionId={}, elapsed={}ms, file={}",
+                    agent, sessionId, elapsed.toMillis(), target);
+        } catch (IOException | RuntimeException e) {
+            log.warn("JFR_DUMP_FAILED: file={}, error={}", target, e.toString());
+        }
+        pruneDumps(target.getParent());
+    }
+
+    /**
+     * Deletes the oldest dumps beyond max-dumps or max-dump-bytes. File names carry the dump
+     * time, so name order is age order; the newest dump is always kept.
+     */
+    void pruneDumps(Path directory) {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(directory)) {
+            dumps = files.filter(f -> f.getFileName().toString().startsWith(DUMP_PREFIX)
+                            && f.getFileName().toString().endsWith(DUMP_SUFFIX))
+                    .sorted(Comparator.comparing((Path f) -> f.getFileName().toString()).reversed())
+                    .toList();
+        } catch (IOException | RuntimeException e) {
+            log.warn("JFR_DUMP_PRUNE_FAILED: directory={}, error={}", directory, e.toString());
+            return;
+        }
+        long maxBytes = props.getMaxDumpBytes().toBytes();
+        long keptBytes = 0;
+        int kept = 0;
+        for (Path dump : dumps) {
+            try {
+                long size = Files.size(dump);
+                if (kept == 0 || (kept < props.getMaxDumps() && keptBytes + size <= maxBytes)) {
+                    kept++;
+                    keptBytes += size;
+                    continue;
+                }
+                Files.deleteIfExists(dump);
+                log.info("JFR_DUMP_PRUNED: file={}, bytes={}", dump, size);
+            } catch (IOException e) {
+                log.warn("JFR_DUMP_PRUNE_FAILED: file={}, error={}", dump, e.toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.aivideocoach.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.aivideocoach.LlmCall")
+@Label("LLM Call")
+@Category({"AI Video Coach", "Agent"})
+@Description("One LLM round-trip, client-side retries included")
+@StackTrace(false)
+public class LlmCallEvent extends Event {
+
+    @Label("Agent")
+    public String agent;
+
+    @Label("Session ID")
+    public String sessionId;
+
+    @Label("Input Tokens")
+    public int inputTokens;
+
+    @Label("Output Tokens")
+    public int outputTokens;
+
+    @Label("Tool Calls Requested")
+    public int toolCalls;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,36 @@
+package com.aivideocoach.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One attempt of an outbound HTTP call; retries and hedges are separate events. Committed
+ * on whichever thread completes the call, usually a Netty event loop.
+ */
+@Name("com.aivideocoach.OutboundCall")
+@Label("Outbound HTTP Call")
+@Category({"AI Video Coach", "HTTP"})
+@Description("One attempt of an outbound HTTP call through the shared resilience policy")
+@StackTrace(false)
+public class OutboundCallEvent extends Event {
+
+    @Label("Host")
+    public String host;
+
+    @Label("Status Code")
+    @Description("HTTP status of a failed attempt, -1 when there was none")
+    public int statusCode;
+
+    @Label("Session ID")
+    public String sessionId;
+
+    @Label("Correlation ID")
+    public String correlationId;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,38 @@
+package com.aivideocoach.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.aivideocoach.Scoring")
+@Label("Scoring Pass")
+@Category({"AI Video Coach", "Inspiration"})
+@Description("Quality filtering of one page of candidates, or the final top-N ranking")
+@StackTrace(false)
+public class ScoringEvent extends Event {
+
+    @Label("Phase")
+    @Description("filter or rank")
+    public String phase;
+
+    @Label("Videos")
+    @Description("Videos offered in this pass (filter) or candidates ranked (rank)")
+    public int videos;
+
+    @Label("Candidates")
+    @Description("Candidates passing the quality filters so far")
+    public int candidates;
+
+    @Label("Near-Duplicates Collapsed")
+    @Description("Candidates left out of the top N as near-duplicates of a better one (rank)")
+    public int collapsed;
+
+    @Label("Session ID")
+    public String sessionId;
+
+    @Label("Correlation ID")
+    public String correlationId;
+}
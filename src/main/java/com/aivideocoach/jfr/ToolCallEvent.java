@@ -0,0 +1,28 @@
+package com.aivideocoach.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.aivideocoach.ToolCall")
+@Label("Tool Call")
+@Category({"AI Video Coach", "Agent"})
+@Description("One @Tool method invoked by an agent")
+@StackTrace(false)
+public class ToolCallEvent extends Event {
+
+    @Label("Agent")
+    public String agent;
+
+    @Label("Tool")
+    public String tool;
+
+    @Label("Session ID")
+    public String sessionId;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,59 @@
+package com.aivideocoach.jfr;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Supplier;
+
+/**
+ * Session and correlation IDs for the JFR events of one request. An agent turn runs its LLM
+ * calls and tools synchronously on one worker thread, so the session travels in a thread
+ * local there; reactive pipelines carry both IDs in the Reactor context instead.
+ */
+public final class TraceContext {
+
+    public static final String SESSION_KEY = "trace.sessionId";
+    public static final String CORRELATION_KEY = "trace.correlationId";
+
+    private static final ThreadLocal<String> SESSION = new ThreadLocal<>();
+
+    private TraceContext() {}
+
+    /**
+     * Runs the work with the session set on this thread; a nested call without a session
+     * (a validator agent invoked from a tool) keeps the outer one.
+     */
+    public static <T> T inSession(String sessionId, Supplier<T> work) {
+        String previous = SESSION.get();
+        if (sessionId != null) SESSION.set(sessionId);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                SESSION.set(previous);
+            } else {
+                SESSION.remove();
+            }
+        }
+    }
+
+    public static String session() {
+        return SESSION.get();
+    }
+
+    /**
+     * The calling thread's session for a pipeline subscribed from it, e.g. a blocking tool call.
+     */
+    public static Context capture() {
+        String session = SESSION.get();
+        return session != null ? Context.of(SESSION_KEY, session) : Context.empty();
+    }
+
+    public static String session(ContextView ctx) {
+        return ctx.getOrDefault(SESSION_KEY, null);
+    }
+
+    public static String correlation(ContextView ctx) {
+        return ctx.getOrDefault(CORRELATION_KEY, null);
+    }
+}
@@ -0,0 +1,105 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.model.YoutubeChannelsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Subscriber counts per channel, served from a long-TTL in-process cache.
+ * Misses are fetched with batched channels.list calls (50 IDs, 1 quota unit each).
+ * Fetched counts are persisted in the {@link VideoMetadataStore} and restored on startup.
+ */
+@Service
+public class ChannelStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChannelStatisticsService.class);
+
+    private static final int MAX_IDS_PER_CHANNELS_CALL = 50;
+
+    private final YouTubeClient youTubeClient;
+    private final YouTubeProperties props;
+    private final VideoMetadataStore store;
+    private final Cache<String, Long> subscriberCounts;
+
+    public ChannelStatisticsService(YouTubeClient youTubeClient, YouTubeProperties props, VideoMetadataStore store) {
+        this.youTubeClient = youTubeClient;
+        this.props = props;
+        this.store = store;
+        this.subscriberCounts = Caffeine.newBuilder()
+                .expireAfterWrite(props.getChannelCacheTtl())
+                .maximumSize(props.getChannelCacheMaxSize())
+                .build();
+        // Only counts younger than the TTL are restored; the TTL restarts from load time
+        for (VideoMetadataStore.StoredChannel channel : store.channels(props.getChannelCacheTtl().toMillis())) {
+            subscriberCounts.put(channel.channelId(), channel.subscriberCount());
+        }
+    }
+
+    /**
+     * Returns subscriber counts for the given channels. Channels that could not be
+     * resolved are absent from the map.
+     */
+    public Mono<Map<String, Long>> subscriberCounts(Collection<String> channelIds) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String id : channelIds) {
+            if (id != null && !id.isBlank()) distinct.add(id);
+        }
+
+        Map<String, Long> found = new HashMap<>(subscriberCounts.getAllPresent(distinct));
+        List<String> missing = new ArrayList<>();
+        for (String id : distinct) {
+            if (!found.containsKey(id)) missing.add(id);
+        }
+
+        if (missing.isEmpty()) {
+            return Mono.just(found);
+        }
+
+        log.info("CHANNEL_STATS: requested={}, cached={}, fetching={}", distinct.size(), found.size(), missing.size());
+
+        return Flux.fromIterable(YouTubeApiUtils.partition(missing, MAX_IDS_PER_CHANNELS_CALL))
+                .flatMap(batch -> youTubeClient.listChannels(batch)
+                        .map(this::toSubscriberCounts)
+                        .onErrorResume(e -> {
+                            log.warn("CHANNEL_STATS_ERROR: batch={}, error={}", batch.size(), e.getMessage());
+                            return Mono.just(Map.of());
+                        }))
+                .doOnNext(fetched -> {
+                    subscriberCounts.putAll(fetched);
+                    store.appendChannelsAsync(fetched, System.currentTimeMillis());
+                })
+                .reduceWith(() -> new HashMap<>(found), (acc, fetched) -> {
+                    acc.putAll(fetched);
+                    return acc;
+                });
+    }
+
+    private Map<String, Long> toSubscriberCounts(YoutubeChannelsResponse response) {
+        Map<String, Long> counts = new HashMap<>();
+        if (response.items() != null) {
+            for (var item : response.items()) {
+                if (item == null || item.id() == null) continue;
+                // Hidden subscriber counts come back without the field; treat as 0
+                Long subscribers = item.statistics() != null
+                        ? YouTubeApiUtils.parseLongSafe(item.statistics().subscriberCount()) : null;
+                counts.put(item.id(), subscribers != null ? subscribers : 0L);
+            }
+        }
+        return counts;
+    }
+}
@@ -19,6 +19,14 @@ public record EnrichedVideoData(
         Long subscriberCount
 ) {
     
+    public EnrichedVideoData withSubscriberCount(Long subscriberCount) {
+        return new EnrichedVideoData(
+                videoId, title, channelTitle, channelId, publishedAt, url,
+                viewCount, likeCount, commentCount, durationSeconds,
+                subscriberCount
+        );
+    }
+
     public YoutubeVideoResult toVideoResult(Double score) {
         return new YoutubeVideoResult(
                 videoId, title, channelTitle, publishedAt, url,
@@ -0,0 +1,96 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.InspirationBatchProperties;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import com.aivideocoach.youtube.dto.YoutubeInspirationBatchItem;
+import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
+import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many inspiration requests with bounded parallelism. Items go through the regular
+ * {@link YoutubeInspirationService} path, so identical items (within the batch or across
+ * concurrent callers) share one computation and the result cache. All items of a batch
+ * draw from one {@link YouTubeQuotaManager.BatchBudget}; once it cannot pay for a search,
+ * remaining items are answered from caches and the local corpus only.
+ */
+@Service
+public class InspirationBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(InspirationBatchService.class);
+
+    private final YoutubeInspirationService inspirationService;
+    private final InspirationBatchProperties props;
+
+    public InspirationBatchService(YoutubeInspirationService inspirationService, InspirationBatchProperties props) {
+        this.inspirationService = inspirationService;
+        this.props = props;
+    }
+
+    /**
+     * Emits one item per request as soon as it completes. A failed item never fails the stream.
+     * Input past max-items is not read: the first extra request gets a "limit exceeded" item
+     * and the rest of the input is cancelled.
+     */
+    public Flux<YoutubeInspirationBatchItem> run(Flux<YoutubeInspirationRequest> requests, Integer concurrency,
+                                                 String tenantId) {
+        String batchId = UUID.randomUUID().toString().substring(0, 8);
+        int parallelism = Math.max(1, Math.min(props.getMaxConcurrency(),
+                concurrency != null ? concurrency : props.getConcurrency()));
+        YouTubeQuotaManager.BatchBudget budget = new YouTubeQuotaManager.BatchBudget(props.getQuotaBudget());
+        AtomicInteger failed = new AtomicInteger();
+        long startTime = System.currentTimeMillis();
+
+        log.info("[{}] BATCH_START: tenant={}, concurrency={}, quotaBudget={}", batchId, tenantId, parallelism,
+                props.getQuotaBudget());
+
+        return requests
+                .take(props.getMaxItems() + 1L)
+                .index()
+                .flatMap(item -> {
+                    long index = item.getT1();
+                    if (index >= props.getMaxItems()) {
+                        return Mono.just(YoutubeInspirationBatchItem.failed(index,
+                                "Batch limit of " + props.getMaxItems() + " items exceeded"));
+                    }
+                    return runItem(index, item.getT2());
+                }, parallelism)
+                .doOnNext(result -> {
+                    if (result.error() != null) failed.incrementAndGet();
+                })
+                .doOnComplete(() -> log.info("[{}] BATCH_COMPLETED: failed={}, quotaLeft={}, elapsed={}ms", batchId,
+                        failed.get(), budget.remaining(), System.currentTimeMillis() - startTime))
+                .contextWrite(YouTubeQuotaManager.batchContext(tenantId, budget));
+    }
+
+    private Mono<YoutubeInspirationBatchItem> runItem(long index, YoutubeInspirationRequest request) {
+        return inspirationService.topVideosReactive(request)
+                .timeout(props.getItemTimeout())
+                .map(response -> {
+                    String error = inBandError(response);
+                    return error != null
+                            ? YoutubeInspirationBatchItem.failed(index, error)
+                            : YoutubeInspirationBatchItem.ok(index, response);
+                })
+                .onErrorResume(e -> Mono.just(YoutubeInspirationBatchItem.failed(index,
+                        e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName())));
+    }
+
+    /**
+     * The single-request API reports failures as one "error" result; batches surface them as item errors.
+     */
+    private static String inBandError(YoutubeInspirationResponse response) {
+        if (response.results() != null && response.results().size() == 1
+                && "error".equals(response.results().get(0).videoId())) {
+            return response.results().get(0).title();
+        }
+        return null;
+    }
+}
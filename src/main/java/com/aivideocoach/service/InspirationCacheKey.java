@@ -0,0 +1,53 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Normalized form of the request fields that actually influence the YouTube query.
+ * businessName and targetAudience are not sent to YouTube and are left out on purpose.
+ * spamProfile is set only for tenants with their own spam phrases, whose rankings differ.
+ * Keywords keep the caller's order: the first is the primary search term, and fan-out groups
+ * follow that order, so reordered keywords are a different query.
+ */
+public record InspirationCacheKey(
+        String domain,
+        List<String> keywords,
+        String language,
+        String location,
+        int windowDays,
+        String spamProfile
+) {
+
+    public static InspirationCacheKey of(YoutubeInspirationRequest req, int windowDays) {
+        List<String> keywords = req.keywords() == null ? List.of() : req.keywords().stream()
+                .filter(k -> k != null && !k.isBlank())
+                .map(k -> k.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .collect(Collectors.toUnmodifiableList());
+
+        return new InspirationCacheKey(
+                normalize(req.domain()),
+                keywords,
+                normalize(req.language()),
+                req.location() != null && !req.location().isBlank() ? req.location().trim().toUpperCase(Locale.ROOT) : null,
+                windowDays,
+                null
+        );
+    }
+
+    public InspirationCacheKey withSpamProfile(String spamProfile) {
+        return new InspirationCacheKey(domain, keywords, language, location, windowDays, spamProfile);
+    }
+
+    public YoutubeInspirationRequest toRequest() {
+        return new YoutubeInspirationRequest(null, domain, null, location, language, keywords, windowDays);
+    }
+
+    private static String normalize(String value) {
+        return value != null && !value.isBlank() ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.youtube.dto.YoutubeInspirationProgressEvent;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Progress listener carried in the Reactor context, next to the quota tenant. The pipeline
+ * reports stages to whichever listener the subscriber installed; without one, reporting is a no-op.
+ * Coalesced requests only see progress of the computation they started themselves.
+ */
+public final class InspirationProgress {
+
+    public static final String CONTEXT_KEY = "inspiration.progress";
+
+    @FunctionalInterface
+    public interface Listener {
+        void on(YoutubeInspirationProgressEvent event);
+    }
+
+    static final Listener NONE = event -> {};
+
+    private InspirationProgress() {}
+
+    public static Context context(Listener listener) {
+        return Context.of(CONTEXT_KEY, listener);
+    }
+
+    static Listener listener(ContextView ctx) {
+        return ctx.getOrDefault(CONTEXT_KEY, NONE);
+    }
+}
@@ -0,0 +1,92 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.InspirationCacheProperties;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of ranked inspiration results keyed by the normalized request.
+ * Caffeine's W-TinyLFU policy handles eviction; with stale-while-revalidate enabled,
+ * entries past the TTL are served immediately while a single background reload runs.
+ * Failed computations, partial rankings included, are never cached; a failed background
+ * reload keeps serving the previous entry.
+ */
+public class InspirationResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(InspirationResultCache.class);
+
+    private final AsyncLoadingCache<InspirationCacheKey, YoutubeInspirationResponse> cache;
+    private final Function<InspirationCacheKey, Mono<YoutubeInspirationResponse>> loader;
+
+    public InspirationResultCache(InspirationCacheProperties props,
+                                  Function<InspirationCacheKey, Mono<YoutubeInspirationResponse>> loader) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(props.getMaxSize())
+                .recordStats();
+
+        if (props.isStaleWhileRevalidate()) {
+            builder.refreshAfterWrite(props.getTtl())
+                    .expireAfterWrite(props.getTtl().plus(props.getStaleWindow()));
+        } else {
+            builder.expireAfterWrite(props.getTtl());
+        }
+
+        this.loader = loader;
+        this.cache = builder.buildAsync((key, executor) -> {
+            log.info("INSPIRATION_CACHE_REFRESH: key={}", key);
+            return loader.apply(key)
+                    .contextWrite(YouTubeQuotaManager.backgroundContext())
+                    .toFuture();
+        });
+    }
+
+    public Mono<YoutubeInspirationResponse> get(InspirationCacheKey key) {
+        // Misses load with the caller's context (quota tenant); background refreshes use the plain loader.
+        // suppressCancel: one caller going away must not cancel the load other callers share
+        // A failed load is dropped before the caller sees the error, so an immediate retry reloads
+        return Mono.deferContextual(ctx -> {
+            CompletableFuture<YoutubeInspirationResponse> future = cache.get(key, (k, executor) -> {
+                log.info("INSPIRATION_CACHE_LOAD: key={}", k);
+                return loader.apply(k).contextWrite(ctx).toFuture();
+            });
+            return Mono.fromFuture(future, true)
+                    .doOnError(e -> cache.asMap().remove(key, future));
+        });
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public Stats stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new Stats(
+                cache.synchronous().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.loadSuccessCount(),
+                stats.loadFailureCount()
+        );
+    }
+
+    public record Stats(
+            long size,
+            long hitCount,
+            long missCount,
+            double hitRate,
+            long evictionCount,
+            long loadSuccessCount,
+            long loadFailureCount
+    ) {}
+}
@@ -0,0 +1,767 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.LocalSearchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index with BM25 ranking over the videos held by
+ * {@link VideoStatisticsCache}, so popular queries can be answered without a 100-unit
+ * search.list call.
+ *
+ * Title and channel title are indexed with {@link VideoTextAnalyzer}. New documents go to a
+ * mutable buffer; every bufferMaxDocs documents the buffer is frozen and handed to a single
+ * merger thread, which turns it into an immutable segment (sorted term dictionary plus
+ * docId/tf postings) off the request path. Frozen buffers stay searchable until their segment
+ * is swapped in. Segments are merged log-structured: whenever the newest segment is at least
+ * half the size of the one before it, the two are merged and postings of deleted documents are
+ * dropped. A video whose text changes is deleted and re-added under a new doc number.
+ *
+ * At most maxDocs videos are indexed; beyond that the longest-indexed video is evicted. Once
+ * deleted doc numbers outnumber live ones, the merger compacts everything into one segment and
+ * renumbers the live documents densely, so the doc store does not grow without bound.
+ *
+ * search.list is asked for a language and region, and its results are not otherwise marked
+ * with them. Each indexed video therefore remembers the language/region scopes it was found
+ * for, and a scoped search only returns videos found for that scope. Videos warmed from disk
+ * have no scope until a search finds them again.
+ */
+@Component
+public class LocalVideoIndex implements AutoCloseable {
+
+    public record Stats(int liveDocs, int segments, int bufferedDocs, long searches, long merges) {}
+
+    private static final Logger log = LoggerFactory.getLogger(LocalVideoIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_QUERY_WORDS = 64;
+    private static final int INITIAL_DOCS = 1024;
+
+    private final LocalSearchProperties props;
+    private final Executor merger;
+    private final AtomicBoolean maintenanceScheduled = new AtomicBoolean();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder searches = new LongAdder();
+
+    // Doc store, by doc number; guarded by lock
+    private List<String> docVideoIds = new ArrayList<>();
+    private int[] docLengths = new int[INITIAL_DOCS];
+    private int[] docTextHashes = new int[INITIAL_DOCS];
+    private long[] docPublishedAt = new long[INITIAL_DOCS];
+    private BitSet deleted = new BitSet();
+    private final Map<String, Integer> docByVideo = new HashMap<>();
+    private final Map<String, Set<String>> scopesByVideo = new HashMap<>();
+    private long totalLength;
+    private int liveDocs;
+    // Every doc below this one is deleted; eviction resumes here
+    private int oldestDoc;
+
+    // Postings not yet in a segment: the buffer taking inserts, and full buffers waiting for the merger
+    private Map<String, IntList> buffer = new HashMap<>();
+    private int bufferedDocs;
+    private final List<FrozenBuffer> frozen = new ArrayList<>();
+    private int frozenDocs;
+    // Only the merger thread replaces the segment list, and never modifies one in place
+    private List<Segment> segments = List.of();
+    private long merges;
+
+    @Autowired
+    public LocalVideoIndex(LocalSearchProperties props) {
+        this(props, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "local-index-merger");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    LocalVideoIndex(LocalSearchProperties props, Executor merger) {
+        this.props = props;
+        this.merger = merger;
+    }
+
+    public void addAll(Collection<EnrichedVideoData> videos) {
+        if (!props.isEnabled() || videos.isEmpty()) return;
+        boolean maintenanceDue;
+        lock.writeLock().lock();
+        try {
+            for (EnrichedVideoData video : videos) {
+                add(video);
+            }
+            maintenanceDue = !frozen.isEmpty() || compactionDue();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (maintenanceDue) {
+            scheduleMaintenance();
+        }
+    }
+
+    /**
+     * The scope of a search: normalized language and region, or null when neither is set.
+     */
+    public static String scope(String language, String region) {
+        boolean hasLanguage = language != null && !language.isBlank();
+        boolean hasRegion = region != null && !region.isBlank();
+        if (!hasLanguage && !hasRegion) {
+            return null;
+        }
+        return (hasLanguage ? language.trim().toLowerCase(Locale.ROOT) : "") + "|"
+                + (hasRegion ? region.trim().toUpperCase(Locale.ROOT) : "");
+    }
+
+    /**
+     * Records that search.list returned the videos for the scope. Videos not in the index are
+     * skipped, so call this once their details have been fetched.
+     */
+    public void addScope(Collection<String> videoIds, String scope) {
+        if (!props.isEnabled() || scope == null || videoIds.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            for (String videoId : videoIds) {
+                if (docByVideo.containsKey(videoId)) {
+                    scopesByVideo.computeIfAbsent(videoId, id -> new HashSet<>(2)).add(scope);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String videoId) {
+        boolean compactionDue;
+        lock.writeLock().lock();
+        try {
+            scopesByVideo.remove(videoId);
+            Integer doc = docByVideo.remove(videoId);
+            if (doc != null) {
+                delete(doc);
+            }
+            compactionDue = compactionDue();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compactionDue) {
+            scheduleMaintenance();
+        }
+    }
+
+    /**
+     * Video IDs published at or after publishedAfterMillis that match at least minTermCoverage
+     * of the query words, best BM25 score first.
+     */
+    public List<String> search(String query, long publishedAfterMillis, double minTermCoverage, int limit) {
+        return search(query, null, publishedAfterMillis, minTermCoverage, limit);
+    }
+
+    /**
+     * As {@link #search(String, long, double, int)}, restricted to videos found for the scope
+     * when it is not null.
+     */
+    public List<String> search(String query, String scope, long publishedAfterMillis, double minTermCoverage, int limit) {
+        List<String[]> words = distinctWords(VideoTextAnalyzer.analyze(query));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        searches.increment();
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            double avgLength = totalLength / (double) liveDocs;
+            Map<Integer, Match> matches = new HashMap<>();
+            for (int w = 0; w < words.size(); w++) {
+                for (String term : words.get(w)) {
+                    scoreTerm(term, 1L << w, avgLength, publishedAfterMillis, matches);
+                }
+            }
+
+            int minWords = (int) Math.ceil(minTermCoverage * words.size());
+            List<Map.Entry<Integer, Match>> hits = new ArrayList<>();
+            for (Map.Entry<Integer, Match> entry : matches.entrySet()) {
+                if (Long.bitCount(entry.getValue().words) >= minWords) {
+                    hits.add(entry);
+                }
+            }
+            hits.sort(Comparator.comparingDouble((Map.Entry<Integer, Match> e) -> e.getValue().score).reversed()
+                    .thenComparing(Map.Entry::getKey));
+
+            List<String> videoIds = new ArrayList<>(Math.min(limit, hits.size()));
+            for (int i = 0; i < hits.size() && videoIds.size() < limit; i++) {
+                String videoId = docVideoIds.get(hits.get(i).getKey());
+                if (scope == null || scopesByVideo.getOrDefault(videoId, Set.of()).contains(scope)) {
+                    videoIds.add(videoId);
+                }
+            }
+            return videoIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            return new Stats(liveDocs, segments.size(), bufferedDocs + frozenDocs, searches.sum(), merges);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Doc numbers in use, live or deleted; compaction brings this back down to the live count.
+     */
+    int docNumbers() {
+        lock.readLock().lock();
+        try {
+            return docVideoIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (merger instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void add(EnrichedVideoData video) {
+        String text = video.title() + " " + video.channelTitle();
+        long publishedAt = parseMillis(video.publishedAt());
+        Integer existing = docByVideo.get(video.videoId());
+        if (existing != null) {
+            // Statistics refreshes do not touch the text; skip re-indexing
+            if (docTextHashes[existing] == text.hashCode() && docPublishedAt[existing] == publishedAt) {
+                return;
+            }
+            docByVideo.remove(video.videoId());
+            delete(existing);
+        }
+
+        List<String> terms = VideoTextAnalyzer.terms(text);
+        if (terms.isEmpty()) {
+            scopesByVideo.remove(video.videoId());
+            return;
+        }
+        while (liveDocs >= Math.max(1, props.getMaxDocs())) {
+            evictOldest();
+        }
+        int doc = docVideoIds.size();
+        ensureCapacity(doc);
+        docVideoIds.add(video.videoId());
+        docLengths[doc] = terms.size();
+        docTextHashes[doc] = text.hashCode();
+        docPublishedAt[doc] = publishedAt;
+        docByVideo.put(video.videoId(), doc);
+        totalLength += terms.size();
+        liveDocs++;
+
+        Map<String, Integer> termFrequencies = new LinkedHashMap<>();
+        for (String term : terms) {
+            termFrequencies.merge(term, 1, Integer::sum);
+        }
+        termFrequencies.forEach((term, tf) -> buffer.computeIfAbsent(term, t -> new IntList()).add(doc, tf));
+
+        if (++bufferedDocs >= props.getBufferMaxDocs()) {
+            freezeBuffer();
+        }
+    }
+
+    private void evictOldest() {
+        int doc = deleted.nextClearBit(oldestDoc);
+        oldestDoc = doc + 1;
+        String videoId = docVideoIds.get(doc);
+        docByVideo.remove(videoId);
+        scopesByVideo.remove(videoId);
+        delete(doc);
+    }
+
+    private void delete(int doc) {
+        deleted.set(doc);
+        docVideoIds.set(doc, null);
+        totalLength -= docLengths[doc];
+        liveDocs--;
+    }
+
+    private void ensureCapacity(int doc) {
+        if (doc == docLengths.length) {
+            int capacity = doc * 2;
+            docLengths = Arrays.copyOf(docLengths, capacity);
+            docTextHashes = Arrays.copyOf(docTextHashes, capacity);
+            docPublishedAt = Arrays.copyOf(docPublishedAt, capacity);
+        }
+    }
+
+    private void freezeBuffer() {
+        if (bufferedDocs == 0) return;
+        frozen.add(new FrozenBuffer(buffer, bufferedDocs));
+        frozenDocs += bufferedDocs;
+        buffer = new HashMap<>();
+        bufferedDocs = 0;
+    }
+
+    private boolean compactionDue() {
+        int deletedDocs = docVideoIds.size() - liveDocs;
+        return deletedDocs > Math.max(liveDocs, props.getBufferMaxDocs());
+    }
+
+    private void scheduleMaintenance() {
+        if (!maintenanceScheduled.compareAndSet(false, true)) return;
+        try {
+            merger.execute(this::maintain);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            maintenanceScheduled.set(false);
+        }
+    }
+
+    /**
+     * Runs on the merger thread: flushes frozen buffers into segments, or compacts the whole index.
+     */
+    private void maintain() {
+        // Cleared first, so work arriving during this run schedules another one
+        maintenanceScheduled.set(false);
+        try {
+            boolean compact;
+            lock.readLock().lock();
+            try {
+                compact = compactionDue();
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (compact) {
+                compact();
+            } else {
+                flushFrozen();
+            }
+        } catch (RuntimeException e) {
+            log.error("LOCAL_INDEX_MERGE_FAILED: {}", e.getMessage(), e);
+        }
+    }
+
+    private void flushFrozen() {
+        List<FrozenBuffer> pending;
+        List<Segment> current;
+        BitSet deletedSnapshot;
+        lock.readLock().lock();
+        try {
+            if (frozen.isEmpty()) return;
+            pending = List.copyOf(frozen);
+            current = segments;
+            deletedSnapshot = (BitSet) deleted.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Built outside the lock: frozen buffers and segments are immutable, and writers only append new ones
+        List<Segment> merged = new ArrayList<>(current);
+        int mergeCount = 0;
+        for (FrozenBuffer buffered : pending) {
+            merged.add(Segment.of(buffered.postings(), deletedSnapshot));
+            // Log-structured merging keeps the segment count logarithmic in the corpus size
+            while (merged.size() >= 2
+                    && merged.get(merged.size() - 1).size() * 2 >= merged.get(merged.size() - 2).size()) {
+                Segment newer = merged.remove(merged.size() - 1);
+                Segment older = merged.remove(merged.size() - 1);
+                merged.add(Segment.merge(older, newer, deletedSnapshot));
+                mergeCount++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            segments = List.copyOf(merged);
+            dropFrozen(pending);
+            merges += mergeCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Merges every segment and buffer into one segment with the live documents numbered 0..n-1.
+     * The heavy work happens outside the lock against a snapshot; the swap then carries over the
+     * documents added and deleted meanwhile.
+     */
+    private void compact() {
+        int snapshotDocs;
+        BitSet deletedSnapshot;
+        List<Segment> current;
+        List<FrozenBuffer> pending;
+        String[] videoIds;
+        int[] lengths;
+        int[] textHashes;
+        long[] publishedAt;
+        lock.writeLock().lock();
+        try {
+            // After this, every doc below snapshotDocs is in a segment or a frozen buffer
+            freezeBuffer();
+            snapshotDocs = docVideoIds.size();
+            deletedSnapshot = (BitSet) deleted.clone();
+            current = segments;
+            pending = List.copyOf(frozen);
+            videoIds = docVideoIds.toArray(String[]::new);
+            // Entries below snapshotDocs are never rewritten, only marked deleted
+            lengths = docLengths;
+            textHashes = docTextHashes;
+            publishedAt = docPublishedAt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Live docs keep their relative order, so renumbered postings stay sorted
+        int[] renumbered = new int[snapshotDocs];
+        int live = 0;
+        for (int doc = 0; doc < snapshotDocs; doc++) {
+            renumbered[doc] = deletedSnapshot.get(doc) ? -1 : live++;
+        }
+        int capacity = Math.max(INITIAL_DOCS, live * 2);
+        List<String> newVideoIds = new ArrayList<>(capacity);
+        int[] newLengths = new int[capacity];
+        int[] newTextHashes = new int[capacity];
+        long[] newPublishedAt = new long[capacity];
+        for (int doc = 0; doc < snapshotDocs; doc++) {
+            int target = renumbered[doc];
+            if (target >= 0) {
+                newVideoIds.add(videoIds[doc]);
+                newLengths[target] = lengths[doc];
+                newTextHashes[target] = textHashes[doc];
+                newPublishedAt[target] = publishedAt[doc];
+            }
+        }
+        List<Segment> sources = new ArrayList<>(current);
+        for (FrozenBuffer buffered : pending) {
+            sources.add(Segment.of(buffered.postings(), deletedSnapshot));
+        }
+        Segment compacted = Segment.compact(sources, deletedSnapshot, renumbered);
+
+        lock.writeLock().lock();
+        try {
+            List<String> oldVideoIds = docVideoIds;
+            int[] oldLengths = docLengths;
+            int[] oldTextHashes = docTextHashes;
+            long[] oldPublishedAt = docPublishedAt;
+            BitSet oldDeleted = deleted;
+            int shift = live - snapshotDocs;
+
+            docVideoIds = newVideoIds;
+            docLengths = newLengths;
+            docTextHashes = newTextHashes;
+            docPublishedAt = newPublishedAt;
+            deleted = new BitSet();
+            BitSet deletedSince = oldDeleted.get(0, snapshotDocs);
+            deletedSince.andNot(deletedSnapshot);
+            for (int doc = deletedSince.nextSetBit(0); doc >= 0; doc = deletedSince.nextSetBit(doc + 1)) {
+                deleted.set(renumbered[doc]);
+                docVideoIds.set(renumbered[doc], null);
+            }
+            // Docs added since the snapshot follow the renumbered ones, still in order
+            for (int doc = snapshotDocs; doc < oldVideoIds.size(); doc++) {
+                int target = doc + shift;
+                ensureCapacity(target);
+                docVideoIds.add(oldVideoIds.get(doc));
+                docLengths[target] = oldLengths[doc];
+                docTextHashes[target] = oldTextHashes[doc];
+                docPublishedAt[target] = oldPublishedAt[doc];
+                if (oldDeleted.get(doc)) {
+                    deleted.set(target);
+                }
+            }
+            dropFrozen(pending);
+            for (FrozenBuffer buffered : frozen) {
+                shiftDocs(buffered.postings(), shift);
+            }
+            shiftDocs(buffer, shift);
+            docByVideo.replaceAll((videoId, doc) -> doc < snapshotDocs ? renumbered[doc] : doc + shift);
+            segments = compacted.size() > 0 ? List.of(compacted) : List.of();
+            oldestDoc = 0;
+            merges++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("LOCAL_INDEX_COMPACTED: docs={}, liveDocs={}", snapshotDocs, live);
+    }
+
+    private void dropFrozen(List<FrozenBuffer> flushed) {
+        frozen.subList(0, flushed.size()).clear();
+        for (FrozenBuffer buffered : flushed) {
+            frozenDocs -= buffered.docs();
+        }
+    }
+
+    private static void shiftDocs(Map<String, IntList> postings, int shift) {
+        for (IntList list : postings.values()) {
+            for (int i = 0; i < list.size(); i += 2) {
+                list.values[i] += shift;
+            }
+        }
+    }
+
+    private void scoreTerm(String term, long wordBit, double avgLength, long publishedAfterMillis,
+                           Map<Integer, Match> matches) {
+        int docFrequency = 0;
+        for (Segment segment : segments) {
+            docFrequency += segment.docFrequency(term);
+        }
+        List<IntList> buffered = new ArrayList<>(frozen.size() + 1);
+        for (FrozenBuffer frozenBuffer : frozen) {
+            IntList postings = frozenBuffer.postings().get(term);
+            if (postings != null) {
+                buffered.add(postings);
+            }
+        }
+        IntList postings = buffer.get(term);
+        if (postings != null) {
+            buffered.add(postings);
+        }
+        for (IntList list : buffered) {
+            docFrequency += list.size() / 2;
+        }
+        if (docFrequency == 0) {
+            return;
+        }
+        double idf = Math.log(1 + (liveDocs - docFrequency + 0.5) / (docFrequency + 0.5));
+
+        for (Segment segment : segments) {
+            int index = segment.find(term);
+            if (index >= 0) {
+                score(segment.postings, segment.starts[index], segment.starts[index + 1], idf, wordBit,
+                        avgLength, publishedAfterMillis, matches);
+            }
+        }
+        for (IntList list : buffered) {
+            score(list.values, 0, list.size(), idf, wordBit, avgLength, publishedAfterMillis, matches);
+        }
+    }
+
+    private void score(int[] postings, int from, int to, double idf, long wordBit, double avgLength,
+                       long publishedAfterMillis, Map<Integer, Match> matches) {
+        for (int i = from; i < to; i += 2) {
+            int doc = postings[i];
+            if (deleted.get(doc) || docPublishedAt[doc] < publishedAfterMillis) continue;
+            int tf = postings[i + 1];
+            double norm = tf + K1 * (1 - B + B * docLengths[doc] / avgLength);
+            Match match = matches.computeIfAbsent(doc, d -> new Match());
+            match.score += idf * tf * (K1 + 1) / norm;
+            match.words |= wordBit;
+        }
+    }
+
+    private static List<String[]> distinctWords(List<String[]> words) {
+        Map<String, String[]> distinct = new LinkedHashMap<>();
+        for (String[] variants : words) {
+            distinct.putIfAbsent(variants[0], variants);
+        }
+        return new ArrayList<>(distinct.values()).subList(0, Math.min(distinct.size(), MAX_QUERY_WORDS));
+    }
+
+    private static long parseMillis(String publishedAt) {
+        if (publishedAt == null || publishedAt.isBlank()) return 0;
+        try {
+            return OffsetDateTime.parse(publishedAt).toInstant().toEpochMilli();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static final class Match {
+        double score;
+        long words;
+    }
+
+    /**
+     * A full buffer handed to the merger; its postings no longer change until it becomes a segment.
+     */
+    private record FrozenBuffer(Map<String, IntList> postings, int docs) {}
+
+    /**
+     * Immutable segment: sorted terms, and per term a run of (docId, tf) pairs in docId order.
+     */
+    static final class Segment {
+        final String[] terms;
+        final int[] starts;
+        final int[] postings;
+
+        private Segment(String[] terms, int[] starts, int[] postings) {
+            this.terms = terms;
+            this.starts = starts;
+            this.postings = postings;
+        }
+
+        int size() {
+            return postings.length;
+        }
+
+        int find(String term) {
+            return Arrays.binarySearch(terms, term);
+        }
+
+        int docFrequency(String term) {
+            int index = find(term);
+            return index >= 0 ? (starts[index + 1] - starts[index]) / 2 : 0;
+        }
+
+        static Segment of(Map<String, IntList> buffer, BitSet deleted) {
+            String[] sorted = buffer.keySet().toArray(String[]::new);
+            Arrays.sort(sorted);
+            Builder builder = new Builder(sorted.length);
+            for (String term : sorted) {
+                IntList postings = buffer.get(term);
+                builder.add(term, postings.values, 0, postings.size(), deleted);
+            }
+            return builder.build();
+        }
+
+        /**
+         * Newer segments only hold higher doc numbers, so the older segment's postings for a term
+         * always precede the newer's.
+         */
+        static Segment merge(Segment older, Segment newer, BitSet deleted) {
+            Builder builder = new Builder(older.terms.length + newer.terms.length);
+            int i = 0;
+            int j = 0;
+            while (i < older.terms.length || j < newer.terms.length) {
+                int cmp = i == older.terms.length ? 1
+                        : j == newer.terms.length ? -1
+                        : older.terms[i].compareTo(newer.terms[j]);
+                String term = cmp <= 0 ? older.terms[i] : newer.terms[j];
+                builder.startTerm(term);
+                if (cmp <= 0) {
+                    builder.append(older.postings, older.starts[i], older.starts[i + 1], deleted);
+                    i++;
+                }
+                if (cmp >= 0) {
+                    builder.append(newer.postings, newer.starts[j], newer.starts[j + 1], deleted);
+                    j++;
+                }
+                builder.endTerm();
+            }
+            return builder.build();
+        }
+
+        /**
+         * Merges every segment into one, renumbering docs; renumbered[doc] is -1 for a dropped doc.
+         */
+        static Segment compact(List<Segment> sources, BitSet deleted, int[] renumbered) {
+            TreeSet<String> terms = new TreeSet<>();
+            for (Segment source : sources) {
+                Collections.addAll(terms, source.terms);
+            }
+            Builder builder = new Builder(terms.size());
+            for (String term : terms) {
+                builder.startTerm(term);
+                for (Segment source : sources) {
+                    int index = source.find(term);
+                    if (index >= 0) {
+                        builder.append(source.postings, source.starts[index], source.starts[index + 1], deleted, renumbered);
+                    }
+                }
+                builder.endTerm();
+            }
+            return builder.build();
+        }
+
+        private static final class Builder {
+            private final List<String> terms;
+            private final IntList starts;
+            private final IntList postings = new IntList();
+            private String current;
+            private int currentStart;
+
+            Builder(int expectedTerms) {
+                this.terms = new ArrayList<>(expectedTerms);
+                this.starts = new IntList();
+            }
+
+            void add(String term, int[] values, int from, int to, BitSet deleted) {
+                startTerm(term);
+                append(values, from, to, deleted);
+                endTerm();
+            }
+
+            void startTerm(String term) {
+                current = term;
+                currentStart = postings.size();
+            }
+
+            void append(int[] values, int from, int to, BitSet deleted) {
+                append(values, from, to, deleted, null);
+            }
+
+            void append(int[] values, int from, int to, BitSet deleted, int[] renumbered) {
+                for (int i = from; i < to; i += 2) {
+                    if (!deleted.get(values[i])) {
+                        postings.add(renumbered != null ? renumbered[values[i]] : values[i], values[i + 1]);
+                    }
+                }
+            }
+
+            void endTerm() {
+                // Terms whose documents were all deleted are dropped from the dictionary
+                if (postings.size() > currentStart) {
+                    terms.add(current);
+                    starts.add(currentStart);
+                }
+            }
+
+            Segment build() {
+                starts.add(postings.size());
+                return new Segment(terms.toArray(String[]::new), starts.toArray(), postings.toArray());
+            }
+        }
+    }
+
+    static final class IntList {
+        int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void add(int first, int second) {
+            add(first);
+            add(second);
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
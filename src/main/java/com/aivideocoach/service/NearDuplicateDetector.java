@@ -0,0 +1,231 @@
+package com.aivideocoach.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Finds re-uploads and content-farm variants of a title. Titles are folded the way spam
+ * phrases are and split into words; two videos are near-duplicates when
+ *
+ *   (shared words + same channel) / (all words + same channel) >= min-similarity
+ *
+ * and they carry the same numbers, so "Part 1" / "Part 2" or "5 tips" / "7 tips" stay apart.
+ * Four-digit years are not words: "... (2024)" re-uploads match the original.
+ *
+ * Each title gets a MinHash signature over its words; LSH buckets (8 bands of 3 rows) find
+ * the candidate pairs, which are confirmed on the exact word sets.
+ */
+@Component
+public class NearDuplicateDetector {
+
+    private static final int BANDS = 8;
+    private static final int ROWS = 3;
+    private static final long[] SEEDS = seeds(BANDS * ROWS);
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final boolean enabled;
+    private final double minSimilarity;
+
+    @Autowired
+    public NearDuplicateDetector(
+            @Value("${inspiration.near-duplicates.enabled:true}") boolean enabled,
+            @Value("${inspiration.near-duplicates.min-similarity:0.7}") double minSimilarity
+    ) {
+        this.enabled = enabled;
+        this.minSimilarity = minSimilarity;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * An empty set of distinct videos, for one ranking. Offer videos best first so the first
+     * of each cluster is the one kept.
+     */
+    public Index newIndex() {
+        return new Index();
+    }
+
+    public final class Index {
+        private final Map<Long, List<Signature>> buckets = new HashMap<>();
+
+        private Index() {}
+
+        /**
+         * Adds the video unless it is a near-duplicate of one added before; false means collapsed.
+         */
+        public boolean addIfDistinct(String title, String channel) {
+            Signature signature = Signature.of(title, channel);
+            if (signature == null) {
+                return true;
+            }
+            for (long key : signature.bandKeys) {
+                List<Signature> bucket = buckets.get(key);
+                if (bucket == null) continue;
+                for (Signature kept : bucket) {
+                    if (isNearDuplicate(signature, kept)) {
+                        return false;
+                    }
+                }
+            }
+            for (long key : signature.bandKeys) {
+                buckets.computeIfAbsent(key, k -> new ArrayList<>(1)).add(signature);
+            }
+            return true;
+        }
+    }
+
+    boolean isNearDuplicate(String titleA, String channelA, String titleB, String channelB) {
+        Signature a = Signature.of(titleA, channelA);
+        Signature b = Signature.of(titleB, channelB);
+        return a != null && b != null && isNearDuplicate(a, b);
+    }
+
+    private boolean isNearDuplicate(Signature a, Signature b) {
+        if (a.numbers != b.numbers) {
+            return false;
+        }
+        int shared = sharedWords(a.words, b.words);
+        int sameChannel = a.channel != 0 && a.channel == b.channel ? 1 : 0;
+        int union = a.words.length + b.words.length - shared;
+        return shared + sameChannel >= minSimilarity * (union + sameChannel);
+    }
+
+    private static int sharedWords(long[] a, long[] b) {
+        int shared = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Sorted distinct word hashes (low bit set for numbers), a digest of the numbers, the
+     * channel hash (0 when unknown) and one LSH key per band.
+     */
+    private record Signature(long[] words, long numbers, long channel, long[] bandKeys) {
+
+        static Signature of(String title, String channel) {
+            long[] words = words(title);
+            if (words.length == 0) {
+                return null;
+            }
+            long numbers = 0;
+            for (long word : words) {
+                if ((word & 1) != 0) numbers += mix(word);
+            }
+            return new Signature(words, numbers, channelHash(channel), bandKeys(words));
+        }
+
+        private static long[] words(String title) {
+            if (title == null) {
+                return new long[0];
+            }
+            long[] words = new long[16];
+            int count = 0;
+            long hash = FNV_OFFSET;
+            int length = 0;
+            int digits = 0;
+            int value = 0;
+            for (int i = 0; i <= title.length(); i++) {
+                char c = i < title.length() ? title.charAt(i) : ' ';
+                if (SpamPatternMatcher.isSkipped(c)) continue;
+                if (Character.isLetterOrDigit(c)) {
+                    c = SpamPatternMatcher.foldChar(c);
+                    hash = (hash ^ c) * FNV_PRIME;
+                    length++;
+                    if (c >= '0' && c <= '9') {
+                        digits++;
+                        if (digits <= 4) value = value * 10 + (c - '0');
+                    }
+                    continue;
+                }
+                if (length > 0) {
+                    boolean number = digits == length;
+                    boolean year = number && length == 4 && value >= 1900 && value <= 2099;
+                    if (!year) {
+                        if (count == words.length) words = Arrays.copyOf(words, count * 2);
+                        words[count++] = number ? hash | 1 : hash & ~1L;
+                    }
+                }
+                hash = FNV_OFFSET;
+                length = 0;
+                digits = 0;
+                value = 0;
+            }
+            Arrays.sort(words, 0, count);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (distinct == 0 || words[i] != words[distinct - 1]) words[distinct++] = words[i];
+            }
+            return Arrays.copyOf(words, distinct);
+        }
+
+        private static long channelHash(String channel) {
+            if (channel == null) {
+                return 0;
+            }
+            long hash = FNV_OFFSET;
+            boolean any = false;
+            for (int i = 0; i < channel.length(); i++) {
+                char c = channel.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    hash = (hash ^ SpamPatternMatcher.foldChar(c)) * FNV_PRIME;
+                    any = true;
+                }
+            }
+            return any ? hash : 0;
+        }
+
+        private static long[] bandKeys(long[] words) {
+            long[] keys = new long[BANDS];
+            for (int band = 0; band < BANDS; band++) {
+                long key = band + 1;
+                for (int row = 0; row < ROWS; row++) {
+                    long seed = SEEDS[band * ROWS + row];
+                    long min = Long.MAX_VALUE;
+                    for (long word : words) {
+                        min = Math.min(min, mix(word ^ seed));
+                    }
+                    key = mix(key * 31 + min);
+                }
+                keys[band] = key;
+            }
+            return keys;
+        }
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long[] seeds(int count) {
+        SplittableRandom random = new SplittableRandom(0x5eedL);
+        long[] seeds = new long[count];
+        for (int i = 0; i < count; i++) {
+            seeds[i] = random.nextLong();
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,307 @@
+package com.aivideocoach.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable Aho–Corasick automaton over a set of spam phrases. A title is scanned once,
+ * char by char, whatever the number of phrases; nothing is allocated per scan.
+ *
+ * Text and phrases are folded the same way: lower case, Hebrew niqqud and cantillation
+ * dropped, Hebrew final letters mapped to their regular form. Each phrase carries a bit
+ * per exemption word it contains; a match does not count when the domain shares that word.
+ */
+final class SpamPatternMatcher {
+
+    static final SpamPatternMatcher EMPTY = compile(List.of(), List.of());
+
+    private static final int ROOT = 0;
+    // Raw chars below this are classified with one table lookup (Latin, Greek, Cyrillic, Hebrew)
+    private static final int TABLE_CHARS = 0x0600;
+    private static final short SKIP = -1;
+    // Automata up to this many (state, class) cells also get a full transition table (4 MB)
+    private static final int DENSE_MAX_CELLS = 1 << 20;
+
+    private final List<String> exemptions;
+    private final int patternCount;
+    // The folded chars occurring in some phrase, sorted; char alphabet[i] has class i + 1 and
+    // class 0 is every other char, on which the scan falls back to the root
+    private final char[] alphabet;
+    private final short[] tableClass = new short[TABLE_CHARS];
+    // Root transitions by class; deeper states keep sorted sparse edges:
+    // edgeClasses/edgeTargets[edgeStart[s] .. edgeStart[s + 1])
+    private final int[] rootNext;
+    private final int[] edgeStart;
+    private final int[] edgeClasses;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    // Full DFA for small automata: next state = dense[state * (alphabet.length + 1) + class]
+    private final int[] dense;
+    // Distinct exemption masks of every phrase ending at a state, its own and via failure links
+    private final int[] outputStart;
+    private final long[] outputMasks;
+
+    private SpamPatternMatcher(List<String> exemptions, int patternCount, char[] alphabet, int[] edgeStart,
+                               int[] edgeClasses, int[] edgeTargets, int[] fail, int[] outputStart,
+                               long[] outputMasks, int[] breadthFirst, int denseMaxCells) {
+        this.exemptions = exemptions;
+        this.patternCount = patternCount;
+        this.alphabet = alphabet;
+        this.edgeStart = edgeStart;
+        this.edgeClasses = edgeClasses;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputStart = outputStart;
+        this.outputMasks = outputMasks;
+
+        for (int c = 0; c < TABLE_CHARS; c++) {
+            tableClass[c] = isSkipped((char) c) ? SKIP : (short) classOf(foldChar((char) c));
+        }
+        this.rootNext = new int[alphabet.length + 1];
+        for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+            rootNext[edgeClasses[e]] = edgeTargets[e];
+        }
+
+        int width = alphabet.length + 1;
+        if ((long) fail.length * width <= denseMaxCells) {
+            // Breadth-first, so a failure state's row is complete before it is copied
+            dense = new int[fail.length * width];
+            System.arraycopy(rootNext, 0, dense, 0, width);
+            for (int state : breadthFirst) {
+                System.arraycopy(dense, fail[state] * width, dense, state * width, width);
+                for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                    dense[state * width + edgeClasses[e]] = edgeTargets[e];
+                }
+            }
+        } else {
+            dense = null;
+        }
+    }
+
+    static SpamPatternMatcher compile(Collection<String> patterns, List<String> exemptionWords) {
+        return compile(patterns, exemptionWords, DENSE_MAX_CELLS);
+    }
+
+    static SpamPatternMatcher compile(Collection<String> patterns, List<String> exemptionWords, int denseMaxCells) {
+        if (exemptionWords.size() > Long.SIZE) {
+            throw new IllegalArgumentException("At most " + Long.SIZE + " exemption words are supported");
+        }
+        List<String> exemptions = exemptionWords.stream().map(SpamPatternMatcher::fold).filter(w -> !w.isEmpty()).toList();
+
+        Set<String> distinct = new LinkedHashSet<>();
+        Set<Character> chars = new TreeSet<>();
+        for (String pattern : patterns) {
+            String folded = pattern != null ? fold(pattern.trim()) : "";
+            if (!folded.isEmpty() && distinct.add(folded)) {
+                folded.chars().forEach(c -> chars.add((char) c));
+            }
+        }
+        char[] alphabet = new char[chars.size()];
+        int a = 0;
+        for (char c : chars) {
+            alphabet[a++] = c;
+        }
+
+        // Trie with per-state child maps keyed by class; flattened once the failure links are known
+        List<TreeMap<Integer, Integer>> children = new ArrayList<>();
+        List<Set<Long>> outputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        outputs.add(new LinkedHashSet<>());
+        for (String folded : distinct) {
+            int state = ROOT;
+            for (int i = 0; i < folded.length(); i++) {
+                int charClass = Arrays.binarySearch(alphabet, folded.charAt(i)) + 1;
+                Integer next = children.get(state).get(charClass);
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(charClass, next);
+                    children.add(new TreeMap<>());
+                    outputs.add(new LinkedHashSet<>());
+                }
+                state = next;
+            }
+            outputs.get(state).add(exemptionMask(folded, exemptions));
+        }
+
+        int states = children.size();
+        int[] fail = new int[states];
+        int[] breadthFirst = new int[states - 1];
+        int visited = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>(children.get(ROOT).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            breadthFirst[visited++] = state;
+            children.get(state).forEach((charClass, child) -> {
+                Integer target = null;
+                if (state != ROOT) {
+                    int f = fail[state];
+                    while ((target = children.get(f).get(charClass)) == null && f != ROOT) {
+                        f = fail[f];
+                    }
+                }
+                fail[child] = target != null ? target : ROOT;
+                // Breadth-first, so the failure state already holds its inherited outputs
+                outputs.get(child).addAll(outputs.get(fail[child]));
+                queue.add(child);
+            });
+        }
+
+        int[] edgeStart = new int[states + 1];
+        int[] outputStart = new int[states + 1];
+        for (int s = 0; s < states; s++) {
+            edgeStart[s + 1] = edgeStart[s] + children.get(s).size();
+            outputStart[s + 1] = outputStart[s] + outputs.get(s).size();
+        }
+        int[] edgeClasses = new int[edgeStart[states]];
+        int[] edgeTargets = new int[edgeStart[states]];
+        long[] outputMasks = new long[outputStart[states]];
+        for (int s = 0; s < states; s++) {
+            int e = edgeStart[s];
+            for (var edge : children.get(s).entrySet()) {
+                edgeClasses[e] = edge.getKey();
+                edgeTargets[e++] = edge.getValue();
+            }
+            int o = outputStart[s];
+            for (long mask : outputs.get(s)) {
+                outputMasks[o++] = mask;
+            }
+        }
+        return new SpamPatternMatcher(exemptions, distinct.size(), alphabet, edgeStart, edgeClasses, edgeTargets,
+                fail, outputStart, outputMasks, breadthFirst, denseMaxCells);
+    }
+
+    /**
+     * Bits of the exemption words the domain contains; computed once per ranking.
+     */
+    long domainMask(String domain) {
+        return domain != null ? exemptionMask(fold(domain), exemptions) : 0L;
+    }
+
+    /**
+     * True when the text contains a phrase none of whose exemption words is in domainMask.
+     */
+    boolean matches(CharSequence text, long domainMask) {
+        if (text == null || patternCount == 0) {
+            return false;
+        }
+        if (dense != null) {
+            return matchesDense(text, domainMask);
+        }
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char raw = text.charAt(i);
+            int charClass = raw < TABLE_CHARS ? tableClass[raw] : classOf(foldChar(raw));
+            if (charClass == SKIP) {
+                continue;
+            }
+            if (charClass == 0) {
+                state = ROOT;
+                continue;
+            }
+            int next = -1;
+            while (state != ROOT && (next = step(state, charClass)) < 0) {
+                state = fail[state];
+            }
+            state = state == ROOT ? rootNext[charClass] : next;
+            for (int o = outputStart[state], end = outputStart[state + 1]; o < end; o++) {
+                if ((outputMasks[o] & domainMask) == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesDense(CharSequence text, long domainMask) {
+        int width = alphabet.length + 1;
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char raw = text.charAt(i);
+            int charClass = raw < TABLE_CHARS ? tableClass[raw] : classOf(foldChar(raw));
+            if (charClass == SKIP) {
+                continue;
+            }
+            state = dense[state * width + charClass];
+            for (int o = outputStart[state], end = outputStart[state + 1]; o < end; o++) {
+                if ((outputMasks[o] & domainMask) == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    int patternCount() {
+        return patternCount;
+    }
+
+    int stateCount() {
+        return fail.length;
+    }
+
+    private int classOf(char folded) {
+        int index = Arrays.binarySearch(alphabet, folded);
+        return index >= 0 ? index + 1 : 0;
+    }
+
+    private int step(int state, int charClass) {
+        int lo = edgeStart[state];
+        int hi = edgeStart[state + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int midClass = edgeClasses[mid];
+            if (midClass < charClass) {
+                lo = mid + 1;
+            } else if (midClass > charClass) {
+                hi = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private static long exemptionMask(String folded, List<String> exemptions) {
+        long mask = 0;
+        for (int i = 0; i < exemptions.size(); i++) {
+            if (folded.contains(exemptions.get(i))) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isSkipped(c)) {
+                folded.append(foldChar(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    // Niqqud and cantillation marks, except the maqaf hyphen and punctuation in the same block
+    static boolean isSkipped(char c) {
+        return c >= 0x0591 && c <= 0x05C7 && c != 0x05BE && c != 0x05C0 && c != 0x05C3 && c != 0x05C6;
+    }
+
+    static char foldChar(char c) {
+        return switch (c) {
+            case 'ך' -> 'כ';
+            case 'ם' -> 'מ';
+            case 'ן' -> 'נ';
+            case 'ף' -> 'פ';
+            case 'ץ' -> 'צ';
+            default -> Character.toLowerCase(c);
+        };
+    }
+}
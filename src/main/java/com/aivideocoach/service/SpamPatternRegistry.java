@@ -0,0 +1,199 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.SpamFilterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Spam phrase lists per tenant and language, compiled into {@link SpamPatternMatcher}s.
+ *
+ * The phrases for a (tenant, language) pair are inspiration.spam-patterns plus the language's
+ * list plus the tenant's list. Lists come from configuration and, optionally, from a directory
+ * of text files that is re-read when a file changes. A reload compiles into a new snapshot
+ * and swaps it in with one volatile write: rankings already running keep the matcher they
+ * started with, later ones see the new lists.
+ */
+@Component
+public class SpamPatternRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SpamPatternRegistry.class);
+
+    public record Stats(int defaultPatterns, int languages, int tenants, int compiledMatchers, long reloads) {}
+
+    private static final String DEFAULT_FILE = "default.txt";
+    private static final String LANGUAGE_FILE_PREFIX = "language-";
+    private static final String TENANT_FILE_PREFIX = "tenant-";
+    private static final String FILE_SUFFIX = ".txt";
+
+    private record MatcherKey(String tenant, String language) {}
+
+    private record Snapshot(List<String> defaults, Map<String, List<String>> languages,
+                            Map<String, List<String>> tenants, SpamPatternMatcher defaultMatcher,
+                            Map<MatcherKey, SpamPatternMatcher> compiled) {}
+
+    private final List<String> configuredDefaults;
+    private final SpamFilterProperties props;
+    private final Path directory;
+    private final AtomicLong reloads = new AtomicLong();
+    private volatile Snapshot snapshot;
+    private volatile Map<String, String> directorySignature = Map.of();
+
+    @Autowired
+    public SpamPatternRegistry(
+            @Value("${inspiration.spam-patterns:free money,crypto pump,giveaway,click here,subscribe for,100% guaranteed}") String spamPatternsStr,
+            SpamFilterProperties props) {
+        this.configuredDefaults = Arrays.asList(spamPatternsStr.split(","));
+        this.props = props;
+        this.directory = props.getDirectory() != null && !props.getDirectory().isBlank()
+                ? Path.of(props.getDirectory())
+                : null;
+        reloadIfChanged();
+        if (snapshot == null) {
+            this.snapshot = build(Map.of());
+        }
+    }
+
+    SpamPatternRegistry(String spamPatternsStr) {
+        this(spamPatternsStr, new SpamFilterProperties());
+    }
+
+    /**
+     * The matcher for a request; tenants and languages without their own list share the
+     * default matcher. Compiled on first use and kept until the next reload.
+     */
+    SpamPatternMatcher matcher(String tenant, String language) {
+        Snapshot current = snapshot;
+        String tenantKey = tenant != null && current.tenants().containsKey(tenant) ? tenant : null;
+        String languageKey = language != null ? language.trim().toLowerCase(Locale.ROOT) : null;
+        if (languageKey != null && !current.languages().containsKey(languageKey)) {
+            languageKey = null;
+        }
+        if (tenantKey == null && languageKey == null) {
+            return current.defaultMatcher();
+        }
+        String t = tenantKey;
+        String l = languageKey;
+        return current.compiled().computeIfAbsent(new MatcherKey(t, l), key -> {
+            List<String> patterns = new ArrayList<>(current.defaults());
+            if (l != null) patterns.addAll(current.languages().get(l));
+            if (t != null) patterns.addAll(current.tenants().get(t));
+            return SpamPatternMatcher.compile(patterns, props.getExemptions());
+        });
+    }
+
+    /**
+     * The tenant itself when it has its own phrase list, otherwise null: rankings for tenants
+     * without one are identical and may be shared.
+     */
+    public String profileFor(String tenant) {
+        return tenant != null && snapshot.tenants().containsKey(tenant) ? tenant : null;
+    }
+
+    /**
+     * Re-reads the list directory when a file was added, removed or modified since the last
+     * load. A list that fails to load leaves the current snapshot in place.
+     */
+    @Scheduled(fixedDelayString = "${inspiration.spam-filter.reload-interval:PT1M}",
+               initialDelayString = "${inspiration.spam-filter.reload-interval:PT1M}")
+    public synchronized void reloadIfChanged() {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        try {
+            Map<String, String> signature = signature();
+            if (snapshot != null && signature.equals(directorySignature)) {
+                return;
+            }
+            Map<String, List<String>> files = new TreeMap<>();
+            for (String name : signature.keySet()) {
+                files.put(name, readPhrases(directory.resolve(name)));
+            }
+            Snapshot next = build(files);
+            boolean initial = snapshot == null;
+            snapshot = next;
+            directorySignature = signature;
+            if (!initial) {
+                reloads.incrementAndGet();
+            }
+            log.info("SPAM_PATTERNS_LOADED: files={}, defaultPatterns={}, languages={}, tenants={}", files.size(),
+                    next.defaultMatcher().patternCount(), next.languages().keySet(), next.tenants().keySet());
+        } catch (IOException | RuntimeException e) {
+            log.warn("SPAM_PATTERNS_RELOAD_FAILED: directory={}, error={}", directory, e.getMessage());
+        }
+    }
+
+    public Stats stats() {
+        Snapshot current = snapshot;
+        return new Stats(current.defaultMatcher().patternCount(), current.languages().size(),
+                current.tenants().size(), current.compiled().size() + 1, reloads.get());
+    }
+
+    private Snapshot build(Map<String, List<String>> files) {
+        List<String> defaults = new ArrayList<>(configuredDefaults);
+        Map<String, List<String>> languages = new HashMap<>();
+        Map<String, List<String>> tenants = new HashMap<>();
+        props.getLanguages().forEach((language, phrases) ->
+                languages.computeIfAbsent(language.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).addAll(phrases));
+        props.getTenants().forEach((tenant, phrases) ->
+                tenants.computeIfAbsent(tenant, k -> new ArrayList<>()).addAll(phrases));
+
+        files.forEach((name, phrases) -> {
+            String scope = name.substring(0, name.length() - FILE_SUFFIX.length());
+            if (name.equals(DEFAULT_FILE)) {
+                defaults.addAll(phrases);
+            } else if (scope.startsWith(LANGUAGE_FILE_PREFIX)) {
+                languages.computeIfAbsent(scope.substring(LANGUAGE_FILE_PREFIX.length()).toLowerCase(Locale.ROOT),
+                        k -> new ArrayList<>()).addAll(phrases);
+            } else if (scope.startsWith(TENANT_FILE_PREFIX)) {
+                tenants.computeIfAbsent(scope.substring(TENANT_FILE_PREFIX.length()),
+                        k -> new ArrayList<>()).addAll(phrases);
+            }
+        });
+
+        SpamPatternMatcher defaultMatcher = SpamPatternMatcher.compile(defaults, props.getExemptions());
+        return new Snapshot(List.copyOf(defaults), Map.copyOf(languages), Map.copyOf(tenants), defaultMatcher,
+                new ConcurrentHashMap<>());
+    }
+
+    private Map<String, String> signature() throws IOException {
+        Map<String, String> signature = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(FILE_SUFFIX) && Files.isRegularFile(file)) {
+                    signature.put(name, Files.getLastModifiedTime(file) + "/" + Files.size(file));
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * One phrase per line; blank lines and lines starting with # are ignored.
+     */
+    private static List<String> readPhrases(Path file) throws IOException {
+        return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .toList();
+    }
+}
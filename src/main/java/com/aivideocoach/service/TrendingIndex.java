@@ -0,0 +1,148 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.InspirationPrecomputeProperties;
+import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
+import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Precomputed rankings for popular (domain, keywords, language, region) tuples.
+ * Live requests for a tracked key are answered with a map lookup; the index is filled
+ * and refreshed in the background by {@link TrendingPrecomputer}.
+ *
+ * Tracked keys are the configured tuples plus the most requested keys, learned from
+ * a decaying per-key request count.
+ */
+@Component
+public class TrendingIndex {
+
+    record Entry(YoutubeInspirationResponse response, long computedAtMillis) {}
+
+    public record Stats(int trackedKeys, int indexedKeys, long hits, long misses) {}
+
+    private static final long MAX_DEMAND_KEYS = 10_000;
+
+    private final InspirationPrecomputeProperties props;
+    private final LongSupplier clock;
+    private final List<InspirationCacheKey> configuredKeys;
+    private final Map<InspirationCacheKey, Entry> entries = new ConcurrentHashMap<>();
+    // Bounded: long-tail keys are evicted, frequent ones survive (W-TinyLFU)
+    private final Cache<InspirationCacheKey, AtomicLong> demand = Caffeine.newBuilder()
+            .maximumSize(MAX_DEMAND_KEYS)
+            .build();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile long lastDecayMillis;
+
+    @Autowired
+    public TrendingIndex(InspirationPrecomputeProperties props) {
+        this(props, System::currentTimeMillis);
+    }
+
+    TrendingIndex(InspirationPrecomputeProperties props, LongSupplier clock) {
+        this.props = props;
+        this.clock = clock;
+        this.lastDecayMillis = clock.getAsLong();
+        this.configuredKeys = props.getTuples().stream()
+                .map(t -> InspirationCacheKey.of(new YoutubeInspirationRequest(null, t.getDomain(), null,
+                        t.getLocation(), t.getLanguage(), t.getKeywords(), null),
+                        YoutubeInspirationService.WINDOW_DAYS))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Records the request for learning and returns the precomputed response when the key
+     * is indexed and younger than max-age, otherwise null.
+     */
+    public YoutubeInspirationResponse lookup(InspirationCacheKey key) {
+        if (!props.isEnabled()) {
+            return null;
+        }
+        demand.get(key, k -> new AtomicLong()).incrementAndGet();
+
+        Entry entry = entries.get(key);
+        if (entry != null && clock.getAsLong() - entry.computedAtMillis() <= props.getMaxAge().toMillis()) {
+            hits.increment();
+            return entry.response();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(InspirationCacheKey key, YoutubeInspirationResponse response) {
+        entries.put(key, new Entry(response, clock.getAsLong()));
+    }
+
+    /**
+     * Configured keys first, then learned keys by request count.
+     */
+    public List<InspirationCacheKey> trackedKeys() {
+        Set<InspirationCacheKey> tracked = new LinkedHashSet<>(configuredKeys);
+        demand.asMap().entrySet().stream()
+                .filter(e -> e.getValue().get() >= props.getLearnMinRequests())
+                .sorted(Comparator.comparingLong((Map.Entry<InspirationCacheKey, AtomicLong> e) -> e.getValue().get()).reversed())
+                .limit(props.getLearnedMax())
+                .forEach(e -> tracked.add(e.getKey()));
+        return new ArrayList<>(tracked);
+    }
+
+    /**
+     * Tracked keys whose refresh is due, never-computed and most overdue first. Each key's
+     * refresh time is offset by a stable per-key phase (up to a quarter of the interval) so
+     * keys computed together do not all come due in the same run.
+     */
+    public List<InspirationCacheKey> dueKeys(int limit) {
+        long now = clock.getAsLong();
+        long interval = props.getRefreshInterval().toMillis();
+
+        List<InspirationCacheKey> tracked = trackedKeys();
+        // Keys no longer tracked fall out of the index
+        entries.keySet().retainAll(Set.copyOf(tracked));
+
+        return tracked.stream()
+                .filter(key -> dueAt(key, interval) <= now)
+                .sorted(Comparator.comparingLong(key -> dueAt(key, interval)))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Halves all request counts once per half-life so interest that has moved on fades out.
+     */
+    public void decayDemand() {
+        long now = clock.getAsLong();
+        if (now - lastDecayMillis < props.getLearningHalfLife().toMillis()) {
+            return;
+        }
+        lastDecayMillis = now;
+        demand.asMap().values().removeIf(count -> count.updateAndGet(c -> c / 2) == 0);
+    }
+
+    public Stats stats() {
+        return new Stats(trackedKeys().size(), entries.size(), hits.sum(), misses.sum());
+    }
+
+    private long dueAt(InspirationCacheKey key, long interval) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Long.MIN_VALUE;
+        }
+        long phase = Math.floorMod(key.hashCode(), Math.max(1, interval / 4));
+        return entry.computedAtMillis() + interval + phase;
+    }
+}
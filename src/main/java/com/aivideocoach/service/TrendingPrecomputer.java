@@ -0,0 +1,77 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.InspirationPrecomputeProperties;
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Keeps the {@link TrendingIndex} warm: a few due keys per run, computed one after
+ * another at background quota priority so live traffic keeps its share of the budget.
+ * Failed, partial and empty computations are not indexed: the previous entry stays and
+ * the key is retried on the next run.
+ */
+@Component
+public class TrendingPrecomputer {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingPrecomputer.class);
+
+    private final InspirationPrecomputeProperties props;
+    private final YouTubeProperties youTubeProps;
+    private final TrendingIndex index;
+    private final YoutubeInspirationService inspirationService;
+
+    public TrendingPrecomputer(InspirationPrecomputeProperties props,
+                               YouTubeProperties youTubeProps,
+                               TrendingIndex index,
+                               YoutubeInspirationService inspirationService) {
+        this.props = props;
+        this.youTubeProps = youTubeProps;
+        this.index = index;
+        this.inspirationService = inspirationService;
+    }
+
+    @Scheduled(fixedDelayString = "${inspiration.precompute.check-interval:PT1M}",
+               initialDelayString = "${inspiration.precompute.initial-delay:PT30S}")
+    public void refreshDue() {
+        if (!props.isEnabled()) {
+            return;
+        }
+        index.decayDemand();
+
+        List<InspirationCacheKey> due = index.dueKeys(props.getRefreshesPerRun());
+        if (due.isEmpty()) {
+            return;
+        }
+        log.info("TRENDING_PRECOMPUTE: due={}", due.size());
+
+        Duration perKey = youTubeProps.getSearchTimeout().plus(youTubeProps.getDetailsTimeout())
+                .multipliedBy(Math.max(1, youTubeProps.getSearchMaxPages()));
+        Flux.fromIterable(due)
+                .concatMap(key -> inspirationService.computeFresh(key)
+                        .doOnNext(response -> {
+                            if (response.results() == null || response.results().isEmpty()) {
+                                log.warn("TRENDING_PRECOMPUTE_EMPTY: domain={}, keywords={}", key.domain(), key.keywords());
+                                return;
+                            }
+                            index.put(key, response);
+                            log.info("TRENDING_INDEXED: domain={}, keywords={}, results={}", key.domain(),
+                                    key.keywords(), response.results() != null ? response.results().size() : 0);
+                        })
+                        .onErrorResume(e -> {
+                            log.warn("TRENDING_PRECOMPUTE_ERROR: domain={}, error={}", key.domain(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .then()
+                .contextWrite(YouTubeQuotaManager.backgroundContext())
+                .block(perKey.multipliedBy(due.size()));
+    }
+}
@@ -0,0 +1,642 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.MetadataStoreProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local on-disk store for decoded video and channel metadata, so a restart or deploy starts
+ * with warm caches instead of spending quota on re-fetching.
+ *
+ * Records are appended to segment files and never modified in place; the newest record for
+ * an ID wins. Sealed segments are read through read-only memory maps. Compaction rewrites
+ * the live, unexpired records into a fresh segment and deletes the old ones. Writes go to
+ * the page cache without fsync: a crash can lose the tail, which only costs a re-fetch.
+ *
+ * Record layout: int bodyLength, int crc32(body), body. The body is a type byte, a varint
+ * fetchedAtMillis and the fields, with strings as varint length + 1 (0 = null) and UTF-8,
+ * and the video duration as varint seconds + 1 (0 = unknown).
+ *
+ * Request paths use the *Async methods: a single writer thread performs the appends, so a
+ * reactive pipeline never waits on the disk or on a running compaction. When the writer falls
+ * far behind, further writes are dropped - the data is only a cache.
+ */
+@Component
+public class VideoMetadataStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoMetadataStore.class);
+
+    public record StoredVideo(EnrichedVideoData video, long fetchedAtMillis) {}
+
+    public record StoredChannel(String channelId, long subscriberCount, long fetchedAtMillis) {}
+
+    public record Stats(boolean enabled, int segments, int videos, int channels,
+                        long totalBytes, long liveBytes, long compactions) {}
+
+    // Duration as a plain varint, with 0 for unknown as well; still read, no longer written
+    static final byte VIDEO_V1 = 1;
+    static final byte CHANNEL = 2;
+    static final byte VIDEO_REMOVED = 3;
+    // Duration as varint + 1, 0 = unknown
+    static final byte VIDEO = 4;
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String VIDEO_URL_PREFIX = "https://www.youtube.com/watch?v=";
+    private static final int WRITE_QUEUE_CAPACITY = 1_024;
+
+    private record Location(long segmentId, int offset, int length, long fetchedAtMillis) {}
+
+    private final MetadataStoreProperties props;
+    private final LongSupplier clock;
+    private final Path directory;
+    private final ThreadPoolExecutor writer;
+    // Read without the monitor by the *Async methods; active itself is briefly null while a segment rolls over
+    private volatile boolean enabled;
+
+    // All state below is guarded by this
+    private final Map<String, Location> videoIndex = new HashMap<>();
+    private final Map<String, Location> channelIndex = new HashMap<>();
+    private final TreeMap<Long, MappedByteBuffer> sealed = new TreeMap<>();
+    private FileChannel active;
+    private long activeId;
+    private long activeSize;
+    private long totalBytes;
+    private long liveBytes;
+    private long compactions;
+
+    @Autowired
+    public VideoMetadataStore(MetadataStoreProperties props) {
+        this(props, System::currentTimeMillis);
+    }
+
+    VideoMetadataStore(MetadataStoreProperties props, LongSupplier clock) {
+        this.props = props;
+        this.clock = clock;
+        this.directory = Path.of(props.getDirectory());
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(WRITE_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "metadata-store-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (task, executor) -> log.warn("METADATA_STORE_WRITE_DROPPED: queued={}", executor.getQueue().size()));
+        if (props.isEnabled()) {
+            open();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues {@link #appendVideos} on the writer thread; never blocks.
+     */
+    public void appendVideosAsync(Collection<EnrichedVideoData> videos, long fetchedAtMillis) {
+        if (!isEnabled() || videos.isEmpty()) return;
+        List<EnrichedVideoData> copy = List.copyOf(videos);
+        write(() -> appendVideos(copy, fetchedAtMillis));
+    }
+
+    /**
+     * Queues {@link #removeVideos} on the writer thread; never blocks.
+     */
+    public void removeVideosAsync(Collection<String> videoIds) {
+        if (!isEnabled() || videoIds.isEmpty()) return;
+        List<String> copy = List.copyOf(videoIds);
+        write(() -> removeVideos(copy));
+    }
+
+    /**
+     * Queues {@link #appendChannels} on the writer thread; never blocks.
+     */
+    public void appendChannelsAsync(Map<String, Long> subscriberCounts, long fetchedAtMillis) {
+        if (!isEnabled() || subscriberCounts.isEmpty()) return;
+        Map<String, Long> copy = new HashMap<>(subscriberCounts);
+        write(() -> appendChannels(copy, fetchedAtMillis));
+    }
+
+    /**
+     * Waits until the writes queued so far are done.
+     */
+    void flush() {
+        try {
+            writer.submit(() -> {}).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            log.warn("METADATA_STORE_FLUSH_ERROR: error={}", e.toString());
+        }
+    }
+
+    private void write(Runnable append) {
+        writer.execute(() -> {
+            try {
+                append.run();
+            } catch (RuntimeException e) {
+                log.warn("METADATA_STORE_WRITE_ERROR: error={}", e.getMessage());
+            }
+        });
+    }
+
+    public synchronized void appendVideos(Collection<EnrichedVideoData> videos, long fetchedAtMillis) {
+        if (!isEnabled() || videos.isEmpty()) return;
+        List<byte[]> bodies = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (EnrichedVideoData video : videos) {
+            ids.add(video.videoId());
+            bodies.add(encodeVideo(video, fetchedAtMillis));
+        }
+        append(bodies, ids, videoIndex, fetchedAtMillis);
+    }
+
+    /**
+     * Videos that no longer exist; a tombstone keeps older records from coming back on restart.
+     */
+    public synchronized void removeVideos(Collection<String> videoIds) {
+        if (!isEnabled() || videoIds.isEmpty()) return;
+        long now = clock.getAsLong();
+        List<byte[]> bodies = new ArrayList<>();
+        for (String id : videoIds) {
+            bodies.add(new Encoder().writeByte(VIDEO_REMOVED).writeVarLong(now).writeString(id).toByteArray());
+        }
+        append(bodies, new ArrayList<>(videoIds), null, now);
+        for (String id : videoIds) {
+            Location old = videoIndex.remove(id);
+            if (old != null) liveBytes -= old.length();
+        }
+    }
+
+    public synchronized void appendChannels(Map<String, Long> subscriberCounts, long fetchedAtMillis) {
+        if (!isEnabled() || subscriberCounts.isEmpty()) return;
+        List<byte[]> bodies = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        subscriberCounts.forEach((id, subscribers) -> {
+            ids.add(id);
+            bodies.add(new Encoder().writeByte(CHANNEL).writeVarLong(fetchedAtMillis)
+                    .writeString(id).writeVarLong(subscribers != null ? subscribers : 0L).toByteArray());
+        });
+        append(bodies, ids, channelIndex, fetchedAtMillis);
+    }
+
+    /**
+     * Latest record per video fetched within maxAge, for warming caches on startup.
+     */
+    public synchronized List<StoredVideo> videos(long maxAgeMillis) {
+        long cutoff = clock.getAsLong() - maxAgeMillis;
+        List<StoredVideo> videos = new ArrayList<>();
+        for (Location location : videoIndex.values()) {
+            if (location.fetchedAtMillis() < cutoff) continue;
+            ByteBuffer body = readBody(location);
+            if (body != null) {
+                byte type = body.get();
+                long fetchedAt = readVarLong(body);
+                videos.add(new StoredVideo(decodeVideo(body, type), fetchedAt));
+            }
+        }
+        return videos;
+    }
+
+    public synchronized List<StoredChannel> channels(long maxAgeMillis) {
+        long cutoff = clock.getAsLong() - maxAgeMillis;
+        List<StoredChannel> channels = new ArrayList<>();
+        for (Location location : channelIndex.values()) {
+            if (location.fetchedAtMillis() < cutoff) continue;
+            ByteBuffer body = readBody(location);
+            if (body != null) {
+                body.get();
+                long fetchedAt = readVarLong(body);
+                channels.add(new StoredChannel(readString(body), readVarLong(body), fetchedAt));
+            }
+        }
+        return channels;
+    }
+
+    @Scheduled(fixedDelayString = "${metadata-store.compaction-check-interval:PT10M}",
+               initialDelayString = "${metadata-store.compaction-check-interval:PT10M}")
+    public synchronized void compactIfNeeded() {
+        if (!isEnabled() || totalBytes < props.getCompactionMinSize().toBytes()) return;
+        long cutoff = clock.getAsLong() - props.getRetention().toMillis();
+        long expiredBytes = Stream.concat(videoIndex.values().stream(), channelIndex.values().stream())
+                .filter(location -> location.fetchedAtMillis() < cutoff)
+                .mapToLong(Location::length)
+                .sum();
+        double garbageRatio = 1.0 - (liveBytes - expiredBytes) / (double) totalBytes;
+        if (garbageRatio >= props.getCompactionGarbageRatio()) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites live, unexpired records into one new segment and deletes every older segment.
+     * Runs under the store lock; appends wait for it.
+     */
+    public synchronized void compact() {
+        if (!isEnabled()) return;
+        long started = System.currentTimeMillis();
+        long cutoff = clock.getAsLong() - props.getRetention().toMillis();
+        long bytesBefore = totalBytes;
+        try {
+            seal();
+        } catch (IOException e) {
+            log.warn("METADATA_STORE_COMPACTION_ERROR: seal failed, error={}", e.getMessage());
+            return;
+        }
+
+        long compactedId = activeId + 1;
+        Path target = segmentPath(compactedId);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Map<String, Location> videos = new HashMap<>();
+        Map<String, Location> channels = new HashMap<>();
+        int offset = 0;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            offset = copyLive(videoIndex, videos, out, compactedId, cutoff, offset);
+            offset = copyLive(channelIndex, channels, out, compactedId, cutoff, offset);
+            out.force(false);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("METADATA_STORE_COMPACTION_ERROR: error={}", e.getMessage());
+            deleteQuietly(tmp);
+            openActive(compactedId + 1);
+            return;
+        }
+
+        // The compacted segment supersedes everything before it
+        for (Long id : new ArrayList<>(sealed.keySet())) {
+            deleteQuietly(segmentPath(id));
+        }
+        sealed.clear();
+        videoIndex.clear();
+        videoIndex.putAll(videos);
+        channelIndex.clear();
+        channelIndex.putAll(channels);
+        totalBytes = offset;
+        liveBytes = offset;
+        compactions++;
+        if (offset > 0) {
+            map(compactedId);
+        } else {
+            deleteQuietly(target);
+        }
+        openActive(compactedId + 1);
+
+        log.info("METADATA_STORE_COMPACTED: before={}B, after={}B, videos={}, channels={}, elapsed={}ms",
+                bytesBefore, offset, videos.size(), channels.size(), System.currentTimeMillis() - started);
+    }
+
+    public synchronized Stats stats() {
+        int segments = sealed.size() + (isEnabled() && activeSize > 0 ? 1 : 0);
+        return new Stats(isEnabled(), segments, videoIndex.size(), channelIndex.size(), totalBytes, liveBytes, compactions);
+    }
+
+    @Override
+    public void close() {
+        // Drain queued writes first; the writer needs this store's monitor to finish them
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("METADATA_STORE_CLOSE_TIMEOUT: pending={}", writer.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeActive();
+    }
+
+    private synchronized void closeActive() {
+        if (active == null) return;
+        try {
+            active.force(false);
+            active.close();
+            if (activeSize == 0) {
+                deleteQuietly(segmentPath(activeId));
+            }
+        } catch (IOException e) {
+            log.warn("METADATA_STORE_CLOSE_ERROR: error={}", e.getMessage());
+        }
+        active = null;
+        enabled = false;
+    }
+
+    private void open() {
+        long started = System.currentTimeMillis();
+        long lastId = 0;
+        try {
+            Files.createDirectories(directory);
+            long[] ids;
+            try (Stream<Path> files = Files.list(directory)) {
+                ids = files.map(VideoMetadataStore::segmentId).filter(id -> id > 0).mapToLong(Long::longValue).toArray();
+            }
+            Arrays.sort(ids);
+            for (long id : ids) {
+                lastId = id;
+                if (Files.size(segmentPath(id)) == 0) {
+                    deleteQuietly(segmentPath(id));
+                } else {
+                    load(id, map(id));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("METADATA_STORE_OPEN_ERROR: dir={}, error={}", directory, e.getMessage());
+        }
+        // Always append to a fresh segment so a torn tail from a crash is never extended
+        openActive(lastId + 1);
+        if (active != null) {
+            log.info("METADATA_STORE_OPENED: dir={}, segments={}, videos={}, channels={}, bytes={}, elapsed={}ms",
+                    directory, sealed.size(), videoIndex.size(), channelIndex.size(), totalBytes,
+                    System.currentTimeMillis() - started);
+        }
+    }
+
+    private void load(long segmentId, MappedByteBuffer segment) {
+        int position = 0;
+        while (position + HEADER_BYTES <= segment.limit()) {
+            int length = segment.getInt(position);
+            int crc = segment.getInt(position + 4);
+            if (length <= 0 || position + HEADER_BYTES + length > segment.limit()
+                    || crc != crc32(segment.slice(position + HEADER_BYTES, length))) {
+                log.warn("METADATA_STORE_TORN_RECORD: segment={}, offset={}, ignoredBytes={}",
+                        segmentId, position, segment.limit() - position);
+                break;
+            }
+            ByteBuffer body = segment.slice(position + HEADER_BYTES, length);
+            byte type = body.get();
+            long fetchedAt = readVarLong(body);
+            String id = readString(body);
+            Location location = new Location(segmentId, position, HEADER_BYTES + length, fetchedAt);
+            switch (type) {
+                case VIDEO, VIDEO_V1 -> index(videoIndex, id, location);
+                case CHANNEL -> index(channelIndex, id, location);
+                case VIDEO_REMOVED -> {
+                    Location old = videoIndex.remove(id);
+                    if (old != null) liveBytes -= old.length();
+                }
+                default -> log.warn("METADATA_STORE_UNKNOWN_RECORD: segment={}, offset={}, type={}", segmentId, position, type);
+            }
+            totalBytes += location.length();
+            position += location.length();
+        }
+    }
+
+    /**
+     * Writes the records in one call; the index is only updated once the write succeeded.
+     */
+    private void append(List<byte[]> bodies, List<String> ids, Map<String, Location> index, long fetchedAtMillis) {
+        int batchBytes = bodies.stream().mapToInt(body -> HEADER_BYTES + body.length).sum();
+        try {
+            if (activeSize > 0 && activeSize + batchBytes > props.getSegmentMaxSize().toBytes()) {
+                seal();
+                openActive(activeId + 1);
+            }
+            ByteBuffer batch = ByteBuffer.allocate(batchBytes);
+            for (byte[] body : bodies) {
+                batch.putInt(body.length).putInt(crc32(ByteBuffer.wrap(body))).put(body);
+            }
+            batch.flip();
+            while (batch.hasRemaining()) {
+                active.write(batch);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("METADATA_STORE_WRITE_ERROR: records={}, error={}", bodies.size(), e.getMessage());
+            return;
+        }
+
+        int offset = (int) activeSize;
+        for (int i = 0; i < bodies.size(); i++) {
+            int length = HEADER_BYTES + bodies.get(i).length;
+            if (index != null) {
+                index(index, ids.get(i), new Location(activeId, offset, length, fetchedAtMillis));
+            }
+            offset += length;
+        }
+        activeSize += batchBytes;
+        totalBytes += batchBytes;
+    }
+
+    private void index(Map<String, Location> index, String id, Location location) {
+        Location old = index.put(id, location);
+        if (old != null) liveBytes -= old.length();
+        liveBytes += location.length();
+    }
+
+    private int copyLive(Map<String, Location> from, Map<String, Location> to, FileChannel out,
+                         long segmentId, long cutoff, int offset) throws IOException {
+        for (Map.Entry<String, Location> entry : from.entrySet()) {
+            Location location = entry.getValue();
+            if (location.fetchedAtMillis() < cutoff) continue;
+            ByteBuffer record = sealed.get(location.segmentId()).slice(location.offset(), location.length());
+            while (record.hasRemaining()) {
+                out.write(record);
+            }
+            to.put(entry.getKey(), new Location(segmentId, offset, location.length(), location.fetchedAtMillis()));
+            offset += location.length();
+        }
+        return offset;
+    }
+
+    private ByteBuffer readBody(Location location) {
+        MappedByteBuffer segment = sealed.get(location.segmentId());
+        if (segment != null) {
+            return segment.slice(location.offset() + HEADER_BYTES, location.length() - HEADER_BYTES);
+        }
+        // Records written since startup live in the active segment, which is not mapped
+        ByteBuffer body = ByteBuffer.allocate(location.length() - HEADER_BYTES);
+        try {
+            while (body.hasRemaining()) {
+                if (active.read(body, location.offset() + HEADER_BYTES + body.position()) < 0) return null;
+            }
+        } catch (IOException e) {
+            log.warn("METADATA_STORE_READ_ERROR: segment={}, error={}", location.segmentId(), e.getMessage());
+            return null;
+        }
+        return body.flip();
+    }
+
+    private void seal() throws IOException {
+        active.force(false);
+        active.close();
+        if (activeSize > 0) {
+            map(activeId);
+        } else {
+            deleteQuietly(segmentPath(activeId));
+        }
+        active = null;
+        activeSize = 0;
+    }
+
+    private void openActive(long id) {
+        try {
+            active = FileChannel.open(segmentPath(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING);
+            activeId = id;
+            activeSize = 0;
+            enabled = true;
+        } catch (IOException e) {
+            log.warn("METADATA_STORE_DISABLED: dir={}, error={}", directory, e.getMessage());
+            active = null;
+            enabled = false;
+        }
+    }
+
+    private MappedByteBuffer map(long id) {
+        try (FileChannel channel = FileChannel.open(segmentPath(id), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            sealed.put(id, buffer);
+            return buffer;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot map segment " + id, e);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentId(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) return -1;
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("METADATA_STORE_DELETE_ERROR: file={}, error={}", path, e.getMessage());
+        }
+    }
+
+    private static int crc32(ByteBuffer bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    // --- Record encoding ---
+
+    static byte[] encodeVideo(EnrichedVideoData video, long fetchedAtMillis) {
+        // The watch URL is derived from the ID and subscriber counts live in the channel records
+        return new Encoder()
+                .writeByte(VIDEO)
+                .writeVarLong(fetchedAtMillis)
+                .writeString(video.videoId())
+                .writeString(video.title())
+                .writeString(video.channelTitle())
+                .writeString(video.channelId())
+                .writeString(video.publishedAt())
+                .writeVarLong(video.viewCount() != null ? video.viewCount() : 0L)
+                .writeVarLong(video.likeCount() != null ? video.likeCount() : 0L)
+                .writeVarLong(video.commentCount() != null ? video.commentCount() : 0L)
+                .writeVarLong(video.durationSeconds() != null ? video.durationSeconds() + 1L : 0L)
+                .toByteArray();
+    }
+
+    /**
+     * Decodes the fields after the type byte and fetchedAtMillis.
+     */
+    static EnrichedVideoData decodeVideo(ByteBuffer body, byte type) {
+        String videoId = readString(body);
+        String title = readString(body), channelTitle = readString(body), channelId = readString(body);
+        String publishedAt = readString(body);
+        long views = readVarLong(body), likes = readVarLong(body), comments = readVarLong(body);
+        long duration = readVarLong(body);
+        // A version 1 zero is more likely an unparsable duration than a zero-length video
+        Integer durationSeconds = duration == 0 ? null : (int) (type == VIDEO ? duration - 1 : duration);
+        return new EnrichedVideoData(videoId, title, channelTitle, channelId, publishedAt, VIDEO_URL_PREFIX + videoId,
+                views, likes, comments, durationSeconds, 0L);
+    }
+
+    private static String readString(ByteBuffer body) {
+        int length = (int) readVarLong(body) - 1;
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarLong(ByteBuffer body) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = body.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private static final class Encoder {
+        private byte[] bytes = new byte[128];
+        private int size;
+
+        Encoder writeByte(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+            return this;
+        }
+
+        Encoder writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+            return this;
+        }
+
+        Encoder writeString(String value) {
+            if (value == null) return writeVarLong(0);
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length + 1L);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -3,35 +3,51 @@ package com.aivideocoach.service;
 import com.aivideocoach.youtube.dto.YoutubeVideoResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Service
 public class VideoQualityScorer {
 
     private static final Logger log = LoggerFactory.getLogger(VideoQualityScorer.class);
 
-    private final Set<String> spamPatterns;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final SpamPatternRegistry spamPatterns;
     private final long minViewCountThreshold;
     private final int recentVideoThresholdDays;
+    private final NearDuplicateDetector nearDuplicates;
+    private final Clock clock;
 
+    @Autowired
     public VideoQualityScorer(
-            @Value("${inspiration.spam-patterns:free money,crypto pump,giveaway,click here,subscribe for,100% guaranteed}") String spamPatternsStr,
+            SpamPatternRegistry spamPatterns,
             @Value("${inspiration.min-view-count:10000}") long minViewCountThreshold,
-            @Value("${inspiration.recent-video-threshold-days:7}") int recentVideoThresholdDays
+            @Value("${inspiration.recent-video-threshold-days:7}") int recentVideoThresholdDays,
+            NearDuplicateDetector nearDuplicates
     ) {
-        this.spamPatterns = Set.of(spamPatternsStr.toLowerCase().split(","));
+        this(spamPatterns, minViewCountThreshold, recentVideoThresholdDays, nearDuplicates, Clock.systemUTC());
+    }
+
+    VideoQualityScorer(SpamPatternRegistry spamPatterns, long minViewCountThreshold, int recentVideoThresholdDays, Clock clock) {
+        this(spamPatterns, minViewCountThreshold, recentVideoThresholdDays, null, clock);
+    }
+
+    VideoQualityScorer(SpamPatternRegistry spamPatterns, long minViewCountThreshold, int recentVideoThresholdDays,
+                       NearDuplicateDetector nearDuplicates, Clock clock) {
+        this.spamPatterns = spamPatterns;
         this.minViewCountThreshold = minViewCountThreshold;
         this.recentVideoThresholdDays = recentVideoThresholdDays;
+        this.nearDuplicates = nearDuplicates != null && nearDuplicates.isEnabled() ? nearDuplicates : null;
+        this.clock = clock;
     }
 
     public List<YoutubeVideoResult> scoreAndRankVideos(List<YoutubeVideoResult> videos, String domain) {
@@ -41,53 +57,306 @@ public class VideoQualityScorer {
 
         log.info("Scoring {} videos for quality ranking", videos.size());
 
-        // Filter out obvious low-quality videos
-        List<YoutubeVideoResult> filtered = videos.stream()
-                .filter(video -> passesQualityFilters(video, domain))
-                .collect(Collectors.toList());
+        Ranker ranker = newRanker(domain, videos.size()).offer(videos);
 
-        log.info("After quality filtering: {} videos remain from {} original", filtered.size(), videos.size());
+        log.info("After quality filtering: {} videos remain from {} original", ranker.candidateCount(), videos.size());
 
-        if (filtered.isEmpty()) {
-            return filtered;
+        List<YoutubeVideoResult> ranked = ranker.topK();
+        if (ranker.collapsedCount() > 0) {
+            log.info("Collapsed {} near-duplicate videos", ranker.collapsedCount());
         }
 
-        // Calculate scores and normalize
-        List<ScoredVideo> scoredVideos = filtered.stream()
-                .map(this::calculateRawScores)
-                .collect(Collectors.toList());
-
-        // Normalize scores within the candidate set
-        normalizeScores(scoredVideos);
-
-        // Sort by final score and convert back
-        List<YoutubeVideoResult> ranked = scoredVideos.stream()
-                .sorted((a, b) -> Double.compare(b.finalScore, a.finalScore))
-                .map(sv -> new YoutubeVideoResult(
-                        sv.video.videoId(),
-                        sv.video.title(),
-                        sv.video.channelTitle(),
-                        sv.video.publishedAt(),
-                        sv.video.url(),
-                        sv.video.viewCount(),
-                        sv.video.likeCount(),
-                        sv.video.commentCount(),
-                        sv.video.durationSeconds(),
-                        sv.video.subscriberCount(),
-                        sv.finalScore
-                ))
-                .collect(Collectors.toList());
-
         // Log top 5 for debugging
         logTopVideos(ranked);
 
         return ranked;
     }
 
-    private boolean passesQualityFilters(YoutubeVideoResult video, String domain) {
+    /**
+     * Incremental ranker: candidates are offered page by page, quality-filtered on the way in,
+     * and min/max normalization runs once over the final population when {@link Ranker#topK()}
+     * is called. Only the best K are selected (bounded heap), the rest are never sorted.
+     * Near-duplicates of a better-scored candidate (re-uploads, title variants) are skipped.
+     */
+    public Ranker newRanker(String domain, int k) {
+        return newRanker(domain, null, null, k);
+    }
+
+    /**
+     * The spam profile for a tenant's rankings: the tenant when it has its own phrase list, else null.
+     */
+    public String spamProfile(String tenant) {
+        return spamPatterns.profileFor(tenant);
+    }
+
+    /**
+     * Ranker applying the spam phrases of the given tenant profile and language.
+     */
+    public Ranker newRanker(String domain, String spamProfile, String language, int k) {
+        SpamPatternMatcher spamMatcher = spamPatterns.matcher(spamProfile, language);
+        return new Ranker(k, spamMatcher, spamMatcher.domainMask(domain), clock.instant());
+    }
+
+    /**
+     * Candidates are kept as primitive columns. Each publishedAt is parsed once, against one
+     * clock reading taken when the ranker is created; min/max run in a single pass and the
+     * top K come from a bounded heap of row indices. Scores are bit-for-bit those of the
+     * per-object formula.
+     *
+     * With near-duplicate detection on, rows are instead popped best first from a heap of all
+     * candidates and kept unless they near-duplicate a row kept before, until K are kept; only
+     * the popped rows get a signature. Scores are still normalized over all candidates.
+     */
+    public final class Ranker {
+        private final int k;
+        private final SpamPatternMatcher spamMatcher;
+        private final long spamExemptions;
+        private final long nowSecond;
+        private final int nowNano;
+        private YoutubeVideoResult[] videos = new YoutubeVideoResult[0];
+        private double[] velocity = new double[0];
+        private double[] engagementRate = new double[0];
+        private double[] viewCount = new double[0];
+        private double[] channelBoost = new double[0];
+        private double[] durationPenalty = new double[0];
+        private double[] finalScore = new double[0];
+        private int size;
+        private int offeredCount;
+        private int collapsedCount;
+        private final NearDuplicateDetector.Index offeredDistinct;
+        private int distinctCount;
+
+        private Ranker(int k, SpamPatternMatcher spamMatcher, long spamExemptions, Instant now) {
+            this.k = k;
+            this.spamMatcher = spamMatcher;
+            this.spamExemptions = spamExemptions;
+            this.nowSecond = now.getEpochSecond();
+            this.nowNano = now.getNano();
+            this.offeredDistinct = nearDuplicates != null ? nearDuplicates.newIndex() : null;
+        }
+
+        public Ranker offer(List<YoutubeVideoResult> page) {
+            ensureCapacity(size + page.size());
+            for (YoutubeVideoResult video : page) {
+                offeredCount++;
+                long daysSincePublish = daysSincePublish(video.publishedAt(), nowSecond, nowNano);
+                // Filter out obvious low-quality videos
+                if (!passesQualityFilters(video, daysSincePublish, spamMatcher, spamExemptions)) {
+                    continue;
+                }
+                long views = video.viewCount() != null ? video.viewCount() : 0;
+                int row = size++;
+                videos[row] = video;
+                velocity[row] = views / (double) Math.max(1, daysSincePublish);
+                engagementRate[row] = calculateEngagementRate(video);
+                viewCount[row] = views;
+                channelBoost[row] = Math.log10((video.subscriberCount() != null ? video.subscriberCount() : 0) + 10);
+                durationPenalty[row] = calculateDurationPenalty(video.durationSeconds());
+                if (offeredDistinct == null || offeredDistinct.addIfDistinct(video.title(), video.channelTitle())) {
+                    distinctCount++;
+                }
+            }
+            return this;
+        }
+
+        public int offeredCount() {
+            return offeredCount;
+        }
+
+        /**
+         * Candidates that passed the quality filters so far.
+         */
+        public int candidateCount() {
+            return size;
+        }
+
+        /**
+         * Candidates that are not near-duplicates of one offered before, i.e. about how many
+         * {@link #topK()} can return; the same as {@link #candidateCount()} with detection off.
+         */
+        public int distinctCandidateCount() {
+            return distinctCount;
+        }
+
+        /**
+         * Candidates left out of the last {@link #topK()} as near-duplicates of a better one.
+         */
+        public int collapsedCount() {
+            return collapsedCount;
+        }
+
+        public List<YoutubeVideoResult> topK() {
+            if (size == 0 || k <= 0) {
+                return List.of();
+            }
+
+            // Normalize scores within the final candidate set
+            normalizeScores();
+
+            int[] selected = nearDuplicates != null ? selectDistinctTopK() : selectTopK();
+            List<YoutubeVideoResult> ranked = new ArrayList<>(selected.length);
+            for (int row : selected) {
+                YoutubeVideoResult video = videos[row];
+                ranked.add(new YoutubeVideoResult(
+                        video.videoId(),
+                        video.title(),
+                        video.channelTitle(),
+                        video.publishedAt(),
+                        video.url(),
+                        video.viewCount(),
+                        video.likeCount(),
+                        video.commentCount(),
+                        video.durationSeconds(),
+                        video.subscriberCount(),
+                        finalScore[row]
+                ));
+            }
+            return ranked;
+        }
+
+        private void normalizeScores() {
+            if (size == 1) {
+                finalScore[0] = 1.0;
+                return;
+            }
+
+            // All min/max in one pass
+            double minVelocity = velocity[0], maxVelocity = velocity[0];
+            double minEngagement = engagementRate[0], maxEngagement = engagementRate[0];
+            double minViews = viewCount[0], maxViews = viewCount[0];
+            double minChannel = channelBoost[0], maxChannel = channelBoost[0];
+            for (int i = 1; i < size; i++) {
+                minVelocity = Math.min(minVelocity, velocity[i]);
+                maxVelocity = Math.max(maxVelocity, velocity[i]);
+                minEngagement = Math.min(minEngagement, engagementRate[i]);
+                maxEngagement = Math.max(maxEngagement, engagementRate[i]);
+                minViews = Math.min(minViews, viewCount[i]);
+                maxViews = Math.max(maxViews, viewCount[i]);
+                minChannel = Math.min(minChannel, channelBoost[i]);
+                maxChannel = Math.max(maxChannel, channelBoost[i]);
+            }
+
+            for (int i = 0; i < size; i++) {
+                double normVelocity = normalize(velocity[i], minVelocity, maxVelocity);
+                double normEngagement = normalize(engagementRate[i], minEngagement, maxEngagement);
+                double normViews = normalize(viewCount[i], minViews, maxViews);
+                double normChannel = normalize(channelBoost[i], minChannel, maxChannel);
+
+                finalScore[i] = 0.55 * normVelocity +
+                               0.30 * normEngagement +
+                               0.10 * normViews +
+                               0.05 * normChannel -
+                               durationPenalty[i];
+            }
+        }
+
+        /**
+         * Min-heap of row indices holding the K best; ties go to the earlier row, matching a
+         * stable sort. Returns the rows best first.
+         */
+        private int[] selectTopK() {
+            int[] heap = new int[Math.min(k, size)];
+            int heapSize = 0;
+            for (int row = 0; row < size; row++) {
+                if (heapSize < heap.length) {
+                    heap[heapSize] = row;
+                    siftUp(heap, heapSize++);
+                } else if (worse(heap[0], row)) {
+                    heap[0] = row;
+                    siftDown(heap, heapSize);
+                }
+            }
+            // Drain worst first into the back of the array
+            int[] ranked = new int[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ranked[i] = heap[0];
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize);
+            }
+            return ranked;
+        }
+
+        private int[] selectDistinctTopK() {
+            NearDuplicateDetector.Index distinct = nearDuplicates.newIndex();
+            int[] heap = new int[size];
+            for (int row = 0; row < size; row++) {
+                heap[row] = row;
+            }
+            // Max-heap: a min-heap on the reversed order
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDownBest(heap, i, size);
+            }
+            int heapSize = size;
+            int[] ranked = new int[Math.min(k, size)];
+            int count = 0;
+            collapsedCount = 0;
+            while (count < ranked.length && heapSize > 0) {
+                int row = heap[0];
+                heap[0] = heap[--heapSize];
+                siftDownBest(heap, 0, heapSize);
+                if (distinct.addIfDistinct(videos[row].title(), videos[row].channelTitle())) {
+                    ranked[count++] = row;
+                } else {
+                    collapsedCount++;
+                }
+            }
+            return count == ranked.length ? ranked : Arrays.copyOf(ranked, count);
+        }
+
+        private void siftDownBest(int[] heap, int i, int heapSize) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= heapSize) return;
+                int child = left + 1 < heapSize && worse(heap[left], heap[left + 1]) ? left + 1 : left;
+                if (!worse(heap[i], heap[child])) return;
+                int tmp = heap[i]; heap[i] = heap[child]; heap[child] = tmp;
+                i = child;
+            }
+        }
+
+        private boolean worse(int a, int b) {
+            int byScore = Double.compare(finalScore[a], finalScore[b]);
+            return byScore != 0 ? byScore < 0 : a > b;
+        }
+
+        private void siftUp(int[] heap, int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(heap[i], heap[parent])) return;
+                int tmp = heap[i]; heap[i] = heap[parent]; heap[parent] = tmp;
+                i = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int heapSize) {
+            int i = 0;
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= heapSize) return;
+                int child = left + 1 < heapSize && worse(heap[left + 1], heap[left]) ? left + 1 : left;
+                if (!worse(heap[child], heap[i])) return;
+                int tmp = heap[i]; heap[i] = heap[child]; heap[child] = tmp;
+                i = child;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= videos.length) return;
+            int grown = Math.max(capacity, videos.length * 2);
+            videos = Arrays.copyOf(videos, grown);
+            velocity = Arrays.copyOf(velocity, grown);
+            engagementRate = Arrays.copyOf(engagementRate, grown);
+            viewCount = Arrays.copyOf(viewCount, grown);
+            channelBoost = Arrays.copyOf(channelBoost, grown);
+            durationPenalty = Arrays.copyOf(durationPenalty, grown);
+            finalScore = Arrays.copyOf(finalScore, grown);
+        }
+    }
+
+    private boolean passesQualityFilters(YoutubeVideoResult video, long daysSincePublish,
+                                         SpamPatternMatcher spamMatcher, long spamExemptions) {
         long viewCount = video.viewCount() != null ? video.viewCount() : 0;
         long likeCount = video.likeCount() != null ? video.likeCount() : 0;
-        long daysSincePublish = calculateDaysSincePublish(video.publishedAt());
 
         // Filter 1: Minimum view count (unless very recent with high engagement)
         if (viewCount < minViewCountThreshold) {
@@ -107,46 +376,13 @@ public class VideoQualityScorer {
         }
 
         // Filter 3: Spam title detection (unless domain-related)
-        if (containsSpamPatterns(video.title(), domain)) {
+        if (spamMatcher.matches(video.title(), spamExemptions)) {
             return false;
         }
 
         return true;
     }
 
-    private boolean containsSpamPatterns(String title, String domain) {
-        if (title == null) return false;
-        
-        String lowerTitle = title.toLowerCase();
-        String lowerDomain = domain != null ? domain.toLowerCase() : "";
-
-        for (String pattern : spamPatterns) {
-            if (lowerTitle.contains(pattern.trim())) {
-                // Allow if domain is related to the pattern
-                if (lowerDomain.contains("crypto") && pattern.contains("crypto")) {
-                    continue;
-                }
-                if (lowerDomain.contains("giveaway") && pattern.contains("giveaway")) {
-                    continue;
-                }
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private ScoredVideo calculateRawScores(YoutubeVideoResult video) {
-        long daysSincePublish = Math.max(1, calculateDaysSincePublish(video.publishedAt()));
-        long viewCount = video.viewCount() != null ? video.viewCount() : 0;
-        
-        double velocity = viewCount / (double) daysSincePublish;
-        double engagementRate = calculateEngagementRate(video);
-        double channelBoost = Math.log10((video.subscriberCount() != null ? video.subscriberCount() : 0) + 10);
-        double durationPenalty = calculateDurationPenalty(video.durationSeconds());
-
-        return new ScoredVideo(video, velocity, engagementRate, viewCount, channelBoost, durationPenalty, 0.0);
-    }
-
     private double calculateEngagementRate(YoutubeVideoResult video) {
         long viewCount = Math.max(1, video.viewCount() != null ? video.viewCount() : 1);
         long likeCount = video.likeCount() != null ? video.likeCount() : 0;
@@ -169,48 +405,90 @@ public class VideoQualityScorer {
         return 0.02; // Slight penalty for other durations
     }
 
-    private long calculateDaysSincePublish(String publishedAt) {
+    /**
+     * Whole days between publishedAt and now, truncated toward zero like
+     * ChronoUnit.DAYS.between; 30 when unknown or unparseable.
+     */
+    static long daysSincePublish(String publishedAt, long nowSecond, int nowNano) {
         if (publishedAt == null) return 30; // Default to 30 days if unknown
-        
-        try {
-            OffsetDateTime published = OffsetDateTime.parse(publishedAt);
-            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-            return ChronoUnit.DAYS.between(published, now);
-        } catch (Exception e) {
-            log.warn("Failed to parse publishedAt: {}", publishedAt);
-            return 30;
+
+        long publishedSecond;
+        int publishedNano = 0;
+        long fast = parseUtcSeconds(publishedAt);
+        if (fast != Long.MIN_VALUE) {
+            publishedSecond = fast;
+        } else {
+            try {
+                OffsetDateTime published = OffsetDateTime.parse(publishedAt);
+                publishedSecond = published.toEpochSecond();
+                publishedNano = published.getNano();
+            } catch (Exception e) {
+                log.warn("Failed to parse publishedAt: {}", publishedAt);
+                return 30;
+            }
         }
+
+        long seconds = nowSecond - publishedSecond;
+        int nanos = nowNano - publishedNano;
+        if (nanos < 0) {
+            seconds--;
+            nanos += 1_000_000_000;
+        }
+        if (seconds >= 0) {
+            return seconds / SECONDS_PER_DAY;
+        }
+        // Published in the future: truncate toward zero
+        return -((-seconds - (nanos > 0 ? 1 : 0)) / SECONDS_PER_DAY);
     }
 
-    private void normalizeScores(List<ScoredVideo> scoredVideos) {
-        if (scoredVideos.size() <= 1) {
-            scoredVideos.forEach(sv -> sv.finalScore = 1.0);
-            return;
+    /**
+     * Fast path for YouTube's "yyyy-MM-ddTHH:mm:ssZ"; Long.MIN_VALUE for anything else
+     * (offsets, fractions, invalid dates), which goes through OffsetDateTime.parse.
+     */
+    static long parseUtcSeconds(String s) {
+        if (s.length() != 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                || s.charAt(13) != ':' || s.charAt(16) != ':' || s.charAt(19) != 'Z') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
         }
+        return epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
 
-        // Find min/max for each metric
-        double minVelocity = scoredVideos.stream().mapToDouble(sv -> sv.velocity).min().orElse(0);
-        double maxVelocity = scoredVideos.stream().mapToDouble(sv -> sv.velocity).max().orElse(1);
-        double minEngagement = scoredVideos.stream().mapToDouble(sv -> sv.engagementRate).min().orElse(0);
-        double maxEngagement = scoredVideos.stream().mapToDouble(sv -> sv.engagementRate).max().orElse(1);
-        double minViews = scoredVideos.stream().mapToDouble(sv -> sv.viewCount).min().orElse(0);
-        double maxViews = scoredVideos.stream().mapToDouble(sv -> sv.viewCount).max().orElse(1);
-        double minChannel = scoredVideos.stream().mapToDouble(sv -> sv.channelBoost).min().orElse(0);
-        double maxChannel = scoredVideos.stream().mapToDouble(sv -> sv.channelBoost).max().orElse(1);
-
-        // Calculate final scores
-        for (ScoredVideo sv : scoredVideos) {
-            double normVelocity = normalize(sv.velocity, minVelocity, maxVelocity);
-            double normEngagement = normalize(sv.engagementRate, minEngagement, maxEngagement);
-            double normViews = normalize(sv.viewCount, minViews, maxViews);
-            double normChannel = normalize(sv.channelBoost, minChannel, maxChannel);
-
-            sv.finalScore = 0.55 * normVelocity + 
-                           0.30 * normEngagement + 
-                           0.10 * normViews + 
-                           0.05 * normChannel - 
-                           sv.durationPenalty;
+    private static int digits(String s, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
         }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Days from civil date (proleptic Gregorian), as in LocalDate.toEpochDay
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
     }
 
     private double normalize(double value, double min, double max) {
@@ -220,11 +498,12 @@ public class VideoQualityScorer {
 
     private void logTopVideos(List<YoutubeVideoResult> ranked) {
         int topCount = Math.min(5, ranked.size());
+        Instant now = clock.instant();
         log.info("Top {} videos after quality scoring:", topCount);
         
         for (int i = 0; i < topCount; i++) {
             YoutubeVideoResult video = ranked.get(i);
-            long daysSincePublish = calculateDaysSincePublish(video.publishedAt());
+            long daysSincePublish = daysSincePublish(video.publishedAt(), now.getEpochSecond(), now.getNano());
             double velocity = video.viewCount() != null ? video.viewCount() / Math.max(1.0, daysSincePublish) : 0;
             double engagementRate = calculateEngagementRate(video);
             
@@ -242,25 +521,4 @@ public class VideoQualityScorer {
             );
         }
     }
-
-    private static class ScoredVideo {
-        final YoutubeVideoResult video;
-        final double velocity;
-        final double engagementRate;
-        final double viewCount;
-        final double channelBoost;
-        final double durationPenalty;
-        double finalScore;
-
-        ScoredVideo(YoutubeVideoResult video, double velocity, double engagementRate, 
-                   double viewCount, double channelBoost, double durationPenalty, double finalScore) {
-            this.video = video;
-            this.velocity = velocity;
-            this.engagementRate = engagementRate;
-            this.viewCount = viewCount;
-            this.channelBoost = channelBoost;
-            this.durationPenalty = durationPenalty;
-            this.finalScore = finalScore;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,280 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import com.aivideocoach.youtube.model.YoutubeVideosResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Per-videoId cache of decoded video details (snippet, statistics, duration).
+ * Ranking requests read from here and only call videos.list for missing IDs.
+ * A background job refreshes entries whose refresh interval has elapsed, in
+ * 50-ID batches; the interval depends on the video's age and view velocity.
+ * Fetched details are also written to the {@link VideoMetadataStore}, which warms the
+ * cache on startup, and to the {@link LocalVideoIndex}, which mirrors the cached videos.
+ */
+@Service
+public class VideoStatisticsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoStatisticsCache.class);
+
+    private static final int MAX_IDS_PER_VIDEOS_CALL = 50;
+
+    private final YouTubeClient youTubeClient;
+    private final YouTubeDurationParser durationParser;
+    private final YouTubeProperties props;
+    private final VideoMetadataStore store;
+    private final LocalVideoIndex localIndex;
+    private final Cache<String, Entry> entries;
+    private final LongSupplier clock;
+
+    @Autowired
+    public VideoStatisticsCache(YouTubeClient youTubeClient,
+                                YouTubeDurationParser durationParser,
+                                YouTubeProperties props,
+                                VideoMetadataStore store,
+                                LocalVideoIndex localIndex) {
+        this(youTubeClient, durationParser, props, store, localIndex, System::currentTimeMillis);
+    }
+
+    VideoStatisticsCache(YouTubeClient youTubeClient, YouTubeDurationParser durationParser, YouTubeProperties props,
+                         VideoMetadataStore store, LocalVideoIndex localIndex, LongSupplier clock) {
+        this.clock = clock;
+        this.youTubeClient = youTubeClient;
+        this.durationParser = durationParser;
+        this.props = props;
+        this.store = store;
+        this.localIndex = localIndex;
+        // Videos nobody asks for again fall out after the idle period, and out of the local index with them
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(props.getVideoStatsMaxSize())
+                .expireAfterAccess(props.getVideoStatsIdleExpiry())
+                .<String, Entry>evictionListener((id, entry, cause) -> localIndex.remove(id))
+                .build();
+        warmFromStore();
+    }
+
+    /**
+     * Restores entries persisted before the last shutdown. Refresh times follow from the stored
+     * fetch time, so stale entries are picked up by the next refresh run.
+     */
+    private void warmFromStore() {
+        if (!store.isEnabled()) return;
+        long started = System.currentTimeMillis();
+        List<VideoMetadataStore.StoredVideo> stored = store.videos(props.getVideoStatsIdleExpiry().toMillis());
+        for (VideoMetadataStore.StoredVideo video : stored) {
+            entries.put(video.video().videoId(), Entry.of(video.video(), video.fetchedAtMillis()));
+        }
+        localIndex.addAll(stored.stream().map(VideoMetadataStore.StoredVideo::video).collect(Collectors.toList()));
+        log.info("VIDEO_STATS_WARMED: entries={}, elapsed={}ms", stored.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Returns details for the given IDs in request order. Cached entries are used as-is
+     * (the scheduler keeps them fresh); only missing IDs hit the API, and a failed
+     * videos.list call fails the whole lookup.
+     */
+    public Mono<List<EnrichedVideoData>> getVideos(String correlationId, List<String> videoIds) {
+        Map<String, Entry> cached = entries.getAllPresent(videoIds);
+        List<String> missing = videoIds.stream()
+                .filter(id -> !cached.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+
+        log.info("[{}] VIDEO_STATS_CACHE: requested={}, cached={}, fetching={}",
+                correlationId, videoIds.size(), cached.size(), missing.size());
+
+        if (missing.isEmpty()) {
+            return Mono.just(inRequestOrder(videoIds, cached, Map.of()));
+        }
+
+        return fetchVideos(missing)
+                .map(fetched -> {
+                    long now = clock.getAsLong();
+                    Map<String, EnrichedVideoData> byId = new HashMap<>();
+                    for (EnrichedVideoData video : fetched) {
+                        byId.put(video.videoId(), video);
+                        entries.put(video.videoId(), Entry.of(video, now));
+                    }
+                    store.appendVideosAsync(fetched, now);
+                    localIndex.addAll(fetched);
+                    return inRequestOrder(videoIds, cached, byId);
+                })
+                // Propagated: a ranking built without these details must not be cached
+                .doOnError(e -> log.error("[{}] VIDEOS_ERROR: {}", correlationId, e.getMessage()));
+    }
+
+    @Scheduled(fixedDelayString = "${youtube.video-stats-refresh-check-interval:PT1M}",
+               initialDelayString = "${youtube.video-stats-refresh-check-interval:PT1M}")
+    public void refreshDueEntries() {
+        long now = clock.getAsLong();
+        int maxIds = props.getVideoStatsRefreshBatchesPerRun() * MAX_IDS_PER_VIDEOS_CALL;
+
+        // Most overdue first, bounded per run so a backlog cannot burn the quota in one go
+        List<String> due = entries.asMap().values().stream()
+                .filter(entry -> entry.nextRefreshAtMillis() <= now)
+                .sorted(Comparator.comparingLong(Entry::nextRefreshAtMillis))
+                .limit(maxIds)
+                .map(entry -> entry.video().videoId())
+                .collect(Collectors.toList());
+
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<List<String>> batches = YouTubeApiUtils.partition(due, MAX_IDS_PER_VIDEOS_CALL);
+        log.info("VIDEO_STATS_REFRESH: due={}, batches={}", due.size(), batches.size());
+
+        Flux.fromIterable(batches)
+                .concatMap(batch -> fetchVideos(batch)
+                        .doOnNext(fetched -> applyRefresh(batch, fetched))
+                        .onErrorResume(e -> {
+                            log.warn("VIDEO_STATS_REFRESH_ERROR: batch={}, error={}", batch.size(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .then()
+                .contextWrite(YouTubeQuotaManager.backgroundContext())
+                .block(youTubeClient.maxCallDuration(YouTubeQuotaManager.Operation.VIDEOS_LIST).multipliedBy(batches.size()));
+    }
+
+    private void applyRefresh(List<String> batch, List<EnrichedVideoData> fetched) {
+        long now = clock.getAsLong();
+        Set<String> returned = new HashSet<>();
+        List<EnrichedVideoData> refreshed = new ArrayList<>();
+        for (EnrichedVideoData video : fetched) {
+            returned.add(video.videoId());
+            // Only update entries still cached; do not resurrect evicted ones
+            if (entries.asMap().computeIfPresent(video.videoId(), (id, old) -> Entry.of(video, now)) != null) {
+                refreshed.add(video);
+            }
+        }
+        store.appendVideosAsync(refreshed, now);
+        localIndex.addAll(refreshed);
+        // Deleted or private videos are no longer returned by videos.list
+        List<String> gone = new ArrayList<>();
+        for (String id : batch) {
+            if (!returned.contains(id)) {
+                entries.invalidate(id);
+                localIndex.remove(id);
+                gone.add(id);
+            }
+        }
+        store.removeVideosAsync(gone);
+    }
+
+    /**
+     * Fresh or fast-growing videos change quickly; old, stable ones barely move.
+     */
+    static Duration refreshInterval(long ageDays, double viewsPerDay) {
+        if (ageDays < 2 || viewsPerDay >= 50_000) return Duration.ofMinutes(15);
+        if (ageDays < 7 || viewsPerDay >= 5_000) return Duration.ofHours(1);
+        if (ageDays < 30 || viewsPerDay >= 500) return Duration.ofHours(6);
+        return Duration.ofHours(24);
+    }
+
+    private Mono<List<EnrichedVideoData>> fetchVideos(List<String> videoIds) {
+        return youTubeClient.listVideos(videoIds)
+                .map(this::convertToVideoData);
+    }
+
+    private static List<EnrichedVideoData> inRequestOrder(List<String> videoIds,
+                                                          Map<String, Entry> cached,
+                                                          Map<String, EnrichedVideoData> fetched) {
+        List<EnrichedVideoData> results = new ArrayList<>();
+        for (String id : videoIds) {
+            Entry entry = cached.get(id);
+            EnrichedVideoData video = entry != null ? entry.video() : fetched.get(id);
+            if (video != null) {
+                results.add(video);
+            }
+        }
+        return results;
+    }
+
+    private List<EnrichedVideoData> convertToVideoData(YoutubeVideosResponse videosResponse) {
+        List<EnrichedVideoData> results = new ArrayList<>();
+        if (videosResponse.items() != null) {
+            for (var item : videosResponse.items()) {
+                EnrichedVideoData video = toEnrichedVideoData(item);
+                if (video != null) {
+                    results.add(video);
+                }
+            }
+        }
+        return results;
+    }
+
+    private EnrichedVideoData toEnrichedVideoData(YoutubeVideosResponse.Item item) {
+        if (item == null || item.id() == null) return null;
+        
+        String title = item.snippet() != null ? item.snippet().title() : "";
+        String channelTitle = item.snippet() != null ? item.snippet().channelTitle() : "";
+        String channelId = item.snippet() != null ? item.snippet().channelId() : null;
+        String publishedAt = item.snippet() != null ? item.snippet().publishedAt() : "";
+        String url = "https://www.youtube.com/watch?v=" + item.id();
+        
+        Long viewCount = YouTubeApiUtils.parseLongSafe(item.statistics() != null ? item.statistics().viewCount() : null);
+        Long likeCount = YouTubeApiUtils.parseLongSafe(item.statistics() != null ? item.statistics().likeCount() : null);
+        Long commentCount = YouTubeApiUtils.parseLongSafe(item.statistics() != null ? item.statistics().commentCount() : null);
+        
+        // Unknown durations stay null: scoring must not mistake them for Shorts
+        Integer durationSeconds = null;
+        if (item.contentDetails() != null && item.contentDetails().duration() != null) {
+            int parsed = durationParser.parseSeconds(item.contentDetails().duration());
+            if (parsed == YouTubeDurationParser.INVALID) {
+                log.debug("INVALID_DURATION: videoId={}, duration={}", item.id(), item.contentDetails().duration());
+            } else {
+                durationSeconds = parsed;
+            }
+        }
+        
+        return new EnrichedVideoData(
+                item.id(), title, channelTitle, channelId, publishedAt, url,
+                viewCount != null ? viewCount : 0L,
+                likeCount != null ? likeCount : 0L,
+                commentCount != null ? commentCount : 0L,
+                durationSeconds,
+                0L
+        );
+    }
+
+    record Entry(EnrichedVideoData video, long fetchedAtMillis, long nextRefreshAtMillis) {
+
+        static Entry of(EnrichedVideoData video, long now) {
+            long ageDays = ageDays(video.publishedAt(), now);
+            double viewsPerDay = (video.viewCount() != null ? video.viewCount() : 0) / (double) Math.max(1, ageDays);
+            return new Entry(video, now, now + refreshInterval(ageDays, viewsPerDay).toMillis());
+        }
+
+        private static long ageDays(String publishedAt, long now) {
+            if (publishedAt == null || publishedAt.isBlank()) return 30;
+            try {
+                long publishedMillis = OffsetDateTime.parse(publishedAt).toInstant().toEpochMilli();
+                return Math.max(0, Duration.ofMillis(now - publishedMillis).toDays());
+            } catch (Exception e) {
+                return 30;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.aivideocoach.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tokenizer for video titles and queries in English and Hebrew.
+ *
+ * Text is split on anything that is not a letter or digit and lowercased. English words get
+ * a minimal plural stemmer. Hebrew words lose niqqud and cantillation marks, final letter
+ * forms are folded (ם→מ etc.), and a word starting with a one-letter prefix (ו, ה, ב, ל, מ,
+ * ש, כ) also yields the unprefixed form, so "בכושר" matches "כושר".
+ */
+final class VideoTextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "how", "in", "is", "it",
+            "of", "on", "or", "the", "this", "to", "with", "you", "your", "my",
+            "של", "את", "על", "עם", "זה", "זו", "איך", "מה", "גם", "או", "כל", "לא", "יש");
+
+    private static final String HEBREW_PREFIXES = "והבלמשכ";
+
+    private VideoTextAnalyzer() {}
+
+    /**
+     * One entry per word; each entry holds the word's index terms (one, or two for a prefixed
+     * Hebrew word).
+     */
+    static List<String[]> analyze(String text) {
+        List<String[]> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (isSkipped(cp)) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(cp)) {
+                word.appendCodePoint(foldHebrewFinal(Character.toLowerCase(cp)));
+            } else if (word.length() > 0) {
+                addWord(words, word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            addWord(words, word.toString());
+        }
+        return words;
+    }
+
+    /**
+     * Flat list of index terms, for documents.
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String[] variants : analyze(text)) {
+            for (String term : variants) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static void addWord(List<String[]> words, String word) {
+        if (STOP_WORDS.contains(word) || (word.length() < 2 && !Character.isDigit(word.charAt(0)))) {
+            return;
+        }
+        if (isHebrew(word.charAt(0))) {
+            if (word.length() >= 4 && HEBREW_PREFIXES.indexOf(word.charAt(0)) >= 0) {
+                words.add(new String[]{word, word.substring(1)});
+            } else {
+                words.add(new String[]{word});
+            }
+        } else {
+            words.add(new String[]{stemEnglish(word)});
+        }
+    }
+
+    /**
+     * Plural-only stemming after Lucene's EnglishMinimalStemmer: "tips" → "tip",
+     * "stories" → "story", while "focus" and "class" stay as they are.
+     */
+    static String stemEnglish(String word) {
+        int len = word.length();
+        if (len < 3 || word.charAt(len - 1) != 's') {
+            return word;
+        }
+        switch (word.charAt(len - 2)) {
+            case 'u', 's':
+                return word;
+            case 'e':
+                if (len > 3 && word.charAt(len - 3) == 'i' && word.charAt(len - 4) != 'a' && word.charAt(len - 4) != 'e') {
+                    return word.substring(0, len - 3) + "y";
+                }
+                char before = word.charAt(len - 3);
+                if (before == 'i' || before == 'a' || before == 'o' || before == 'e') {
+                    return word;
+                }
+                return word.substring(0, len - 1);
+            default:
+                return word.substring(0, len - 1);
+        }
+    }
+
+    // Niqqud / cantillation (except the maqaf hyphen), geresh, gershayim and apostrophes
+    // are dropped inside words: צה"ל → צהל, don't → dont
+    private static boolean isSkipped(int cp) {
+        return (cp >= 0x0591 && cp <= 0x05C7 && cp != 0x05BE && cp != 0x05C0 && cp != 0x05C3 && cp != 0x05C6)
+                || cp == 0x05F3 || cp == 0x05F4 || cp == '\'' || cp == '"' || cp == 0x2019;
+    }
+
+    private static boolean isHebrew(char c) {
+        return c >= 0x05D0 && c <= 0x05EA;
+    }
+
+    private static int foldHebrewFinal(int cp) {
+        return switch (cp) {
+            case 'ך' -> 'כ';
+            case 'ם' -> 'מ';
+            case 'ן' -> 'נ';
+            case 'ף' -> 'פ';
+            case 'ץ' -> 'צ';
+            default -> cp;
+        };
+    }
+}
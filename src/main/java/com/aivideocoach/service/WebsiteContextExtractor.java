@@ -1,13 +1,25 @@
 package com.aivideocoach.service;
 
 import com.aivideocoach.agent.dto.WebsiteContext;
+import com.aivideocoach.config.OutboundHttpProperties;
+import com.aivideocoach.http.OutboundHttp;
+import com.aivideocoach.jfr.TraceContext;
+import com.aivideocoach.util.SingleFlight;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.util.StageTimer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.net.URI;
 import java.time.Duration;
@@ -22,8 +34,27 @@ public class WebsiteContextExtractor {
     private static final Pattern HEBREW_PATTERN = Pattern.compile("[\\u0590-\\u05FF]");
     private static final Set<String> COMMON_PATHS = Set.of("/about", "/services", "/products", "/solutions");
 
-    private WebsiteContextExtractor() {
-        // No WebClient needed anymore - using Java HTTP client
+    private final SingleFlight<String, WebsiteContext> extractFlight;
+    private final WebClient webClient;
+    private final OutboundHttp outbound;
+    private final OutboundHttpProperties outboundProps;
+    private final StageTimer extractionTimer;
+    private final Counter fallbacks;
+
+    public WebsiteContextExtractor(SingleFlightRegistry singleFlights,
+                                   @Qualifier("outboundWebClient") WebClient webClient,
+                                   OutboundHttp outbound,
+                                   OutboundHttpProperties outboundProps,
+                                   MeterRegistry meterRegistry) {
+        this.extractFlight = singleFlights.create("website.extractContext");
+        this.webClient = webClient;
+        this.outbound = outbound;
+        this.outboundProps = outboundProps;
+        this.extractionTimer = StageTimer.of(meterRegistry, "website.extraction.duration",
+                "Crawl and analysis of one website, fallbacks included");
+        this.fallbacks = Counter.builder("website.extraction.fallbacks")
+                .description("Extractions answered with the URL-only fallback context")
+                .register(meterRegistry);
     }
 
     public WebsiteContext extractContext(String url) {
@@ -31,26 +62,38 @@ public class WebsiteContextExtractor {
         if (!url.startsWith("http://") && !url.startsWith("https://")) {
             url = "https://" + url;
         }
-        
+
+        // The agent often asks for the same site twice in one turn - share one crawl
+        String targetUrl = url;
+        return extractFlight.executeBlocking(canonicalUrl(targetUrl),
+                () -> extractionTimer.record(() -> crawlAndAnalyze(targetUrl)));
+    }
+
+    private WebsiteContext crawlAndAnalyze(String url) {
         log.info("Extracting website context from: {}", url);
         
         try {
-            // Fetch main page synchronously without blocking reactor threads
-            String mainContent = fetchPageContentSync(url);
-            
-            // Try to fetch additional pages
-            List<String> additionalContent = new ArrayList<>();
+            // Main page plus common sub-pages, fetched concurrently over the shared pool
+            List<String> urls = new ArrayList<>();
+            urls.add(url);
             String baseUrl = extractBaseUrl(url);
-            
             for (String path : COMMON_PATHS) {
-                try {
-                    String additionalUrl = baseUrl + path;
-                    String content = fetchPageContentSync(additionalUrl);
-                    if (content != null && !content.isEmpty()) {
-                        additionalContent.add(content);
-                    }
-                } catch (Exception e) {
-                    // Ignore failures for additional pages
+                urls.add(baseUrl + path);
+            }
+
+            List<String> pages = Flux.fromIterable(urls)
+                    .flatMapSequential(this::fetchPage)
+                    .collectList()
+                    .contextWrite(TraceContext.capture())
+                    .block();
+
+            // Parse on the calling thread, not the event loop
+            String mainContent = extractTextFromHtml(pages.get(0));
+            List<String> additionalContent = new ArrayList<>();
+            for (String html : pages.subList(1, pages.size())) {
+                String content = extractTextFromHtml(html);
+                if (!content.isEmpty()) {
+                    additionalContent.add(content);
                 }
             }
 
@@ -64,33 +107,25 @@ public class WebsiteContextExtractor {
         }
     }
 
-    private String fetchPageContentSync(String url) {
-        try {
-            // Use Java's built-in HTTP client instead of WebClient to avoid reactor issues
-            java.net.http.HttpClient client = java.net.http.HttpClient.newBuilder()
-                    .build();
-            
-            java.net.http.HttpRequest request = java.net.http.HttpRequest.newBuilder()
-                    .uri(java.net.URI.create(url))
-                    .header("User-Agent", "Mozilla/5.0 (compatible; VideoCoachBot/1.0)")
-                    .build();
-            
-            java.net.http.HttpResponse<String> response = client.send(request, 
-                    java.net.http.HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() == 200) {
-                return extractTextFromHtml(response.body());
-            } else {
-                log.debug("HTTP {} for URL: {}", response.statusCode(), url);
-                return "";
-            }
-        } catch (Exception e) {
-            log.debug("Failed to fetch {}: {}", url, e.getMessage());
-            return "";
-        }
+    /**
+     * Raw HTML of one page, or "" on any failure. Bounded by outbound.http.website-timeout
+     * including retries; an unhealthy site fails fast through its circuit breaker.
+     */
+    private Mono<String> fetchPage(String url) {
+        return outbound.execute(OutboundHttp.hostOf(url), webClient.get()
+                        .uri(URI.create(url))
+                        .header("User-Agent", "Mozilla/5.0 (compatible; VideoCoachBot/1.0)")
+                        .retrieve()
+                        .bodyToMono(String.class))
+                .timeout(outboundProps.getWebsiteTimeout())
+                .onErrorResume(e -> {
+                    log.debug("Failed to fetch {}: {}", url, e.getMessage());
+                    return Mono.just("");
+                })
+                .defaultIfEmpty("");
     }
 
-    private String extractTextFromHtml(String html) {
+    String extractTextFromHtml(String html) {
         if (html == null || html.isEmpty()) {
             return "";
         }
@@ -142,7 +177,7 @@ public class WebsiteContextExtractor {
         }
     }
 
-    private WebsiteContext analyzeContent(String content, String url) {
+    WebsiteContext analyzeContent(String content, String url) {
         if (content.isEmpty()) {
             return createFallbackContext(url);
         }
@@ -255,6 +290,17 @@ public class WebsiteContextExtractor {
         return diff.isEmpty() ? List.of("unique approach") : diff;
     }
 
+    private String canonicalUrl(String url) {
+        try {
+            URI uri = URI.create(url.trim());
+            String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT).replaceAll("^www\\.", "") : "";
+            String path = uri.getPath() != null ? uri.getPath().replaceAll("/+$", "") : "";
+            return host + path;
+        } catch (Exception e) {
+            return url.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
     private String extractBaseUrl(String url) {
         try {
             URI uri = URI.create(url);
@@ -265,6 +311,7 @@ public class WebsiteContextExtractor {
     }
 
     private WebsiteContext createFallbackContext(String url) {
+        fallbacks.increment();
         String domain = extractBrandName("", url);
         return new WebsiteContext(
                 domain,
@@ -0,0 +1,32 @@
+package com.aivideocoach.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers shared by the services that call the batched YouTube list endpoints.
+ */
+final class YouTubeApiUtils {
+
+    private YouTubeApiUtils() {
+    }
+
+    /**
+     * Consecutive batches of at most size items, as views of the list.
+     */
+    static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += size) {
+            batches.add(items.subList(i, Math.min(i + size, items.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Statistics come back as decimal strings and are absent when hidden; null when missing or malformed.
+     */
+    static Long parseLongSafe(String s) {
+        if (s == null || s.isBlank()) return null;
+        try { return Long.parseLong(s); } catch (Exception e) { return null; }
+    }
+}
@@ -2,33 +2,91 @@ package com.aivideocoach.service;
 
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
+/**
+ * Parses contentDetails.duration, an ISO 8601 duration: P[nW][nD][T[nH][nM][nS]], e.g. PT4M13S,
+ * PT1H2M10S, P1DT2H3M4S for multi-day streams and P0D for lives that have not started.
+ * Years and months (PnY, PnM) have no fixed length and YouTube does not emit them; they are rejected.
+ *
+ * Single pass over the characters without allocating; runs for every candidate video.
+ */
 @Component
 public class YouTubeDurationParser {
 
-    // YouTube uses ISO 8601 duration format: PT4M13S, PT1H2M10S, etc.
-    private static final Pattern DURATION_PATTERN = Pattern.compile("PT(?:(\\d+)H)?(?:(\\d+)M)?(?:(\\d+)S)?");
+    /** Returned by {@link #parseSeconds} for a missing, malformed or out-of-range duration. */
+    public static final int INVALID = -1;
+
+    private static final int NONE = 0, WEEKS = 1, DAYS = 2, HOURS = 3, MINUTES = 4, SECONDS = 5;
 
     public Integer parseToSeconds(String isoDuration) {
-        if (isoDuration == null || isoDuration.isBlank()) {
-            return null;
-        }
+        int seconds = parseSeconds(isoDuration);
+        return seconds != INVALID ? seconds : null;
+    }
 
-        Matcher matcher = DURATION_PATTERN.matcher(isoDuration);
-        if (!matcher.matches()) {
-            return null;
-        }
+    /**
+     * Total seconds, or {@link #INVALID}. Components must appear in order, at most once each,
+     * and the total must fit in an int.
+     */
+    public int parseSeconds(CharSequence isoDuration) {
+        if (isoDuration == null) return INVALID;
+        int length = isoDuration.length();
+        if (length < 3 || isoDuration.charAt(0) != 'P') return INVALID;
 
-        int hours = parseGroup(matcher.group(1));
-        int minutes = parseGroup(matcher.group(2));
-        int seconds = parseGroup(matcher.group(3));
+        long total = 0;
+        int lastUnit = NONE;
+        boolean time = false;
+        int i = 1;
+        while (i < length) {
+            char c = isoDuration.charAt(i);
+            if (c == 'T') {
+                // One T, followed by at least one time component
+                if (time || i + 1 == length) return INVALID;
+                time = true;
+                i++;
+                continue;
+            }
 
-        return hours * 3600 + minutes * 60 + seconds;
+            int digitsStart = i;
+            long value = 0;
+            while (i < length && (c = isoDuration.charAt(i)) >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE) return INVALID;
+                i++;
+            }
+            if (i == digitsStart || i == length) return INVALID;
+
+            int unit = unit(c, time);
+            if (unit <= lastUnit) return INVALID;
+            lastUnit = unit;
+            total += value * multiplier(unit);
+            if (total > Integer.MAX_VALUE) return INVALID;
+            i++;
+        }
+        return (int) total;
+    }
+
+    private static int unit(char designator, boolean time) {
+        if (time) {
+            return switch (designator) {
+                case 'H' -> HOURS;
+                case 'M' -> MINUTES;
+                case 'S' -> SECONDS;
+                default -> Integer.MIN_VALUE;
+            };
+        }
+        return switch (designator) {
+            case 'W' -> WEEKS;
+            case 'D' -> DAYS;
+            default -> Integer.MIN_VALUE;
+        };
     }
 
-    private int parseGroup(String group) {
-        return group != null ? Integer.parseInt(group) : 0;
+    private static long multiplier(int unit) {
+        return switch (unit) {
+            case WEEKS -> 7 * 86_400L;
+            case DAYS -> 86_400L;
+            case HOURS -> 3_600L;
+            case MINUTES -> 60L;
+            default -> 1L;
+        };
     }
-}
\ No newline at end of file
+}
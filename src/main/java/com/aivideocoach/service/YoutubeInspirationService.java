@@ -1,28 +1,42 @@
 package com.aivideocoach.service;
 
+import com.aivideocoach.config.InspirationCacheProperties;
+import com.aivideocoach.config.LocalSearchProperties;
 import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.jfr.ScoringEvent;
+import com.aivideocoach.jfr.TraceContext;
+import com.aivideocoach.util.SingleFlight;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.util.StageTimer;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaExceededException;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import com.aivideocoach.youtube.YouTubeSearchQuery;
+import com.aivideocoach.youtube.dto.YoutubeInspirationProgressEvent;
 import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
 import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
 import com.aivideocoach.youtube.dto.YoutubeVideoResult;
 import com.aivideocoach.youtube.model.YoutubeSearchResponse;
-import com.aivideocoach.youtube.model.YoutubeVideosResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,85 +44,405 @@ public class YoutubeInspirationService {
 
     private static final Logger log = LoggerFactory.getLogger(YoutubeInspirationService.class);
     
-    private static final int WINDOW_DAYS = 30;
+    static final int WINDOW_DAYS = 30;
     private static final int SEARCH_MAX_RESULTS = 25;
     private static final int TOP_N = 10;
+    private static final int MAX_IDS_PER_VIDEOS_CALL = 50;
 
     private final YouTubeProperties props;
     private final VideoQualityScorer qualityScorer;
-    private final YouTubeDurationParser durationParser;
-    private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final YouTubeClient youTubeClient;
+    private final YouTubeQuotaManager quotaManager;
+    private final ChannelStatisticsService channelStatisticsService;
+    private final VideoStatisticsCache videoStatisticsCache;
+    private final InspirationResultCache resultCache;
+    private final TrendingIndex trendingIndex;
+    private final LocalVideoIndex localIndex;
+    private final LocalSearchProperties localSearchProps;
+    private final SingleFlight<InspirationCacheKey, YoutubeInspirationResponse> topVideosFlight;
+
+    // Per-stage latency histograms; the log lines carry the same stages per correlation ID
+    private final StageTimer requestTimer;
+    private final StageTimer searchTimer;
+    private final StageTimer detailsTimer;
+    private final StageTimer channelsTimer;
+    private final StageTimer filterTimer;
+    private final StageTimer rankTimer;
+    private final DistributionSummary candidatesOffered;
+    private final DistributionSummary candidatesPassed;
+    private final DistributionSummary candidatesCollapsed;
 
     public YoutubeInspirationService(YouTubeProperties props,
+                                     InspirationCacheProperties cacheProps,
                                      VideoQualityScorer qualityScorer,
-                                     YouTubeDurationParser durationParser) {
+                                     YouTubeClient youTubeClient,
+                                     YouTubeQuotaManager quotaManager,
+                                     ChannelStatisticsService channelStatisticsService,
+                                     VideoStatisticsCache videoStatisticsCache,
+                                     TrendingIndex trendingIndex,
+                                     LocalVideoIndex localIndex,
+                                     LocalSearchProperties localSearchProps,
+                                     SingleFlightRegistry singleFlights,
+                                     MeterRegistry meterRegistry) {
         this.props = props;
         this.qualityScorer = qualityScorer;
-        this.durationParser = durationParser;
-        this.httpClient = HttpClient.newHttpClient();
-        this.objectMapper = new ObjectMapper();
+        this.youTubeClient = youTubeClient;
+        this.quotaManager = quotaManager;
+        this.channelStatisticsService = channelStatisticsService;
+        this.videoStatisticsCache = videoStatisticsCache;
+        this.trendingIndex = trendingIndex;
+        this.localIndex = localIndex;
+        this.localSearchProps = localSearchProps;
+        this.resultCache = cacheProps.isEnabled()
+                ? new InspirationResultCache(cacheProps,
+                        key -> computeTopVideos(newCorrelationId(), key.toRequest(), key.windowDays(), key.spamProfile(), true))
+                : null;
+        this.topVideosFlight = singleFlights.create("inspiration.topVideos");
+
+        this.requestTimer = StageTimer.of(meterRegistry, "inspiration.request.duration",
+                "End-to-end top videos request, cache and trending hits included");
+        this.searchTimer = StageTimer.of(meterRegistry, "inspiration.search.duration", "One search.list query");
+        this.detailsTimer = StageTimer.of(meterRegistry, "inspiration.details.duration",
+                "Video details for one page, per-video cache included");
+        this.channelsTimer = StageTimer.of(meterRegistry, "inspiration.channels.duration",
+                "Channel subscriber counts for one page");
+        this.filterTimer = StageTimer.of(meterRegistry, "inspiration.scoring.duration",
+                "Quality filters and column fill for one page", "phase", "filter");
+        this.rankTimer = StageTimer.of(meterRegistry, "inspiration.scoring.duration",
+                "Normalization and top-N selection", "phase", "rank");
+        this.candidatesOffered = candidates(meterRegistry, "offered");
+        this.candidatesPassed = candidates(meterRegistry, "passed");
+        this.candidatesCollapsed = candidates(meterRegistry, "collapsed");
+    }
+
+    private static DistributionSummary candidates(MeterRegistry registry, String stage) {
+        return DistributionSummary.builder("inspiration.candidates")
+                .description("Candidate videos per ranking: offered, passing the quality filters, collapsed as near-duplicates")
+                .baseUnit("videos")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
+    /**
+     * Blocking variant for callers that run off the event loop (LLM tool calls).
+     */
     public YoutubeInspirationResponse topVideos(YoutubeInspirationRequest req) {
-        String correlationId = UUID.randomUUID().toString().substring(0, 8);
+        // The agent turn's session reaches the outbound calls through the Reactor context
+        return topVideosReactive(req).contextWrite(TraceContext.capture()).block();
+    }
+
+    public Mono<YoutubeInspirationResponse> topVideosReactive(YoutubeInspirationRequest req) {
+        String correlationId = newCorrelationId();
         long startTime = System.currentTimeMillis();
-        
-        try {
-            log.info("[{}] SERVICE_START: domain='{}', windowDays={}", correlationId, req.domain(), req.windowDays());
-            
-            if (props.getApiKey() == null || props.getApiKey().isBlank()) {
-                log.error("[{}] NO_API_KEY", correlationId);
-                return createErrorResponse(req.windowDays(), "YouTube API key not configured");
+
+        log.info("[{}] SERVICE_START: domain='{}', windowDays={}", correlationId, req.domain(), req.windowDays());
+
+        if (props.getApiKey() == null || props.getApiKey().isBlank()) {
+            log.error("[{}] NO_API_KEY", correlationId);
+            return Mono.just(createErrorResponse(req.windowDays(), "YouTube API key not configured"));
+        }
+
+        int windowDays = req.windowDays() != null ? req.windowDays() : WINDOW_DAYS;
+
+        Mono<YoutubeInspirationResponse> result = Mono.deferContextual(ctx -> {
+            // Tenants with their own spam phrases get their own rankings
+            InspirationCacheKey key = InspirationCacheKey.of(req, windowDays)
+                    .withSpamProfile(qualityScorer.spamProfile(YouTubeQuotaManager.tenant(ctx)));
+
+            // Popular niches are precomputed in the background
+            YoutubeInspirationResponse precomputed = trendingIndex.lookup(key);
+            if (precomputed != null) {
+                log.info("[{}] TRENDING_INDEX_HIT: domain='{}', elapsed={}ms", correlationId, key.domain(),
+                        System.currentTimeMillis() - startTime);
+                return Mono.just(precomputed);
             }
-            
-            // Build simple query from domain and first keyword
-            String query = buildSimpleQuery(req);
-            log.info("[{}] QUERY: '{}'", correlationId, query);
-            
-            // Get published after date
-            int windowDays = req.windowDays() != null ? req.windowDays() : WINDOW_DAYS;
-            String publishedAfter = OffsetDateTime.now(ZoneOffset.UTC)
-                    .minusDays(windowDays)
-                    .toString();
-            
-            // Search for videos
-            List<String> videoIds = searchVideos(correlationId, query, publishedAfter, req);
-            log.info("[{}] VIDEO_IDS_FOUND: count={}", correlationId, videoIds.size());
-            
-            if (videoIds.isEmpty()) {
-                return createErrorResponse(windowDays, "No videos found");
+
+            // Identical concurrent requests share one computation; repeats are answered from the result cache.
+            // The computation runs in the first caller's context, as a result cache load does: its tenant and
+            // batch budget pay for the searches and only its progress listener sees the stages. Joiners,
+            // from any tenant, get the final response for free.
+            return topVideosFlight.execute(key, () -> resultCache != null
+                    ? resultCache.get(key)
+                    : computeTopVideos(correlationId, req, windowDays, key.spamProfile(), true));
+        });
+
+        return requestTimer.time(result)
+                .doOnNext(response -> {
+                    long elapsed = System.currentTimeMillis() - startTime;
+                    log.info("[{}] SERVICE_COMPLETED: results={}, elapsed={}ms", correlationId,
+                            response.results() != null ? response.results().size() : 0, elapsed);
+                })
+                .onErrorResume(e -> {
+                    long elapsed = System.currentTimeMillis() - startTime;
+                    if (e instanceof PartialResultException partial) {
+                        log.warn("[{}] PARTIAL_RESULT: results={}, elapsed={}ms", correlationId,
+                                partial.response.results().size(), elapsed);
+                        return Mono.just(partial.response);
+                    }
+                    if (e instanceof NoVideosFoundException) {
+                        log.info("[{}] NO_VIDEOS_FOUND: elapsed={}ms", correlationId, elapsed);
+                        return Mono.just(createErrorResponse(windowDays, "No videos found"));
+                    }
+                    log.error("[{}] SERVICE_ERROR: elapsed={}ms, error={}", correlationId, elapsed, e.getMessage(), e);
+                    return Mono.just(createErrorResponse(req.windowDays(), "Service error: " + e.getMessage()));
+                })
+                .contextWrite(ctx -> ctx.put(TraceContext.CORRELATION_KEY, correlationId));
+    }
+
+    /**
+     * Same as {@link #topVideosReactive} but emits progress events as the pipeline advances,
+     * ending with a "final" event carrying the response.
+     */
+    public Flux<YoutubeInspirationProgressEvent> topVideosWithProgress(YoutubeInspirationRequest req) {
+        return Flux.create(sink -> {
+            Disposable computation = topVideosReactive(req)
+                    .contextWrite(InspirationProgress.context(sink::next))
+                    .contextWrite(sink.contextView())
+                    .subscribe(response -> {
+                        sink.next(YoutubeInspirationProgressEvent.done(response));
+                        sink.complete();
+                    }, sink::error);
+            sink.onDispose(computation);
+        });
+    }
+
+    /**
+     * Full computation bypassing caches and the local corpus, for background precomputation.
+     * Going to YouTube here is what brings new uploads for popular niches into the corpus.
+     */
+    public Mono<YoutubeInspirationResponse> computeFresh(InspirationCacheKey key) {
+        return computeTopVideos(newCorrelationId(), key.toRequest(), key.windowDays(), key.spamProfile(), false);
+    }
+
+    public TrendingIndex.Stats trendingStats() {
+        return trendingIndex.stats();
+    }
+
+    public LocalVideoIndex.Stats localSearchStats() {
+        return localIndex.stats();
+    }
+
+    public InspirationResultCache.Stats cacheStats() {
+        return resultCache != null ? resultCache.stats() : null;
+    }
+
+    /**
+     * Full search → details → enrichment → ranking pipeline. Errors are propagated
+     * (never turned into responses) so that failures are not cached. A ranking that lost a
+     * later page or a fan-out query fails with {@link PartialResultException}: callers still
+     * get it, but it is not cached or indexed.
+     */
+    private Mono<YoutubeInspirationResponse> computeTopVideos(String correlationId, YoutubeInspirationRequest req,
+                                                              int windowDays, String spamProfile, boolean allowLocal) {
+        return quotaManager.currentLevel()
+                .flatMap(level -> {
+                    if (level == YouTubeQuotaManager.Level.CACHE_ONLY) {
+                        // The local corpus costs no search quota; any answer beats none
+                        return answerLocally(correlationId, req, windowDays, spamProfile, 1)
+                                .switchIfEmpty(Mono.defer(() -> {
+                                    log.warn("[{}] QUOTA_CACHE_ONLY: skipping YouTube search", correlationId);
+                                    return Mono.error(new YouTubeQuotaExceededException(
+                                            "YouTube quota budget is low - serving cached results only"));
+                                }));
+                    }
+                    Mono<YoutubeInspirationResponse> viaSearch =
+                            Mono.defer(() -> computeTopVideos(correlationId, req, windowDays, spamProfile, level));
+                    return allowLocal
+                            ? answerLocally(correlationId, req, windowDays, spamProfile, localSearchProps.getMinHits()).switchIfEmpty(viaSearch)
+                            : viaSearch;
+                })
+                // Cache loads and refreshes get their own correlation ID; tag their JFR events with it
+                .contextWrite(ctx -> ctx.put(TraceContext.CORRELATION_KEY, correlationId));
+    }
+
+    /**
+     * Ranks matches from the local corpus, or completes empty when local recall is too low:
+     * fewer than minHits matching videos in the window, or fewer candidates passing the
+     * quality filters than the response needs.
+     */
+    private Mono<YoutubeInspirationResponse> answerLocally(String correlationId, YoutubeInspirationRequest req,
+                                                           int windowDays, String spamProfile, int minHits) {
+        if (!localSearchProps.isEnabled()) {
+            return Mono.empty();
+        }
+        long publishedAfter = System.currentTimeMillis() - Duration.ofDays(windowDays).toMillis();
+        // Only videos YouTube returned for this language and region
+        List<String> videoIds = localIndex.search(localQuery(req), LocalVideoIndex.scope(req.language(), req.location()), publishedAfter,
+                localSearchProps.getMinTermCoverage(), MAX_IDS_PER_VIDEOS_CALL);
+        if (videoIds.size() < minHits) {
+            log.info("[{}] LOCAL_SEARCH_LOW_RECALL: hits={}, required={}", correlationId, videoIds.size(), minHits);
+            return Mono.empty();
+        }
+
+        return Mono.deferContextual(ctx -> {
+            PageState state = new PageState(qualityScorer.newRanker(req.domain(), spamProfile, req.language(), TOP_N),
+                    InspirationProgress.listener(ctx), TraceContext.session(ctx));
+            state.seenIds.addAll(videoIds);
+            // Scopes are recorded once the details are in, when the videos are indexed
+            return getVideoDetails(correlationId, videoIds)
+                    .doOnNext(videos -> localIndex.addScope(videoIds, LocalVideoIndex.scope(req.language(), req.location())))
+                    .flatMap(videos -> enrichWithChannelStats(correlationId, videos))
+                    .flatMap(videos -> {
+                        offer(correlationId, state, videos);
+                        if (state.ranker.distinctCandidateCount() < Math.min(TOP_N, minHits)) {
+                            log.info("[{}] LOCAL_SEARCH_LOW_RECALL: hits={}, candidates={}", correlationId,
+                                    videoIds.size(), state.ranker.candidateCount());
+                            return Mono.empty();
+                        }
+                        log.info("[{}] LOCAL_SEARCH_ANSWERED: hits={}, candidates={}", correlationId,
+                                videoIds.size(), state.ranker.candidateCount());
+                        // Reported only once the local answer is taken, so a fallback to search starts clean
+                        state.progress.on(YoutubeInspirationProgressEvent.candidates(1, videoIds.size(), videoIds.size()));
+                        state.progress.on(YoutubeInspirationProgressEvent.details(1, videos.size()));
+                        return Mono.just(rankTopVideos(correlationId, state, windowDays));
+                    })
+                    .onErrorResume(e -> {
+                        log.warn("[{}] LOCAL_SEARCH_FAILED: error={}", correlationId, e.getMessage());
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private static String localQuery(YoutubeInspirationRequest req) {
+        StringBuilder query = new StringBuilder(req.domain() != null ? req.domain() : "");
+        if (req.keywords() != null) {
+            for (String keyword : req.keywords()) {
+                if (keyword != null) query.append(' ').append(keyword);
             }
-            
-            // Get video details
-            List<YoutubeVideoResult> videos = getVideoDetails(correlationId, videoIds);
-            log.info("[{}] VIDEO_DETAILS_FETCHED: count={}", correlationId, videos.size());
-            
-            // Score and rank videos
-            List<YoutubeVideoResult> rankedVideos = qualityScorer.scoreAndRankVideos(videos, req.domain());
-            List<YoutubeVideoResult> topResults = rankedVideos.stream()
-                    .filter(video -> video.hasValidUrl()) // Ensure all videos have valid URLs
-                    .limit(TOP_N)
+        }
+        return query.toString();
+    }
+
+    private Mono<YoutubeInspirationResponse> computeTopVideos(String correlationId, YoutubeInspirationRequest req,
+                                                              int windowDays, String spamProfile,
+                                                              YouTubeQuotaManager.Level level) {
+
+        // One query per keyword group, or domain + first keyword when fan-out is off or quota is running low
+        List<String> queries = level == YouTubeQuotaManager.Level.REDUCED
+                ? List.of(buildSimpleQuery(req))
+                : buildQueries(req);
+        log.info("[{}] QUERIES: {}, quotaLevel={}", correlationId, queries, level);
+
+        // Get published after date
+        String publishedAfter = OffsetDateTime.now(ZoneOffset.UTC)
+                .minusDays(windowDays)
+                .toString();
+
+        // Fewer result pages when quota is running low
+        int maxPages = level == YouTubeQuotaManager.Level.REDUCED ? 1 : Math.max(1, props.getSearchMaxPages());
+        List<SearchCursor> firstPage = queries.stream()
+                .map(query -> new SearchCursor(query, null))
+                .collect(Collectors.toList());
+
+        return Mono.deferContextual(ctx -> {
+            PageState state = new PageState(qualityScorer.newRanker(req.domain(), spamProfile, req.language(), TOP_N),
+                    InspirationProgress.listener(ctx), TraceContext.session(ctx));
+
+            // Page through results until K candidates pass the quality filters or the page budget runs out
+            return collectPages(correlationId, firstPage, publishedAfter, req, state, 1, maxPages)
+                    .then(Mono.defer(() -> {
+                        if (state.seenIds.isEmpty()) {
+                            return Mono.error(new NoVideosFoundException());
+                        }
+                        YoutubeInspirationResponse response = rankTopVideos(correlationId, state, windowDays);
+                        return state.degraded ? Mono.error(new PartialResultException(response)) : Mono.just(response);
+                    }));
+        });
+    }
+
+    private Mono<Void> collectPages(String correlationId, List<SearchCursor> cursors, String publishedAfter,
+                                    YoutubeInspirationRequest req, PageState state, int page, int maxPages) {
+        Mono<SearchRound> round = searchAllQueries(correlationId, cursors, publishedAfter, req, state);
+
+        Mono<Void> pageWork = round.flatMap(result -> {
+            // Only IDs not seen on earlier pages, capped at one videos.list batch
+            List<List<String>> unseen = result.idsPerQuery().stream()
+                    .map(ids -> ids.stream().filter(id -> !state.seenIds.contains(id)).collect(Collectors.toList()))
                     .collect(Collectors.toList());
-            
-            // Log warning if any videos were filtered out due to missing URLs
-            int filteredCount = rankedVideos.size() - topResults.size();
-            if (filteredCount > 0) {
-                log.warn("[{}] FILTERED_VIDEOS: {} videos removed due to missing URLs", correlationId, filteredCount);
+            List<String> videoIds = mergeVideoIds(unseen);
+            state.seenIds.addAll(videoIds);
+            log.info("[{}] VIDEO_IDS_FOUND: page={}, new={}, total={}", correlationId, page, videoIds.size(), state.seenIds.size());
+            state.progress.on(YoutubeInspirationProgressEvent.candidates(page, videoIds.size(), state.seenIds.size()));
+
+            if (videoIds.isEmpty()) {
+                return Mono.<Void>empty();
             }
-            
-            long elapsed = System.currentTimeMillis() - startTime;
-            log.info("[{}] SERVICE_COMPLETED: results={}, elapsed={}ms", correlationId, topResults.size(), elapsed);
-            
-            return new YoutubeInspirationResponse(windowDays, videoIds.size(), topResults);
-            
-        } catch (Exception e) {
-            long elapsed = System.currentTimeMillis() - startTime;
-            log.error("[{}] SERVICE_ERROR: elapsed={}ms, error={}", correlationId, elapsed, e.getMessage(), e);
-            return createErrorResponse(req.windowDays(), "Service error: " + e.getMessage());
+
+            // Get video details, enrich with channel stats, then feed the ranker
+            // Scopes are recorded once the details are in, when the videos are indexed
+            return getVideoDetails(correlationId, videoIds)
+                    .doOnNext(videos -> localIndex.addScope(videoIds, LocalVideoIndex.scope(req.language(), req.location())))
+                    .flatMap(videos -> enrichWithChannelStats(correlationId, videos))
+                    .flatMap(videos -> {
+                        state.progress.on(YoutubeInspirationProgressEvent.details(page, videos.size()));
+                        offer(correlationId, state, videos);
+                        log.info("[{}] PAGE_RANKED: page={}, details={}, candidates={}", correlationId, page,
+                                videos.size(), state.ranker.candidateCount());
+                        if (state.progress != InspirationProgress.NONE) {
+                            state.progress.on(YoutubeInspirationProgressEvent.ranking(page, state.ranker.topK()));
+                        }
+
+                        // Re-uploads collapse in the final ranking; they do not count towards it
+                        boolean enough = state.ranker.distinctCandidateCount() >= TOP_N;
+                        if (enough || page >= maxPages || result.nextCursors().isEmpty()) {
+                            return Mono.<Void>empty();
+                        }
+                        return collectPages(correlationId, result.nextCursors(), publishedAfter, req, state, page + 1, maxPages);
+                    });
+        });
+        if (page == 1) {
+            return pageWork;
+        }
+        // Later pages are best-effort; keep what the earlier pages produced, but not in the caches
+        return pageWork.onErrorResume(e -> {
+            log.warn("[{}] PAGE_FAILED: page={}, error={}", correlationId, page, e.getMessage());
+            state.degraded = true;
+            return Mono.empty();
+        });
+    }
+
+    private void offer(String correlationId, PageState state, List<YoutubeVideoResult> videos) {
+        ScoringEvent event = new ScoringEvent();
+        event.begin();
+        filterTimer.run(() -> state.ranker.offer(
+                videos.stream().filter(YoutubeVideoResult::hasValidUrl).collect(Collectors.toList())));
+        commit(event, "filter", videos.size(), correlationId, state);
+    }
+
+    private static void commit(ScoringEvent event, String phase, int videos, String correlationId, PageState state) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = phase;
+            event.videos = videos;
+            event.candidates = state.ranker.candidateCount();
+            event.collapsed = state.ranker.collapsedCount();
+            event.sessionId = state.sessionId;
+            event.correlationId = correlationId;
+            event.commit();
         }
     }
 
+    private YoutubeInspirationResponse rankTopVideos(String correlationId, PageState state, int windowDays) {
+        VideoQualityScorer.Ranker ranker = state.ranker;
+        log.info("[{}] VIDEO_DETAILS_FETCHED: count={}, passedFilters={}", correlationId,
+                ranker.offeredCount(), ranker.candidateCount());
+        candidatesOffered.record(ranker.offeredCount());
+        candidatesPassed.record(ranker.candidateCount());
+
+        // Normalize over the whole candidate population, then select the top N distinct videos
+        ScoringEvent event = new ScoringEvent();
+        event.begin();
+        List<YoutubeVideoResult> topResults = rankTimer.record(ranker::topK);
+        commit(event, "rank", ranker.candidateCount(), correlationId, state);
+        candidatesCollapsed.record(ranker.collapsedCount());
+        if (ranker.collapsedCount() > 0) {
+            log.info("[{}] NEAR_DUPLICATES_COLLAPSED: count={}", correlationId, ranker.collapsedCount());
+        }
+
+        return new YoutubeInspirationResponse(windowDays, state.seenIds.size(), topResults);
+    }
+
     private String buildSimpleQuery(YoutubeInspirationRequest req) {
         StringBuilder query = new StringBuilder();
         
@@ -127,45 +461,95 @@ public class YoutubeInspirationService {
         return query.length() > 0 ? query.toString() : "business";
     }
 
-    private List<String> searchVideos(String correlationId, String query, String publishedAfter, YoutubeInspirationRequest req) throws Exception {
-        // Build URL
-        StringBuilder url = new StringBuilder(props.getBaseUrl() + "/search");
-        url.append("?part=snippet");
-        url.append("&type=video");
-        url.append("&order=viewCount");
-        url.append("&maxResults=").append(SEARCH_MAX_RESULTS);
-        url.append("&q=").append(URLEncoder.encode(query, StandardCharsets.UTF_8));
-        url.append("&publishedAfter=").append(URLEncoder.encode(publishedAfter, StandardCharsets.UTF_8));
-        url.append("&key=").append(props.getApiKey());
-        
-        if (req.language() != null && !req.language().isBlank()) {
-            url.append("&relevanceLanguage=").append(req.language());
+    private List<String> buildQueries(YoutubeInspirationRequest req) {
+        List<String> keywords = req.keywords() == null ? List.of() : req.keywords().stream()
+                .filter(k -> k != null && !k.isBlank())
+                .map(String::trim)
+                .distinct()
+                .collect(Collectors.toList());
+
+        if (!props.isFanOutEnabled() || keywords.size() <= 1) {
+            return List.of(buildSimpleQuery(req));
         }
-        if (req.location() != null && !req.location().isBlank()) {
-            url.append("&regionCode=").append(req.location());
+
+        // Spread keywords round-robin over at most fanOutMaxQueries groups; YouTube treats '|' as OR
+        int groupCount = Math.max(1, Math.min(props.getFanOutMaxQueries(), keywords.size()));
+        List<List<String>> groups = new ArrayList<>();
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new ArrayList<>());
         }
-        
-        String maskedUrl = url.toString().replaceAll("key=[^&]+", "key=***");
-        log.info("[{}] SEARCH_URL: {}", correlationId, maskedUrl);
-        
-        // Make HTTP request
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url.toString()))
-                .GET()
-                .build();
-        
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        
-        log.info("[{}] SEARCH_RESPONSE: status={}", correlationId, response.statusCode());
-        
-        if (response.statusCode() != 200) {
-            log.error("[{}] SEARCH_ERROR: status={}, body={}", correlationId, response.statusCode(), response.body());
-            throw new RuntimeException("YouTube API error: " + response.statusCode());
+        for (int i = 0; i < keywords.size(); i++) {
+            groups.get(i % groupCount).add(keywords.get(i));
         }
-        
-        // Parse response
-        YoutubeSearchResponse searchResponse = objectMapper.readValue(response.body(), YoutubeSearchResponse.class);
-        
+
+        String domain = req.domain() != null ? req.domain().trim() : "";
+        return groups.stream()
+                .map(group -> (domain + " " + String.join("|", group)).trim())
+                .collect(Collectors.toList());
+    }
+
+    private Mono<SearchRound> searchAllQueries(String correlationId, List<SearchCursor> cursors,
+                                               String publishedAfter, YoutubeInspirationRequest req, PageState state) {
+        if (cursors.size() == 1) {
+            return searchVideos(correlationId, cursors.get(0), publishedAfter, req)
+                    .map(page -> SearchRound.of(List.of(page)));
+        }
+
+        // Fan out concurrently; a single failed query must not sink the others
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        return Flux.fromIterable(cursors)
+                .flatMapSequential(cursor -> searchVideos(correlationId, cursor, publishedAfter, req)
+                        .onErrorResume(e -> {
+                            log.warn("[{}] FAN_OUT_QUERY_FAILED: query='{}', error={}", correlationId, cursor.query(), e.getMessage());
+                            failures.add(e);
+                            return Mono.just(new SearchPage(cursor.query(), List.of(), null));
+                        }), cursors.size())
+                .collectList()
+                .flatMap(pages -> {
+                    if (failures.size() == cursors.size()) {
+                        return Mono.error(failures.peek());
+                    }
+                    log.info("[{}] FAN_OUT_COMPLETED: queries={}, failed={}", correlationId, cursors.size(), failures.size());
+                    if (!failures.isEmpty()) {
+                        state.degraded = true;
+                    }
+                    return Mono.just(SearchRound.of(pages));
+                });
+    }
+
+    /**
+     * Interleaves per-query results (each already ordered by views) so every keyword
+     * group is represented, dropping duplicates and capping at one videos.list batch.
+     */
+    static List<String> mergeVideoIds(List<List<String>> perQueryIds) {
+        Set<String> merged = new LinkedHashSet<>();
+        int longest = perQueryIds.stream().mapToInt(List::size).max().orElse(0);
+        for (int rank = 0; rank < longest && merged.size() < MAX_IDS_PER_VIDEOS_CALL; rank++) {
+            for (List<String> ids : perQueryIds) {
+                if (rank < ids.size()) {
+                    merged.add(ids.get(rank));
+                    if (merged.size() >= MAX_IDS_PER_VIDEOS_CALL) break;
+                }
+            }
+        }
+        return new ArrayList<>(merged);
+    }
+
+    private Mono<SearchPage> searchVideos(String correlationId, SearchCursor cursor, String publishedAfter, YoutubeInspirationRequest req) {
+        YouTubeSearchQuery searchQuery = new YouTubeSearchQuery(
+                cursor.query(), publishedAfter, SEARCH_MAX_RESULTS, req.language(), req.location(), cursor.pageToken());
+        log.info("[{}] SEARCH_REQUEST: {}", correlationId, searchQuery);
+
+        return searchTimer.time(youTubeClient.search(searchQuery))
+                .map(searchResponse -> {
+                    log.info("[{}] SEARCH_RESPONSE: items={}, hasNextPage={}", correlationId,
+                            searchResponse.items() != null ? searchResponse.items().size() : 0,
+                            searchResponse.nextPageToken() != null);
+                    return new SearchPage(cursor.query(), extractVideoIds(searchResponse), searchResponse.nextPageToken());
+                });
+    }
+
+    private List<String> extractVideoIds(YoutubeSearchResponse searchResponse) {
         List<String> videoIds = new ArrayList<>();
         if (searchResponse.items() != null) {
             for (var item : searchResponse.items()) {
@@ -174,86 +558,42 @@ public class YoutubeInspirationService {
                 }
             }
         }
-        
         return videoIds;
     }
 
-    private List<YoutubeVideoResult> getVideoDetails(String correlationId, List<String> videoIds) throws Exception {
+    private Mono<List<EnrichedVideoData>> getVideoDetails(String correlationId, List<String> videoIds) {
         if (videoIds.isEmpty()) {
-            return List.of();
-        }
-        
-        // Build URL
-        String idsParam = String.join(",", videoIds);
-        String url = props.getBaseUrl() + "/videos" +
-                "?part=snippet,statistics,contentDetails" +
-                "&id=" + URLEncoder.encode(idsParam, StandardCharsets.UTF_8) +
-                "&key=" + props.getApiKey();
-        
-        String maskedUrl = url.replaceAll("key=[^&]+", "key=***");
-        log.info("[{}] VIDEOS_URL: {}", correlationId, maskedUrl);
-        
-        // Make HTTP request
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .GET()
-                .build();
-        
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        
-        log.info("[{}] VIDEOS_RESPONSE: status={}", correlationId, response.statusCode());
-        
-        if (response.statusCode() != 200) {
-            log.error("[{}] VIDEOS_ERROR: status={}, body={}", correlationId, response.statusCode(), response.body());
-            return List.of();
-        }
-        
-        // Parse response
-        YoutubeVideosResponse videosResponse = objectMapper.readValue(response.body(), YoutubeVideosResponse.class);
-        
-        List<YoutubeVideoResult> results = new ArrayList<>();
-        if (videosResponse.items() != null) {
-            for (var item : videosResponse.items()) {
-                YoutubeVideoResult video = convertToVideoResult(item);
-                if (video != null) {
-                    results.add(video);
-                }
-            }
+            return Mono.just(List.of());
         }
-        
-        return results;
+
+        // Served from the per-video cache; videos.list is only called for missing IDs
+        return detailsTimer.time(videoStatisticsCache.getVideos(correlationId, videoIds));
     }
 
-    private YoutubeVideoResult convertToVideoResult(YoutubeVideosResponse.Item item) {
-        if (item == null || item.id() == null) return null;
-        
-        String title = item.snippet() != null ? item.snippet().title() : "";
-        String channelTitle = item.snippet() != null ? item.snippet().channelTitle() : "";
-        String publishedAt = item.snippet() != null ? item.snippet().publishedAt() : "";
-        String url = "https://www.youtube.com/watch?v=" + item.id();
-        
-        Long viewCount = parseLongSafe(item.statistics() != null ? item.statistics().viewCount() : null);
-        Long likeCount = parseLongSafe(item.statistics() != null ? item.statistics().likeCount() : null);
-        Long commentCount = parseLongSafe(item.statistics() != null ? item.statistics().commentCount() : null);
-        
-        Integer durationSeconds = 0;
-        if (item.contentDetails() != null && item.contentDetails().duration() != null) {
-            durationSeconds = durationParser.parseToSeconds(item.contentDetails().duration());
+    private Mono<List<YoutubeVideoResult>> enrichWithChannelStats(String correlationId, List<EnrichedVideoData> videos) {
+        if (videos.isEmpty()) {
+            return Mono.just(List.of());
         }
-        
-        return new YoutubeVideoResult(
-                item.id(), title, channelTitle, publishedAt, url,
-                viewCount != null ? viewCount : 0L,
-                likeCount != null ? likeCount : 0L,
-                commentCount != null ? commentCount : 0L,
-                durationSeconds != null ? durationSeconds : 0,
-                0L, 0.0
-        );
+
+        // One batched channels.list for every distinct channel not already cached
+        Set<String> channelIds = videos.stream()
+                .map(EnrichedVideoData::channelId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        return channelsTimer.time(channelStatisticsService.subscriberCounts(channelIds))
+                .map(subscribers -> {
+                    log.info("[{}] CHANNEL_STATS_RESOLVED: channels={}, resolved={}", correlationId,
+                            channelIds.size(), subscribers.size());
+                    return videos.stream()
+                            .map(video -> video.withSubscriberCount(subscribers.getOrDefault(video.channelId(), 0L)))
+                            .map(video -> video.toVideoResult(0.0))
+                            .collect(Collectors.toList());
+                });
     }
 
-    private static Long parseLongSafe(String s) {
-        if (s == null || s.isBlank()) return null;
-        try { return Long.parseLong(s); } catch (Exception e) { return null; }
+    private static String newCorrelationId() {
+        return UUID.randomUUID().toString().substring(0, 8);
     }
 
     private YoutubeInspirationResponse createErrorResponse(Integer windowDays, String reason) {
@@ -267,4 +607,59 @@ public class YoutubeInspirationService {
                 ))
         );
     }
-}
\ No newline at end of file
+
+    private static class NoVideosFoundException extends RuntimeException {
+        NoVideosFoundException() {
+            super("No videos found", null, false, false);
+        }
+    }
+
+    /**
+     * Carries a ranking built from incomplete results out of the cache loader, so it is
+     * returned to the caller without being stored.
+     */
+    private static class PartialResultException extends RuntimeException {
+        final YoutubeInspirationResponse response;
+
+        PartialResultException(YoutubeInspirationResponse response) {
+            super("Partial result", null, false, false);
+            this.response = response;
+        }
+    }
+
+    private record SearchCursor(String query, String pageToken) {}
+
+    private record SearchPage(String query, List<String> videoIds, String nextPageToken) {}
+
+    private record SearchRound(List<List<String>> idsPerQuery, List<SearchCursor> nextCursors) {
+        static SearchRound of(List<SearchPage> pages) {
+            List<List<String>> ids = new ArrayList<>();
+            List<SearchCursor> next = new ArrayList<>();
+            for (SearchPage page : pages) {
+                ids.add(page.videoIds());
+                if (page.nextPageToken() != null && !page.nextPageToken().isBlank()) {
+                    next.add(new SearchCursor(page.query(), page.nextPageToken()));
+                }
+            }
+            return new SearchRound(ids, next);
+        }
+    }
+
+    /**
+     * Per-request accumulation across result pages; pages are processed one after another.
+     */
+    private static class PageState {
+        final VideoQualityScorer.Ranker ranker;
+        final Set<String> seenIds = new LinkedHashSet<>();
+        final InspirationProgress.Listener progress;
+        final String sessionId;
+        // A later page or a fan-out query failed; the ranking is incomplete
+        boolean degraded;
+
+        PageState(VideoQualityScorer.Ranker ranker, InspirationProgress.Listener progress, String sessionId) {
+            this.ranker = ranker;
+            this.progress = progress;
+            this.sessionId = sessionId;
+        }
+    }
+}
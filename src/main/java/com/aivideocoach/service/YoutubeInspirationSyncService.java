@@ -35,4 +35,5 @@ public class YoutubeInspirationSyncService {
         
         return response;
     }
+
 }
\ No newline at end of file
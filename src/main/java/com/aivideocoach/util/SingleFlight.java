@@ -0,0 +1,63 @@
+package com.aivideocoach.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one in-flight computation.
+ * The first caller runs the work, in its own subscriber context; callers arriving while it
+ * is in flight share its result (or error) but none of their context reaches the work.
+ * Nothing is kept after completion - this is not a cache.
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final ConcurrentHashMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> work) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<V>> created = new AtomicReference<>();
+            Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+                AtomicReference<Mono<V>> self = new AtomicReference<>();
+                // Removed before the result reaches any caller, so a retry never joins a finished flight
+                Mono<V> mono = Mono.defer(work)
+                        .doOnTerminate(() -> inFlight.remove(k, self.get()))
+                        .doFinally(signal -> inFlight.remove(k, self.get()))
+                        .cache();
+                self.set(mono);
+                created.set(mono);
+                return mono;
+            });
+
+            if (created.get() == shared) {
+                executed.increment();
+            } else {
+                coalesced.increment();
+            }
+            return shared;
+        });
+    }
+
+    /**
+     * Blocking flavour for synchronous callers; must not be used on an event loop.
+     */
+    public V executeBlocking(K key, Supplier<V> work) {
+        return execute(key, () -> Mono.fromSupplier(work)).block();
+    }
+
+    public Stats stats() {
+        return new Stats(name, executed.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    public record Stats(String name, long executed, long coalesced, int inFlight) {}
+}
@@ -0,0 +1,25 @@
+package com.aivideocoach.util;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps track of every {@link SingleFlight} so coalescing counters can be reported in one place.
+ */
+@Component
+public class SingleFlightRegistry {
+
+    private final List<SingleFlight<?, ?>> flights = new CopyOnWriteArrayList<>();
+
+    public <K, V> SingleFlight<K, V> create(String name) {
+        SingleFlight<K, V> flight = new SingleFlight<>(name);
+        flights.add(flight);
+        return flight;
+    }
+
+    public List<SingleFlight.Stats> stats() {
+        return flights.stream().map(SingleFlight::stats).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.aivideocoach.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency of one pipeline stage as a timer with a percentile histogram, split by outcome
+ * (success, error, cancelled) so p99 alerts are not skewed by fast failures.
+ * Each histogram is ~70 buckets, so the error and cancelled timers are only registered
+ * once that outcome first occurs.
+ */
+public final class StageTimer {
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final String description;
+    private final String[] tags;
+    private final Timer success;
+    // Registration is idempotent, so a race only repeats the lookup
+    private volatile Timer error;
+    private volatile Timer cancelled;
+
+    private StageTimer(MeterRegistry registry, String name, String description, String... tags) {
+        this.registry = registry;
+        this.name = name;
+        this.description = description;
+        this.tags = tags;
+        this.success = timer("success");
+    }
+
+    public static StageTimer of(MeterRegistry registry, String name, String description, String... tags) {
+        return new StageTimer(registry, name, description, tags);
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                // LLM round-trips and agent tools run well past the 30 s default top bucket
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(registry);
+    }
+
+    /**
+     * Times each subscription from subscribe to completion, error or cancellation.
+     */
+    public <T> Mono<T> time(Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doFinally(signal -> timerFor(signal).record(System.nanoTime() - start,
+                    TimeUnit.NANOSECONDS));
+        });
+    }
+
+    public <T> T record(Supplier<T> work) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = work.get();
+            failed = false;
+            return result;
+        } finally {
+            (failed ? error() : success).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void run(Runnable work) {
+        record(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private Timer timerFor(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> error();
+            case CANCEL -> cancelled();
+            default -> success;
+        };
+    }
+
+    private Timer error() {
+        Timer timer = error;
+        if (timer == null) {
+            error = timer = timer("error");
+        }
+        return timer;
+    }
+
+    private Timer cancelled() {
+        Timer timer = cancelled;
+        if (timer == null) {
+            cancelled = timer = timer("cancelled");
+        }
+        return timer;
+    }
+}
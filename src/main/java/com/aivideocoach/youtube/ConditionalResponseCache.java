@@ -0,0 +1,54 @@
+package com.aivideocoach.youtube;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Last decoded response per request, stored with the ETag the API returned for it.
+ * The ETag is sent back as If-None-Match; on 304 the decoded value is reused instead
+ * of re-downloading and re-parsing the payload.
+ */
+public class ConditionalResponseCache<T> {
+
+    record Validated<T>(String etag, T value) {}
+
+    public record Stats(String name, long size, long notModified, long modified) {}
+
+    private final String name;
+    private final Cache<String, Validated<T>> entries;
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong modified = new AtomicLong();
+
+    ConditionalResponseCache(String name, long maxSize, Duration idleExpiry) {
+        this.name = name;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    Validated<T> get(String requestKey) {
+        return entries.getIfPresent(requestKey);
+    }
+
+    void put(String requestKey, String etag, T value) {
+        modified.incrementAndGet();
+        if (etag == null || etag.isBlank()) {
+            entries.invalidate(requestKey);
+        } else {
+            entries.put(requestKey, new Validated<>(etag, value));
+        }
+    }
+
+    T notModified(Validated<T> validated) {
+        notModified.incrementAndGet();
+        return validated.value();
+    }
+
+    Stats stats() {
+        return new Stats(name, entries.estimatedSize(), notModified.get(), modified.get());
+    }
+}
@@ -0,0 +1,27 @@
+package com.aivideocoach.youtube;
+
+import com.aivideocoach.http.HttpStatusError;
+
+/**
+ * Non-2xx response from the YouTube Data API.
+ */
+public class YouTubeApiException extends RuntimeException implements HttpStatusError {
+
+    private final int statusCode;
+    private final String responseBody;
+
+    public YouTubeApiException(int statusCode, String responseBody) {
+        super("YouTube API error: " + statusCode);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+}
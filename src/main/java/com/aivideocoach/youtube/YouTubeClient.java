@@ -1,18 +1,57 @@
 package com.aivideocoach.youtube;
 
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.http.Hedger;
+import com.aivideocoach.http.OutboundHttp;
+import com.aivideocoach.util.SingleFlight;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.youtube.ConditionalResponseCache.Validated;
+import com.aivideocoach.youtube.YouTubeQuotaManager.Level;
+import com.aivideocoach.youtube.YouTubeQuotaManager.Operation;
+import com.aivideocoach.youtube.YouTubeQuotaManager.Priority;
+import com.aivideocoach.youtube.model.YoutubeChannelsResponse;
+import com.aivideocoach.youtube.model.YoutubeSearchResponse;
+import com.aivideocoach.youtube.model.YoutubeVideosResponse;
 import tools.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
 @Component
 public class YouTubeClient {
 
     private final WebClient webClient;
+    private final YouTubeQuotaManager quotaManager;
+    private final OutboundHttp outbound;
+    private final String host;
+    private final SingleFlight<String, YouTubeVideoDetails> videoDetailsFlight;
+    private final ConditionalResponseCache<YouTubeVideoDetails> videoDetailsEtags;
+    private final ConditionalResponseCache<YoutubeVideosResponse> videosEtags;
+    private final ConditionalResponseCache<YoutubeChannelsResponse> channelsEtags;
+    private final Map<Operation, Hedger> hedgers = new EnumMap<>(Operation.class);
     private final String apiKey;
+    private final Duration searchTimeout;
+    private final Duration detailsTimeout;
 
-    public YouTubeClient(WebClient.Builder builder,
+    public YouTubeClient(@Qualifier("youTubeWebClient") WebClient youTubeWebClient,
+                         YouTubeProperties props,
+                         YouTubeQuotaManager quotaManager,
+                         OutboundHttp outbound,
+                         SingleFlightRegistry singleFlights,
                          @Value("${youtube.api-key:}") String apiKeyFromYaml,
                          @Value("${YOUTUBE_API_KEY:}") String apiKeyFromEnv) {
 
@@ -22,39 +61,230 @@ public class YouTubeClient {
             throw new IllegalArgumentException("YouTube API key must be defined (env YOUTUBE_API_KEY or youtube.api-key).");
         }
 
-        this.webClient = builder.baseUrl("https://www.googleapis.com").build();
+        // Shared pooled client, base URL comes from youtube.base-url
+        this.webClient = youTubeWebClient;
+        this.quotaManager = quotaManager;
+        this.outbound = outbound;
+        this.host = OutboundHttp.hostOf(props.getBaseUrl());
+        this.searchTimeout = props.getSearchTimeout();
+        this.detailsTimeout = props.getDetailsTimeout();
+        this.videoDetailsFlight = singleFlights.create("youtube.getVideoDetails");
+
+        // Last response + ETag per request, revalidated with If-None-Match
+        this.videoDetailsEtags = new ConditionalResponseCache<>("youtube.getVideoDetails",
+                props.getEtagCacheMaxSize(), props.getEtagCacheIdleExpiry());
+        this.videosEtags = new ConditionalResponseCache<>("youtube.videos",
+                props.getEtagCacheMaxSize(), props.getEtagCacheIdleExpiry());
+        this.channelsEtags = new ConditionalResponseCache<>("youtube.channels",
+                props.getEtagCacheMaxSize(), props.getEtagCacheIdleExpiry());
+
+        if (props.isHedgeEnabled()) {
+            for (Operation op : Operation.values()) {
+                if (op == Operation.SEARCH && !props.isHedgeSearch()) continue;
+                hedgers.put(op, new Hedger("youtube." + op.name().toLowerCase(Locale.ROOT),
+                        props.getHedgePercentile(), props.getHedgeMinDelay(), props.getHedgeMaxDelay(),
+                        props.getHedgeMaxRatio()));
+            }
+        }
     }
 
 
     public Mono<YouTubeVideoDetails> getVideoDetails(String videoId) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/youtube/v3/videos")
+        // Concurrent lookups of the same video share one round-trip
+        return videoDetailsFlight.execute(videoId, () -> fetchVideoDetails(videoId));
+    }
+
+    private Mono<YouTubeVideoDetails> fetchVideoDetails(String videoId) {
+        return call(Operation.VIDEOS_LIST, conditionalGet(videoDetailsEtags, videoId,
+                uriBuilder -> uriBuilder
+                        .path("/videos")
                         .queryParam("part", "snippet,contentDetails,statistics")
                         .queryParam("id", videoId)
                         .queryParam("key", apiKey)
+                        .build(),
+                response -> response.bodyToMono(JsonNode.class)
+                        .flatMap(root -> toVideoDetails(videoId, root))));
+    }
+
+    private static Mono<YouTubeVideoDetails> toVideoDetails(String videoId, JsonNode root) {
+        JsonNode item = root.path("items").path(0);
+        if (item.isMissingNode() || item.isNull()) {
+            return Mono.error(new IllegalArgumentException("Video not found: " + videoId));
+        }
+
+        JsonNode snippet = item.path("snippet");
+        JsonNode titleNode = snippet.path("title");
+        JsonNode descriptionNode = snippet.path("description");
+        JsonNode channelTitleNode = snippet.path("channelTitle");
+        JsonNode durationNode = item.path("contentDetails").path("duration");
+
+        String title = titleNode.isMissingNode() ? null : titleNode.asText();
+        String description = descriptionNode.isMissingNode() ? null : descriptionNode.asText();
+        String channelTitle = channelTitleNode.isMissingNode() ? null : channelTitleNode.asText();
+        String duration = durationNode.isMissingNode() ? null : durationNode.asText();
+
+        return Mono.just(new YouTubeVideoDetails(videoId, title, description, channelTitle, duration));
+    }
+
+    /**
+     * search.list - costs 100 quota units per call.
+     */
+    public Mono<YoutubeSearchResponse> search(YouTubeSearchQuery query) {
+        return call(Operation.SEARCH, webClient.get()
+                .uri(uriBuilder -> {
+                    uriBuilder.path("/search")
+                            .queryParam("part", "snippet")
+                            .queryParam("type", "video")
+                            .queryParam("order", "viewCount")
+                            .queryParam("maxResults", query.maxResults())
+                            .queryParam("q", "{q}")
+                            .queryParam("publishedAfter", "{publishedAfter}")
+                            .queryParam("key", apiKey);
+                    if (query.relevanceLanguage() != null && !query.relevanceLanguage().isBlank()) {
+                        uriBuilder.queryParam("relevanceLanguage", query.relevanceLanguage());
+                    }
+                    if (query.regionCode() != null && !query.regionCode().isBlank()) {
+                        uriBuilder.queryParam("regionCode", query.regionCode());
+                    }
+                    if (query.pageToken() != null && !query.pageToken().isBlank()) {
+                        uriBuilder.queryParam("pageToken", query.pageToken());
+                    }
+                    return uriBuilder.build(query.query(), query.publishedAfter());
+                })
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, YouTubeClient::toApiException)
+                .bodyToMono(byte[].class)
+                .map(YouTubeResponseDecoder::decodeSearch));
+    }
+
+    /**
+     * Raw 1-result search.list body for connectivity/key diagnostics - costs 100 quota units.
+     */
+    public Mono<String> probeSearch() {
+        return call(Operation.SEARCH, webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/search")
+                        .queryParam("part", "snippet")
+                        .queryParam("type", "video")
+                        .queryParam("maxResults", 1)
+                        .queryParam("q", "test")
+                        .queryParam("key", apiKey)
                         .build())
                 .retrieve()
-                .bodyToMono(JsonNode.class)
-                .flatMap(root -> {
-                    JsonNode item = root.path("items").path(0);
-                    if (item.isMissingNode() || item.isNull()) {
-                        return Mono.error(new IllegalArgumentException("Video not found: " + videoId));
-                    }
+                .onStatus(HttpStatusCode::isError, YouTubeClient::toApiException)
+                .bodyToMono(String.class));
+    }
+
+    /**
+     * videos.list for up to 50 IDs - costs 1 quota unit per call.
+     */
+    public Mono<YoutubeVideosResponse> listVideos(List<String> videoIds) {
+        String ids = canonicalIds(videoIds);
+        return call(Operation.VIDEOS_LIST, conditionalGet(videosEtags, ids,
+                uriBuilder -> uriBuilder
+                        .path("/videos")
+                        .queryParam("part", "snippet,statistics,contentDetails")
+                        .queryParam("id", ids)
+                        .queryParam("key", apiKey)
+                        .build(),
+                response -> response.bodyToMono(byte[].class)
+                        .map(YouTubeResponseDecoder::decodeVideos)));
+    }
+
+    /**
+     * channels.list statistics for up to 50 IDs - costs 1 quota unit per call.
+     */
+    public Mono<YoutubeChannelsResponse> listChannels(List<String> channelIds) {
+        String ids = canonicalIds(channelIds);
+        return call(Operation.CHANNELS_LIST, conditionalGet(channelsEtags, ids,
+                uriBuilder -> uriBuilder
+                        .path("/channels")
+                        .queryParam("part", "statistics")
+                        .queryParam("id", ids)
+                        .queryParam("key", apiKey)
+                        .build(),
+                response -> response.bodyToMono(byte[].class)
+                        .map(YouTubeResponseDecoder::decodeChannels)));
+    }
+
+    /**
+     * Every attempt, retries and hedges included, is charged against the quota ledger - YouTube bills
+     * failed requests too. Each attempt has its own deadline, so a hung call is a breaker failure.
+     */
+    private <T> Mono<T> call(Operation op, Mono<T> request) {
+        Mono<T> attempt = quotaManager.guard(op, request);
+        Hedger hedger = hedgers.get(op);
+        if (hedger != null) {
+            attempt = hedger.execute(attempt, hedgePermit());
+        }
+        return outbound.execute(host, op == Operation.SEARCH ? searchTimeout : detailsTimeout, attempt);
+    }
+
+    /**
+     * Upper bound of one call of the operation, retries included.
+     */
+    public Duration maxCallDuration(Operation op) {
+        return outbound.maxDuration(op == Operation.SEARCH ? searchTimeout : detailsTimeout);
+    }
 
-                    JsonNode snippet = item.path("snippet");
-                    JsonNode titleNode = snippet.path("title");
-                    JsonNode descriptionNode = snippet.path("description");
-                    JsonNode channelTitleNode = snippet.path("channelTitle");
-                    JsonNode durationNode = item.path("contentDetails").path("duration");
-                    
-                    String title = titleNode.isMissingNode() ? null : titleNode.asText();
-                    String description = descriptionNode.isMissingNode() ? null : descriptionNode.asText();
-                    String channelTitle = channelTitleNode.isMissingNode() ? null : channelTitleNode.asText();
-                    String duration = durationNode.isMissingNode() ? null : durationNode.asText();
+    /**
+     * A hedge is a second billed request: only for interactive calls while the budget is healthy.
+     */
+    private Mono<Boolean> hedgePermit() {
+        return Mono.deferContextual(ctx -> Mono.just(
+                YouTubeQuotaManager.priority(ctx) == Priority.INTERACTIVE
+                        && quotaManager.level(YouTubeQuotaManager.tenant(ctx), Priority.INTERACTIVE) == Level.FULL));
+    }
+
+    public List<Hedger.Stats> hedgeStats() {
+        return hedgers.values().stream().map(Hedger::stats).toList();
+    }
 
-                    return Mono.just(new YouTubeVideoDetails(videoId, title, description, channelTitle, duration));
-                });
+    public List<ConditionalResponseCache.Stats> conditionalRequestStats() {
+        return List.of(videoDetailsEtags.stats(), videosEtags.stats(), channelsEtags.stats());
     }
 
+    /**
+     * GET with If-None-Match from the last response for the same request. On 304 the
+     * previously decoded value is returned; otherwise the body is decoded and remembered
+     * together with its ETag.
+     */
+    private <T> Mono<T> conditionalGet(ConditionalResponseCache<T> cache,
+                                       String requestKey,
+                                       Function<UriBuilder, URI> uri,
+                                       Function<ClientResponse, Mono<T>> decoder) {
+        return Mono.defer(() -> {
+            Validated<T> cached = cache.get(requestKey);
+            return webClient.get()
+                    .uri(uri)
+                    .headers(headers -> {
+                        if (cached != null) headers.setIfNoneMatch(cached.etag());
+                    })
+                    .exchangeToMono(response -> {
+                        if (cached != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            return response.releaseBody().then(Mono.fromSupplier(() -> cache.notModified(cached)));
+                        }
+                        if (response.statusCode().isError()) {
+                            return toApiException(response).flatMap(Mono::<T>error);
+                        }
+                        String etag = response.headers().asHttpHeaders().getETag();
+                        return decoder.apply(response)
+                                .doOnNext(value -> cache.put(requestKey, etag, value));
+                    });
+        });
+    }
+
+    /**
+     * Batch lookups are order-insensitive (callers match items by ID), so the same set of
+     * IDs always maps to the same request and can be revalidated with its ETag.
+     */
+    private static String canonicalIds(List<String> ids) {
+        return String.join(",", ids.stream().sorted().distinct().toList());
+    }
+
+    private static Mono<? extends Throwable> toApiException(ClientResponse response) {
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> new YouTubeApiException(response.statusCode().value(), body));
+    }
 }
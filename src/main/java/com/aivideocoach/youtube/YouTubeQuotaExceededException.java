@@ -0,0 +1,11 @@
+package com.aivideocoach.youtube;
+
+/**
+ * Raised before an outbound call when the local quota budget does not allow it.
+ */
+public class YouTubeQuotaExceededException extends RuntimeException {
+
+    public YouTubeQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,238 @@
+package com.aivideocoach.youtube;
+
+import com.aivideocoach.config.YouTubeQuotaProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ledger of YouTube Data API quota units spent today, globally and per tenant.
+ * Every outbound call is admitted (and charged) here first; callers read the
+ * current {@link Level} to degrade before the budget actually runs out.
+ * Tenant, priority and an optional per-batch {@link BatchBudget} travel in the Reactor context.
+ * Background work (refreshes, precompute) is charged to its own ledger entry and capped only by
+ * the background reserve, so it never spends a tenant's daily budget.
+ */
+@Component
+public class YouTubeQuotaManager {
+
+    private static final Logger log = LoggerFactory.getLogger(YouTubeQuotaManager.class);
+
+    public static final String TENANT_KEY = "youtube.quota.tenant";
+    public static final String PRIORITY_KEY = "youtube.quota.priority";
+    public static final String BATCH_BUDGET_KEY = "youtube.quota.batchBudget";
+    public static final String DEFAULT_TENANT = "default";
+    // Ledger entry for background work, which is bounded by background-reserve, not a tenant budget
+    public static final String BACKGROUND_LEDGER = "_background";
+
+    // YouTube quota days roll over at midnight Pacific time
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("America/Los_Angeles");
+
+    public enum Operation {
+        SEARCH(100), VIDEOS_LIST(1), CHANNELS_LIST(1);
+
+        private final int cost;
+
+        Operation(int cost) { this.cost = cost; }
+
+        public int cost() { return cost; }
+    }
+
+    public enum Priority { INTERACTIVE, BACKGROUND }
+
+    public enum Level { FULL, REDUCED, CACHE_ONLY }
+
+    private final YouTubeQuotaProperties props;
+
+    private LocalDate day;
+    private long used;
+    private final Map<String, Long> usedByTenant = new HashMap<>();
+    // Since startup, not reset at the day rollover, so they can be exported as monotonic counters
+    private final long[][] spentTotal = new long[Operation.values().length][Priority.values().length];
+    private long deniedTotal;
+
+    public YouTubeQuotaManager(YouTubeQuotaProperties props) {
+        this.props = props;
+        this.day = LocalDate.now(QUOTA_ZONE);
+    }
+
+    public static Context tenantContext(String tenant) {
+        return Context.of(TENANT_KEY, tenant != null && !tenant.isBlank() ? tenant : DEFAULT_TENANT);
+    }
+
+    public static Context backgroundContext() {
+        return Context.of(TENANT_KEY, DEFAULT_TENANT, PRIORITY_KEY, Priority.BACKGROUND);
+    }
+
+    /**
+     * Caps what one batch request may spend in total, on top of the tenant and global budgets.
+     */
+    public static Context batchContext(String tenant, BatchBudget budget) {
+        return tenantContext(tenant).put(BATCH_BUDGET_KEY, budget);
+    }
+
+    public static String tenant(ContextView ctx) {
+        return ctx.getOrDefault(TENANT_KEY, DEFAULT_TENANT);
+    }
+
+    public static Priority priority(ContextView ctx) {
+        return ctx.getOrDefault(PRIORITY_KEY, Priority.INTERACTIVE);
+    }
+
+    /**
+     * Admits the call against the tenant/priority in the subscriber context, or fails
+     * fast with {@link YouTubeQuotaExceededException}. A 403 quotaExceeded from Google
+     * marks the day as exhausted.
+     */
+    public <T> Mono<T> guard(Operation op, Mono<T> call) {
+        return Mono.deferContextual(ctx -> {
+            String tenant = tenant(ctx);
+            BatchBudget batch = ctx.getOrDefault(BATCH_BUDGET_KEY, null);
+            if (batch != null && !batch.tryCharge(op.cost())) {
+                return Mono.error(new YouTubeQuotaExceededException(
+                        "Batch quota budget exhausted for " + op + " (tenant=" + tenant + ")"));
+            }
+            if (!tryAcquire(tenant, priority(ctx), op)) {
+                if (batch != null) batch.refund(op.cost());
+                return Mono.error(new YouTubeQuotaExceededException(
+                        "YouTube quota budget exhausted for " + op + " (tenant=" + tenant + ")"));
+            }
+            return call.doOnError(YouTubeApiException.class, e -> {
+                if (e.getStatusCode() == 403 && e.getResponseBody() != null
+                        && e.getResponseBody().contains("quotaExceeded")) {
+                    markExhausted();
+                }
+            });
+        });
+    }
+
+    public synchronized boolean tryAcquire(String tenant, Priority priority, Operation op) {
+        rollOverIfNeeded();
+
+        if (level(tenant, priority) == Level.CACHE_ONLY) {
+            log.warn("QUOTA_DENIED: op={}, tenant={}, priority={}, used={}/{}", op, tenant, priority, used, props.getDailyBudget());
+            deniedTotal++;
+            return false;
+        }
+
+        String ledger = priority == Priority.BACKGROUND ? BACKGROUND_LEDGER : tenant;
+        long tenantUsed = usedByTenant.getOrDefault(ledger, 0L);
+        boolean overTenantBudget = priority != Priority.BACKGROUND && tenantUsed + op.cost() > props.getTenantDailyBudget();
+        if (used + op.cost() > props.getDailyBudget() || overTenantBudget) {
+            log.warn("QUOTA_DENIED: op={}, tenant={}, cost={}, used={}/{}, tenantUsed={}/{}", op, tenant, op.cost(),
+                    used, props.getDailyBudget(), tenantUsed, props.getTenantDailyBudget());
+            deniedTotal++;
+            return false;
+        }
+
+        used += op.cost();
+        usedByTenant.put(ledger, tenantUsed + op.cost());
+        spentTotal[op.ordinal()][priority.ordinal()] += op.cost();
+        return true;
+    }
+
+    public synchronized Level level(String tenant, Priority priority) {
+        rollOverIfNeeded();
+
+        double globalRemaining = 1.0 - used / (double) props.getDailyBudget();
+        double tenantRemaining = 1.0 - usedByTenant.getOrDefault(tenant, 0L) / (double) props.getTenantDailyBudget();
+        double remaining = Math.min(globalRemaining, tenantRemaining);
+
+        if (priority == Priority.BACKGROUND) {
+            // Background work never eats into the share reserved for live requests
+            return globalRemaining < props.getBackgroundReserve() ? Level.CACHE_ONLY : Level.FULL;
+        }
+        if (remaining <= props.getCacheOnlyThreshold()) return Level.CACHE_ONLY;
+        if (remaining <= props.getReducedThreshold()) return Level.REDUCED;
+        return Level.FULL;
+    }
+
+    public Mono<Level> currentLevel() {
+        return Mono.deferContextual(ctx -> {
+            // A batch that cannot afford another search serves what caches already hold
+            BatchBudget batch = ctx.getOrDefault(BATCH_BUDGET_KEY, null);
+            if (batch != null && batch.remaining() < Operation.SEARCH.cost()) {
+                return Mono.just(Level.CACHE_ONLY);
+            }
+            return Mono.just(level(tenant(ctx), priority(ctx)));
+        });
+    }
+
+    public synchronized void markExhausted() {
+        rollOverIfNeeded();
+        log.error("QUOTA_EXHAUSTED_BY_GOOGLE: used={}/{}", used, props.getDailyBudget());
+        used = props.getDailyBudget();
+    }
+
+    public synchronized Snapshot snapshot() {
+        rollOverIfNeeded();
+        return new Snapshot(day.toString(), props.getDailyBudget(), used,
+                Math.max(0, props.getDailyBudget() - used), Map.copyOf(usedByTenant));
+    }
+
+    /**
+     * Units charged for the operation at the priority since startup.
+     */
+    public synchronized long unitsSpent(Operation op, Priority priority) {
+        return spentTotal[op.ordinal()][priority.ordinal()];
+    }
+
+    /**
+     * Calls refused by the ledger since startup.
+     */
+    public synchronized long deniedCalls() {
+        return deniedTotal;
+    }
+
+    private void rollOverIfNeeded() {
+        LocalDate today = LocalDate.now(QUOTA_ZONE);
+        if (!today.equals(day)) {
+            log.info("QUOTA_RESET: previousDay={}, used={}", day, used);
+            day = today;
+            used = 0;
+            usedByTenant.clear();
+        }
+    }
+
+    public static final class BatchBudget {
+        private final AtomicLong remaining;
+
+        public BatchBudget(long units) {
+            this.remaining = new AtomicLong(units);
+        }
+
+        public long remaining() {
+            return remaining.get();
+        }
+
+        boolean tryCharge(int cost) {
+            long current;
+            do {
+                current = remaining.get();
+                if (current < cost) return false;
+            } while (!remaining.compareAndSet(current, current - cost));
+            return true;
+        }
+
+        void refund(int cost) {
+            remaining.addAndGet(cost);
+        }
+    }
+
+    public record Snapshot(
+            String day,
+            long dailyBudget,
+            long used,
+            long remaining,
+            Map<String, Long> usedByTenant
+    ) {}
+}
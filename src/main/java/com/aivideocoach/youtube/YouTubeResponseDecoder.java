@@ -0,0 +1,270 @@
+package com.aivideocoach.youtube;
+
+import com.aivideocoach.youtube.model.YoutubeChannelsResponse;
+import com.aivideocoach.youtube.model.YoutubeSearchResponse;
+import com.aivideocoach.youtube.model.YoutubeVideosResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming, field-selective decoder for YouTube Data API responses.
+ * Reads the raw response bytes token by token and only materializes the fields the
+ * inspiration pipeline uses (IDs, title, channel, publishedAt, statistics, duration);
+ * descriptions, thumbnails, tags, localizations etc. are skipped without allocation.
+ */
+public final class YouTubeResponseDecoder {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private YouTubeResponseDecoder() {}
+
+    public static YoutubeSearchResponse decodeSearch(byte[] body) {
+        try (JsonParser p = JSON.createParser(body)) {
+            List<YoutubeSearchResponse.Item> items = new ArrayList<>();
+            String nextPageToken = null;
+            YoutubeSearchResponse.PageInfo pageInfo = null;
+
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "items" -> readArray(p, () -> items.add(readSearchItem(p)));
+                    case "nextPageToken" -> nextPageToken = p.getValueAsString();
+                    case "pageInfo" -> pageInfo = readPageInfo(p);
+                    default -> p.skipChildren();
+                }
+            }
+            return new YoutubeSearchResponse(items, pageInfo, nextPageToken);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode YouTube search response", e);
+        }
+    }
+
+    public static YoutubeVideosResponse decodeVideos(byte[] body) {
+        try (JsonParser p = JSON.createParser(body)) {
+            List<YoutubeVideosResponse.Item> items = new ArrayList<>();
+
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("items".equals(field)) {
+                    readArray(p, () -> items.add(readVideoItem(p)));
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return new YoutubeVideosResponse(items);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode YouTube videos response", e);
+        }
+    }
+
+    public static YoutubeChannelsResponse decodeChannels(byte[] body) {
+        try (JsonParser p = JSON.createParser(body)) {
+            List<YoutubeChannelsResponse.Item> items = new ArrayList<>();
+
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("items".equals(field)) {
+                    readArray(p, () -> items.add(readChannelItem(p)));
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return new YoutubeChannelsResponse(items);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode YouTube channels response", e);
+        }
+    }
+
+    private static YoutubeSearchResponse.Item readSearchItem(JsonParser p) throws IOException {
+        String videoId = null;
+        expect(p.currentToken(), JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("id".equals(field) && p.currentToken() == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String idField = p.currentName();
+                    p.nextToken();
+                    if ("videoId".equals(idField)) {
+                        videoId = p.getValueAsString();
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else {
+                // The search snippet duplicates what videos.list returns - not needed
+                p.skipChildren();
+            }
+        }
+        return new YoutubeSearchResponse.Item(new YoutubeSearchResponse.Item.Id(videoId), null);
+    }
+
+    private static YoutubeSearchResponse.PageInfo readPageInfo(JsonParser p) throws IOException {
+        if (!isObject(p)) return null;
+        Integer totalResults = null;
+        Integer resultsPerPage = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "totalResults" -> totalResults = p.getValueAsInt();
+                case "resultsPerPage" -> resultsPerPage = p.getValueAsInt();
+                default -> p.skipChildren();
+            }
+        }
+        return new YoutubeSearchResponse.PageInfo(totalResults, resultsPerPage);
+    }
+
+    private static YoutubeVideosResponse.Item readVideoItem(JsonParser p) throws IOException {
+        String id = null;
+        YoutubeVideosResponse.Snippet snippet = null;
+        YoutubeVideosResponse.Statistics statistics = null;
+        YoutubeVideosResponse.ContentDetails contentDetails = null;
+
+        expect(p.currentToken(), JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> id = p.getValueAsString();
+                case "snippet" -> snippet = readVideoSnippet(p);
+                case "statistics" -> statistics = readVideoStatistics(p);
+                case "contentDetails" -> contentDetails = readContentDetails(p);
+                default -> p.skipChildren();
+            }
+        }
+        return new YoutubeVideosResponse.Item(id, snippet, statistics, contentDetails);
+    }
+
+    private static YoutubeVideosResponse.Snippet readVideoSnippet(JsonParser p) throws IOException {
+        if (!isObject(p)) return null;
+        String title = null, channelTitle = null, channelId = null, publishedAt = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "title" -> title = p.getValueAsString();
+                case "channelTitle" -> channelTitle = p.getValueAsString();
+                case "channelId" -> channelId = p.getValueAsString();
+                case "publishedAt" -> publishedAt = p.getValueAsString();
+                default -> p.skipChildren(); // description, thumbnails, tags, localized, ...
+            }
+        }
+        return new YoutubeVideosResponse.Snippet(title, channelTitle, channelId, publishedAt, null);
+    }
+
+    private static YoutubeVideosResponse.Statistics readVideoStatistics(JsonParser p) throws IOException {
+        if (!isObject(p)) return null;
+        String viewCount = null, likeCount = null, commentCount = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "viewCount" -> viewCount = p.getValueAsString();
+                case "likeCount" -> likeCount = p.getValueAsString();
+                case "commentCount" -> commentCount = p.getValueAsString();
+                default -> p.skipChildren();
+            }
+        }
+        return new YoutubeVideosResponse.Statistics(viewCount, likeCount, commentCount);
+    }
+
+    private static YoutubeVideosResponse.ContentDetails readContentDetails(JsonParser p) throws IOException {
+        if (!isObject(p)) return null;
+        String duration = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("duration".equals(field)) {
+                duration = p.getValueAsString();
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new YoutubeVideosResponse.ContentDetails(duration);
+    }
+
+    private static YoutubeChannelsResponse.Item readChannelItem(JsonParser p) throws IOException {
+        String id = null;
+        YoutubeChannelsResponse.Statistics statistics = null;
+
+        expect(p.currentToken(), JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("id".equals(field)) {
+                id = p.getValueAsString();
+            } else if ("statistics".equals(field) && p.currentToken() == JsonToken.START_OBJECT) {
+                String subscriberCount = null, videoCount = null, viewCount = null;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String statField = p.currentName();
+                    p.nextToken();
+                    switch (statField) {
+                        case "subscriberCount" -> subscriberCount = p.getValueAsString();
+                        case "videoCount" -> videoCount = p.getValueAsString();
+                        case "viewCount" -> viewCount = p.getValueAsString();
+                        default -> p.skipChildren();
+                    }
+                }
+                statistics = new YoutubeChannelsResponse.Statistics(subscriberCount, videoCount, viewCount);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new YoutubeChannelsResponse.Item(id, statistics);
+    }
+
+    private static void readArray(JsonParser p, ElementReader reader) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        // Null or scalar elements are skipped, not taken for the end of the array
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unexpected end of input in array");
+            }
+            if (token == JsonToken.START_OBJECT) {
+                reader.read();
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * True when the current value is an object; anything else (null, a scalar, an array)
+     * is skipped and read as a missing sub-object.
+     */
+    private static boolean isObject(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        p.skipChildren();
+        return false;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but got " + actual);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ElementReader {
+        void read() throws IOException;
+    }
+}
@@ -0,0 +1,10 @@
+package com.aivideocoach.youtube;
+
+public record YouTubeSearchQuery(
+        String query,
+        String publishedAfter,
+        int maxResults,
+        String relevanceLanguage, // optional
+        String regionCode,        // optional
+        String pageToken          // optional, nextPageToken of the previous page
+) {}
@@ -0,0 +1,20 @@
+package com.aivideocoach.youtube.dto;
+
+/**
+ * One line of a batch response. index is the item's position in the request; items are
+ * emitted in completion order, not request order.
+ */
+public record YoutubeInspirationBatchItem(
+        long index,
+        String status,       // "ok" or "error"
+        YoutubeInspirationResponse response,
+        String error
+) {
+    public static YoutubeInspirationBatchItem ok(long index, YoutubeInspirationResponse response) {
+        return new YoutubeInspirationBatchItem(index, "ok", response, null);
+    }
+
+    public static YoutubeInspirationBatchItem failed(long index, String error) {
+        return new YoutubeInspirationBatchItem(index, "error", null, error);
+    }
+}
@@ -0,0 +1,42 @@
+package com.aivideocoach.youtube.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Progress of one inspiration request, for streaming clients. Stages in order:
+ * "candidates" (new video IDs found on a search page), "details" (details and channel stats
+ * fetched for them), "ranking" (provisional top-N so far) and "final" (the full response).
+ * Answers served from a cache only produce "final".
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record YoutubeInspirationProgressEvent(
+        String stage,
+        Integer page,
+        Integer count,
+        Integer totalCandidates,
+        List<YoutubeVideoResult> results,
+        YoutubeInspirationResponse response
+) {
+    public static final String CANDIDATES = "candidates";
+    public static final String DETAILS = "details";
+    public static final String RANKING = "ranking";
+    public static final String FINAL = "final";
+
+    public static YoutubeInspirationProgressEvent candidates(int page, int count, int totalCandidates) {
+        return new YoutubeInspirationProgressEvent(CANDIDATES, page, count, totalCandidates, null, null);
+    }
+
+    public static YoutubeInspirationProgressEvent details(int page, int count) {
+        return new YoutubeInspirationProgressEvent(DETAILS, page, count, null, null, null);
+    }
+
+    public static YoutubeInspirationProgressEvent ranking(int page, List<YoutubeVideoResult> provisional) {
+        return new YoutubeInspirationProgressEvent(RANKING, page, provisional.size(), null, provisional, null);
+    }
+
+    public static YoutubeInspirationProgressEvent done(YoutubeInspirationResponse response) {
+        return new YoutubeInspirationProgressEvent(FINAL, null, null, null, null, response);
+    }
+}
@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
-public record YoutubeSearchResponse(List<Item> items, PageInfo pageInfo) {
+public record YoutubeSearchResponse(List<Item> items, PageInfo pageInfo, String nextPageToken) {
     
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record Item(Id id, Snippet snippet) {
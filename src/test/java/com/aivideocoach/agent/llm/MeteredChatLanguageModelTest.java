@@ -0,0 +1,72 @@
+package com.aivideocoach.agent.llm;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredChatLanguageModelTest {
+
+    static class EchoTool {
+        @Tool("Echoes its input")
+        public String echo(String text) {
+            return text;
+        }
+
+        public String notATool() {
+            return "";
+        }
+    }
+
+    @Test
+    void testRecordsLatencyAndTokensPerAgent() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ChatLanguageModel fake = new ChatLanguageModel() {
+            @Override
+            public Response<AiMessage> generate(List<ChatMessage> messages) {
+                return Response.from(AiMessage.from("ok"), new TokenUsage(120, 30));
+            }
+        };
+        ChatLanguageModel model = new MeteredChatLanguageModel(fake, "TestAgent", registry);
+
+        // When
+        model.generate(List.of(UserMessage.from("hi")));
+        model.generate(List.of(UserMessage.from("again")));
+
+        // Then
+        assertEquals(2, registry.get("llm.call.duration").tags("agent", "TestAgent", "outcome", "success").timer().count());
+        assertEquals(240, registry.get("llm.tokens").tags("agent", "TestAgent", "type", "input").summary().totalAmount());
+        assertEquals(60, registry.get("llm.tokens").tags("agent", "TestAgent", "type", "output").summary().totalAmount());
+    }
+
+    @Test
+    void testToolCallsAreTimedPerMethod() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Map<ToolSpecification, ToolExecutor> tools = MeteredToolExecutor.toolsOf("TestAgent", registry, new EchoTool());
+
+        // When
+        assertEquals(1, tools.size());
+        String result = tools.values().iterator().next().execute(ToolExecutionRequest.builder()
+                .id("1").name("echo").arguments("{\"text\":\"hello\"}").build(), "session");
+
+        // Then
+        assertEquals("hello", result);
+        assertEquals(1, registry.get("agent.tool.duration")
+                .tags("agent", "TestAgent", "tool", "echo", "outcome", "success").timer().count());
+    }
+}
@@ -0,0 +1,75 @@
+package com.aivideocoach.agent.llm;
+
+import com.aivideocoach.config.JfrProperties;
+import com.aivideocoach.jfr.JfrRecorder;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.service.MemoryId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracedAgentTest {
+
+    interface ChatAgent {
+        String chat(@MemoryId String sessionId, String message);
+    }
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLlmCallsAreTaggedWithTheTurnsSession() throws Exception {
+        // Given
+        ChatLanguageModel fake = new ChatLanguageModel() {
+            @Override
+            public Response<AiMessage> generate(List<ChatMessage> messages) {
+                return Response.from(AiMessage.from("ok"), new TokenUsage(120, 30));
+            }
+        };
+        ChatLanguageModel model = new MeteredChatLanguageModel(fake, "ChatAgent", new SimpleMeterRegistry());
+        ChatAgent agent = TracedAgent.wrap(ChatAgent.class,
+                (sessionId, message) -> model.generate(List.of(UserMessage.from(message))).content().text(),
+                new JfrRecorder(new JfrProperties()));
+        Path file = tempDir.resolve("turn.jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            recording.enable("com.aivideocoach.AgentTurn");
+            recording.enable("com.aivideocoach.LlmCall");
+            recording.start();
+            assertEquals("ok", agent.chat("session-1", "hi"));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent turn = single(events, "com.aivideocoach.AgentTurn");
+        RecordedEvent call = single(events, "com.aivideocoach.LlmCall");
+        assertEquals("session-1", turn.getString("sessionId"));
+        assertEquals("success", turn.getString("outcome"));
+        assertEquals("session-1", call.getString("sessionId"));
+        assertEquals(120, call.getInt("inputTokens"));
+        assertFalse(call.getStartTime().isBefore(turn.getStartTime()));
+        assertFalse(call.getEndTime().isAfter(turn.getEndTime()));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
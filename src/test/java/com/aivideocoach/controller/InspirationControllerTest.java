@@ -0,0 +1,48 @@
+package com.aivideocoach.controller;
+
+import com.aivideocoach.service.YoutubeInspirationService;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import com.aivideocoach.youtube.dto.YoutubeInspirationProgressEvent;
+import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
+import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InspirationControllerTest {
+
+    @Test
+    void testStreamNamesEachEventAfterItsStageUnderTheCallersTenant() {
+        // Given
+        YoutubeInspirationService service = mock(YoutubeInspirationService.class);
+        AtomicReference<String> tenant = new AtomicReference<>();
+        when(service.topVideosWithProgress(any())).thenReturn(Flux.deferContextual(ctx -> {
+            tenant.set(YouTubeQuotaManager.tenant(ctx));
+            return Flux.just(
+                    YoutubeInspirationProgressEvent.candidates(1, 12, 12),
+                    YoutubeInspirationProgressEvent.details(1, 12),
+                    YoutubeInspirationProgressEvent.ranking(1, List.of()),
+                    YoutubeInspirationProgressEvent.done(new YoutubeInspirationResponse(30, 12, List.of())));
+        }));
+        InspirationController controller = new InspirationController(service, null, null, null, null);
+        YoutubeInspirationRequest req = new YoutubeInspirationRequest("Gym", "fitness", null, "US", "en", List.of(), null);
+
+        // When
+        List<ServerSentEvent<YoutubeInspirationProgressEvent>> events =
+                controller.topYoutubeStream(req, "acme").collectList().block();
+
+        // Then
+        assertEquals(List.of("candidates", "details", "ranking", "final"),
+                events.stream().map(ServerSentEvent::event).toList());
+        assertEquals(12, events.get(3).data().response().totalCandidates());
+        assertEquals("acme", tenant.get());
+    }
+}
@@ -0,0 +1,88 @@
+package com.aivideocoach.http;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgerTest {
+
+    private static Hedger newHedger(double maxRatio) {
+        return new Hedger("test", 0.95, Duration.ofMillis(10), Duration.ofMillis(50), maxRatio);
+    }
+
+    @Test
+    void testHedgeWinsAndCancelsSlowPrimary() {
+        // Given - the first attempt hangs for a second, the second answers at once
+        Hedger hedger = newHedger(1.0);
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(1)).thenReturn("primary").doOnCancel(() -> primaryCancelled.set(true))
+                : Mono.just("hedge"));
+
+        // When
+        String result = hedger.execute(call, Mono.just(true)).block(Duration.ofMillis(500));
+
+        // Then
+        assertEquals("hedge", result);
+        assertTrue(primaryCancelled.get());
+        Hedger.Stats stats = hedger.stats();
+        assertEquals(1, stats.calls());
+        assertEquals(1, stats.hedged());
+        assertEquals(1, stats.hedgeWins());
+    }
+
+    @Test
+    void testNoHedgeWithoutPermit() {
+        // Given
+        Hedger hedger = newHedger(1.0);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(150)).thenReturn("primary");
+        });
+
+        // When - e.g. quota below FULL
+        String result = hedger.execute(call, Mono.just(false)).block();
+
+        // Then
+        assertEquals("primary", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedger.stats().hedged());
+    }
+
+    @Test
+    void testHedgeRatioIsCapped() {
+        // Given - every call is slow enough to hedge, but only 10% may be hedged
+        Hedger hedger = newHedger(0.10);
+        Mono<String> slow = Mono.delay(Duration.ofMillis(80)).thenReturn("ok");
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            hedger.execute(slow, Mono.just(true)).block();
+        }
+
+        // Then
+        assertEquals(20, hedger.stats().calls());
+        assertEquals(2, hedger.stats().hedged());
+    }
+
+    @Test
+    void testFailedHedgeDoesNotFailTheCall() {
+        // Given
+        Hedger hedger = newHedger(1.0);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(150)).thenReturn("primary")
+                : Mono.error(new IllegalStateException("hedge failed")));
+
+        // When / Then
+        assertEquals("primary", hedger.execute(call, Mono.just(true)).block());
+        assertEquals(0, hedger.stats().hedgeWins());
+    }
+}
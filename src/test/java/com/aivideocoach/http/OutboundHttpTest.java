@@ -0,0 +1,135 @@
+package com.aivideocoach.http;
+
+import com.aivideocoach.config.OutboundHttpProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpTest {
+
+    private static class StatusException extends RuntimeException implements HttpStatusError {
+        private final int status;
+
+        StatusException(int status) {
+            super("HTTP " + status);
+            this.status = status;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return status;
+        }
+    }
+
+    private static OutboundHttp newOutbound() {
+        OutboundHttpProperties props = new OutboundHttpProperties();
+        props.setRetryInitialBackoff(Duration.ofMillis(1));
+        props.setRetryMaxBackoff(Duration.ofMillis(5));
+        props.setBreakerWindowSize(4);
+        props.setBreakerMinimumCalls(4);
+        return new OutboundHttp(props);
+    }
+
+    @Test
+    void testTransientErrorsAreRetried() {
+        // Given - two 503s, then success
+        OutboundHttp outbound = newOutbound();
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(new StatusException(503))
+                : Mono.just("ok"));
+
+        // When
+        String result = outbound.execute("api.example.com", call).block();
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testClientErrorsAreNotRetried() {
+        // Given
+        OutboundHttp outbound = newOutbound();
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new StatusException(404));
+        });
+
+        // When / Then
+        assertThrows(StatusException.class, () -> outbound.execute("api.example.com", call).block());
+        assertEquals(1, attempts.get());
+        assertEquals(CircuitBreaker.State.CLOSED, outbound.breaker("api.example.com").state());
+    }
+
+    @Test
+    void testOpenCircuitFailsFastWithoutCallingHost() {
+        // Given - every attempt fails with 500; 2 calls x 3 attempts overflow the window
+        OutboundHttp outbound = newOutbound();
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new StatusException(500));
+        });
+        assertThrows(RuntimeException.class, () -> outbound.execute("slow.example.com", failing).block());
+        assertThrows(RuntimeException.class, () -> outbound.execute("slow.example.com", failing).block());
+        int attemptsBeforeOpen = attempts.get();
+
+        // When
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> outbound.execute("slow.example.com", failing).block());
+
+        // Then
+        assertInstanceOf(CircuitOpenException.class, error);
+        assertEquals(attemptsBeforeOpen, attempts.get());
+        assertEquals(CircuitBreaker.State.OPEN, outbound.breaker("slow.example.com").state());
+        // Other hosts are unaffected
+        assertEquals("ok", outbound.execute("other.example.com", Mono.just("ok")).block());
+    }
+
+    @Test
+    void testHungAttemptsTimeOutAndOpenTheCircuit() {
+        // Given - a host that never answers
+        OutboundHttp outbound = newOutbound();
+        Mono<String> hung = Mono.never();
+
+        // When - four calls fill the breaker window
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class,
+                    () -> outbound.execute("hung.example.com", Duration.ofMillis(20), hung).block(Duration.ofSeconds(5)));
+        }
+
+        // Then - each timeout counted as a failure
+        assertEquals(CircuitBreaker.State.OPEN, outbound.breaker("hung.example.com").state());
+        assertInstanceOf(CircuitOpenException.class, assertThrows(RuntimeException.class,
+                () -> outbound.execute("hung.example.com", Duration.ofMillis(20), hung).block()));
+    }
+
+    @Test
+    void testHalfOpenProbesCloseTheCircuit() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("h", 4, 2, 0.5, Duration.ofSeconds(10), 1, clock::get);
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onFailure();
+        }
+        assertFalse(breaker.tryAcquirePermission());
+
+        // When - the open period elapses and the probe succeeds
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission()); // only one probe at a time
+        breaker.onSuccess();
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+}
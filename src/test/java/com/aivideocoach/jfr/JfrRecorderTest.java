@@ -0,0 +1,73 @@
+package com.aivideocoach.jfr;
+
+import com.aivideocoach.config.JfrProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testOnlyTheNewestDumpsAreKept() throws IOException {
+        // Given
+        JfrProperties props = new JfrProperties();
+        props.setMaxDumps(3);
+        JfrRecorder recorder = new JfrRecorder(props);
+        for (int day = 1; day <= 5; day++) {
+            dump("slow-turn-2026-01-0" + day + "T00-00-00Z.jfr", 100);
+        }
+        dump("notes.txt", 100);
+
+        // When
+        recorder.pruneDumps(tempDir);
+
+        // Then
+        assertEquals(List.of("notes.txt", "slow-turn-2026-01-03T00-00-00Z.jfr",
+                "slow-turn-2026-01-04T00-00-00Z.jfr", "slow-turn-2026-01-05T00-00-00Z.jfr"), files());
+    }
+
+    @Test
+    void testDumpsAreCappedByTotalSizeButTheNewestSurvives() throws IOException {
+        // Given
+        JfrProperties props = new JfrProperties();
+        props.setMaxDumpBytes(DataSize.ofBytes(250));
+        JfrRecorder recorder = new JfrRecorder(props);
+        dump("slow-turn-2026-01-01T00-00-00Z.jfr", 100);
+        dump("slow-turn-2026-01-02T00-00-00Z.jfr", 100);
+        dump("slow-turn-2026-01-03T00-00-00Z.jfr", 100);
+
+        // When
+        recorder.pruneDumps(tempDir);
+
+        // Then
+        assertEquals(List.of("slow-turn-2026-01-02T00-00-00Z.jfr", "slow-turn-2026-01-03T00-00-00Z.jfr"), files());
+
+        // When - a single dump larger than the cap
+        dump("slow-turn-2026-01-04T00-00-00Z.jfr", 400);
+        recorder.pruneDumps(tempDir);
+
+        // Then
+        assertEquals(List.of("slow-turn-2026-01-04T00-00-00Z.jfr"), files());
+    }
+
+    private void dump(String name, int bytes) throws IOException {
+        Files.write(tempDir.resolve(name), new byte[bytes]);
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.map(f -> f.getFileName().toString()).sorted().toList();
+        }
+    }
+}
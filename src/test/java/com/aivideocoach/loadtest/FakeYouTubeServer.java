@@ -0,0 +1,393 @@
+package com.aivideocoach.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embeddable stand-in for the YouTube Data API (search, videos, channels) and the
+ * Anthropic messages endpoint, so the app can be exercised without real quota.
+ *
+ * Responses are synthetic and deterministic per request (or served from recorded
+ * fixtures), with configurable latency and error rate. ETags are honoured.
+ *
+ * Point the app at it with:
+ *   YOUTUBE_BASE_URL=http://localhost:9090/youtube/v3
+ *   ANTHROPIC_BASE_URL=http://localhost:9090/anthropic/v1/
+ */
+public class FakeYouTubeServer implements AutoCloseable {
+
+    public static class Options {
+        public int port = 9090;
+        /** Base latency added to every YouTube response, plus uniform jitter. */
+        public long latencyMs = 80;
+        public long jitterMs = 40;
+        /** Base latency for the fake LLM endpoint. */
+        public long llmLatencyMs = 400;
+        /** Fraction of YouTube requests answered with errorStatus. */
+        public double errorRate = 0.0;
+        public int errorStatus = 503;
+        /** Directory with recorded search.json / videos.json / channels.json; synthetic when absent. */
+        public Path fixturesDir;
+        /** Result pages per query before nextPageToken stops. */
+        public int maxPages = 5;
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String[] DOMAINS = {"fitness", "cooking", "real estate", "dental clinic", "yoga studio"};
+
+    private final Options options;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    // Fixed reference time keeps payloads (and therefore ETags) stable between requests
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.HOURS);
+
+    public FakeYouTubeServer(Options options) throws IOException {
+        this.options = options;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", options.port), 1024);
+        // Latency is simulated by sleeping, so every in-flight request needs its own thread
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/youtube/v3/search", exchange -> handleYouTube(exchange, "search", this::search));
+        server.createContext("/youtube/v3/videos", exchange -> handleYouTube(exchange, "videos", this::videos));
+        server.createContext("/youtube/v3/channels", exchange -> handleYouTube(exchange, "channels", this::channels));
+        server.createContext("/anthropic/v1/messages", this::handleMessages);
+        server.createContext("/__stats", this::handleStats);
+    }
+
+    public FakeYouTubeServer start() {
+        server.start();
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String youTubeBaseUrl() {
+        return "http://127.0.0.1:" + port() + "/youtube/v3";
+    }
+
+    public String anthropicBaseUrl() {
+        return "http://127.0.0.1:" + port() + "/anthropic/v1/";
+    }
+
+    public long requestCount(String endpoint) {
+        AtomicLong count = requestCounts.get(endpoint);
+        return count != null ? count.get() : 0;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // ---------------------------------------------------------------- YouTube
+
+    private void handleYouTube(HttpExchange exchange, String endpoint, ResponseFactory factory) throws IOException {
+        try (exchange) {
+            requestCounts.computeIfAbsent(endpoint, k -> new AtomicLong()).incrementAndGet();
+            sleep(options.latencyMs + (options.jitterMs > 0 ? ThreadLocalRandom.current().nextLong(options.jitterMs + 1) : 0));
+
+            if (options.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < options.errorRate) {
+                send(exchange, options.errorStatus, errorBody(options.errorStatus), null);
+                return;
+            }
+
+            Map<String, String> params = queryParams(exchange.getRequestURI().getRawQuery());
+            if (params.getOrDefault("key", "").isBlank()) {
+                send(exchange, 400, errorBody(400), null);
+                return;
+            }
+
+            byte[] body = recorded(endpoint);
+            if (body == null) {
+                body = JSON.writeValueAsBytes(factory.create(params));
+            }
+
+            String etag = "\"" + Integer.toHexString(java.util.Arrays.hashCode(body)) + "\"";
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.getResponseHeaders().set("ETag", etag);
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            send(exchange, 200, body, etag);
+        }
+    }
+
+    private ObjectNode search(Map<String, String> params) {
+        String q = params.getOrDefault("q", "");
+        int maxResults = Integer.parseInt(params.getOrDefault("maxResults", "25"));
+        int page = params.containsKey("pageToken") ? Integer.parseInt(params.get("pageToken").substring(1)) : 0;
+
+        ObjectNode root = JSON.createObjectNode();
+        root.put("kind", "youtube#searchListResponse");
+        root.put("regionCode", params.getOrDefault("regionCode", "US"));
+        if (page + 1 < options.maxPages) {
+            root.put("nextPageToken", "P" + (page + 1));
+        }
+        ObjectNode pageInfo = root.putObject("pageInfo");
+        pageInfo.put("totalResults", options.maxPages * maxResults);
+        pageInfo.put("resultsPerPage", maxResults);
+
+        ArrayNode items = root.putArray("items");
+        for (int i = 0; i < maxResults; i++) {
+            String videoId = videoId(q, page * maxResults + i);
+            ObjectNode item = items.addObject();
+            item.put("kind", "youtube#searchResult");
+            item.putObject("id").put("kind", "youtube#video").put("videoId", videoId);
+            ObjectNode snippet = item.putObject("snippet");
+            snippet.put("title", "Synthetic video " + videoId);
+            snippet.put("channelTitle", "Channel " + channelIndex(videoId));
+            snippet.put("publishedAt", publishedAt(videoId));
+        }
+        return root;
+    }
+
+    private ObjectNode videos(Map<String, String> params) {
+        ObjectNode root = JSON.createObjectNode();
+        root.put("kind", "youtube#videoListResponse");
+        ArrayNode items = root.putArray("items");
+        for (String id : params.getOrDefault("id", "").split(",")) {
+            if (id.isBlank()) continue;
+            long h = hash(id);
+            long views = 10_000 + Math.floorMod(h, 5_000_000L);
+
+            ObjectNode item = items.addObject();
+            item.put("kind", "youtube#video");
+            item.put("id", id);
+            ObjectNode snippet = item.putObject("snippet");
+            snippet.put("publishedAt", publishedAt(id));
+            snippet.put("channelId", "UCfake" + channelIndex(id));
+            snippet.put("title", DOMAINS[(int) Math.floorMod(h, (long) DOMAINS.length)] + " tips #" + Math.floorMod(h, 1000L));
+            snippet.put("description", "Synthetic description for " + id + ". ".repeat(20));
+            snippet.put("channelTitle", "Channel " + channelIndex(id));
+            ObjectNode thumbnails = snippet.putObject("thumbnails");
+            for (String size : List.of("default", "medium", "high")) {
+                thumbnails.putObject(size).put("url", "https://i.ytimg.com/vi/" + id + "/" + size + ".jpg");
+            }
+            item.putObject("contentDetails").put("duration", "PT" + (1 + Math.floorMod(h >> 8, 19L)) + "M" + Math.floorMod(h >> 16, 60L) + "S");
+            ObjectNode stats = item.putObject("statistics");
+            stats.put("viewCount", Long.toString(views));
+            stats.put("likeCount", Long.toString(views * (2 + Math.floorMod(h >> 4, 5L)) / 100));
+            stats.put("commentCount", Long.toString(views / (200 + Math.floorMod(h >> 12, 300L))));
+        }
+        return root;
+    }
+
+    private ObjectNode channels(Map<String, String> params) {
+        ObjectNode root = JSON.createObjectNode();
+        root.put("kind", "youtube#channelListResponse");
+        ArrayNode items = root.putArray("items");
+        for (String id : params.getOrDefault("id", "").split(",")) {
+            if (id.isBlank()) continue;
+            ObjectNode item = items.addObject();
+            item.put("id", id);
+            item.putObject("statistics")
+                    .put("subscriberCount", Long.toString(1_000 + Math.floorMod(hash(id), 2_000_000L)))
+                    .put("hiddenSubscriberCount", false);
+        }
+        return root;
+    }
+
+    // -------------------------------------------------------------- Anthropic
+
+    /**
+     * Minimal messages API: the first turn calls the topYoutube tool when it is offered,
+     * the turn after a tool result answers with plain text.
+     */
+    private void handleMessages(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCounts.computeIfAbsent("messages", k -> new AtomicLong()).incrementAndGet();
+            JsonNode request = JSON.readTree(exchange.getRequestBody());
+            sleep(options.llmLatencyMs + (options.jitterMs > 0 ? ThreadLocalRandom.current().nextLong(options.jitterMs + 1) : 0));
+
+            ObjectNode response = JSON.createObjectNode();
+            response.put("id", "msg_fake_" + ThreadLocalRandom.current().nextInt(1_000_000));
+            response.put("type", "message");
+            response.put("role", "assistant");
+            response.put("model", request.path("model").asText("fake"));
+            ArrayNode content = response.putArray("content");
+
+            if (offersTool(request, "topYoutube") && !lastMessageHasToolResult(request)) {
+                String domain = DOMAINS[ThreadLocalRandom.current().nextInt(DOMAINS.length)];
+                ObjectNode toolUse = content.addObject();
+                toolUse.put("type", "tool_use");
+                toolUse.put("id", "toolu_fake_" + ThreadLocalRandom.current().nextInt(1_000_000));
+                toolUse.put("name", "topYoutube");
+                ObjectNode input = toolUse.putObject("input");
+                input.put("businessName", "Load Test " + domain);
+                input.put("domain", domain);
+                input.put("targetAudience", "beginners");
+                input.putArray("keywords").add("tips").add("tutorial");
+                input.put("language", "en");
+                input.put("location", "US");
+                response.put("stop_reason", "tool_use");
+            } else {
+                content.addObject().put("type", "text").put("text", "Here are a few video ideas based on the top results.");
+                response.put("stop_reason", "end_turn");
+            }
+            response.putNull("stop_sequence");
+            response.putObject("usage").put("input_tokens", 100).put("output_tokens", 40);
+
+            send(exchange, 200, JSON.writeValueAsBytes(response), null);
+        }
+    }
+
+    private static boolean offersTool(JsonNode request, String name) {
+        for (JsonNode tool : request.path("tools")) {
+            if (name.equals(tool.path("name").asText())) return true;
+        }
+        return false;
+    }
+
+    private static boolean lastMessageHasToolResult(JsonNode request) {
+        JsonNode messages = request.path("messages");
+        JsonNode last = messages.path(messages.size() - 1);
+        for (JsonNode block : last.path("content")) {
+            if ("tool_result".equals(block.path("type").asText())) return true;
+        }
+        return false;
+    }
+
+    // ------------------------------------------------------------------ misc
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            ObjectNode stats = JSON.createObjectNode();
+            requestCounts.forEach((endpoint, count) -> stats.put(endpoint, count.get()));
+            send(exchange, 200, JSON.writeValueAsBytes(stats), null);
+        }
+    }
+
+    private byte[] recorded(String endpoint) throws IOException {
+        if (options.fixturesDir == null) return null;
+        Path file = options.fixturesDir.resolve(endpoint + ".json");
+        return Files.exists(file) ? Files.readAllBytes(file) : null;
+    }
+
+    private static byte[] errorBody(int status) {
+        String reason = switch (status) {
+            case 403 -> "quotaExceeded";
+            case 429 -> "rateLimitExceeded";
+            case 400 -> "keyInvalid";
+            default -> "backendError";
+        };
+        return ("{\"error\":{\"code\":" + status + ",\"message\":\"fake " + reason + "\","
+                + "\"errors\":[{\"reason\":\"" + reason + "\"}]}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body, String etag) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", etag);
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String videoId(String query, int index) {
+        long h = hash(query + "#" + index);
+        return ("fk" + Long.toString(h >>> 1, 36) + "00000000000").substring(0, 11);
+    }
+
+    private static long channelIndex(String videoId) {
+        return Math.floorMod(hash(videoId) >> 20, 200L);
+    }
+
+    private String publishedAt(String videoId) {
+        // Spread over the last 30 days so the search window always matches
+        long hours = 1 + Math.floorMod(hash(videoId) >> 24, 29L * 24);
+        return now.minus(hours, ChronoUnit.HOURS).toString();
+    }
+
+    private static long hash(String value) {
+        long h = 1125899906842597L;
+        for (int i = 0; i < value.length(); i++) {
+            h = 31 * h + value.charAt(i);
+        }
+        // splitmix64 finalizer so similar inputs spread over all bits
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseFactory {
+        ObjectNode create(Map<String, String> params);
+    }
+
+    /**
+     * Usage: FakeYouTubeServer [--port 9090] [--latency-ms 80] [--jitter-ms 40] [--llm-latency-ms 400]
+     *                          [--error-rate 0.0] [--error-status 503] [--fixtures dir] [--max-pages 5]
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = new Options();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port" -> options.port = Integer.parseInt(value);
+                case "--latency-ms" -> options.latencyMs = Long.parseLong(value);
+                case "--jitter-ms" -> options.jitterMs = Long.parseLong(value);
+                case "--llm-latency-ms" -> options.llmLatencyMs = Long.parseLong(value);
+                case "--error-rate" -> options.errorRate = Double.parseDouble(value);
+                case "--error-status" -> options.errorStatus = Integer.parseInt(value);
+                case "--fixtures" -> options.fixturesDir = Path.of(value);
+                case "--max-pages" -> options.maxPages = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        FakeYouTubeServer server = new FakeYouTubeServer(options).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Fake YouTube API: " + server.youTubeBaseUrl());
+        System.out.println("Fake Anthropic API: " + server.anthropicBaseUrl());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,78 @@
+package com.aivideocoach.loadtest;
+
+import com.aivideocoach.config.OutboundHttpProperties;
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.config.YouTubeQuotaProperties;
+import com.aivideocoach.http.OutboundHttp;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.youtube.YouTubeApiException;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import com.aivideocoach.youtube.YouTubeSearchQuery;
+import com.aivideocoach.youtube.model.YoutubeSearchResponse;
+import com.aivideocoach.youtube.model.YoutubeVideosResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FakeYouTubeServerTest {
+
+    private static FakeYouTubeServer.Options options(double errorRate) {
+        FakeYouTubeServer.Options options = new FakeYouTubeServer.Options();
+        options.port = 0;
+        options.latencyMs = 0;
+        options.jitterMs = 0;
+        options.errorRate = errorRate;
+        return options;
+    }
+
+    private static YouTubeClient client(FakeYouTubeServer server) {
+        return new YouTubeClient(WebClient.create(server.youTubeBaseUrl()), new YouTubeProperties(),
+                new YouTubeQuotaManager(new YouTubeQuotaProperties()),
+                new OutboundHttp(new OutboundHttpProperties()), new SingleFlightRegistry(), "fake-key", "");
+    }
+
+    @Test
+    void testClientPagesSearchAndRevalidatesVideos() throws IOException {
+        try (FakeYouTubeServer server = new FakeYouTubeServer(options(0)).start()) {
+            // Given
+            YouTubeClient client = client(server);
+
+            // When
+            YoutubeSearchResponse first = client.search(
+                    new YouTubeSearchQuery("fitness tips", "2026-01-01T00:00:00Z", 25, "en", "US", null)).block();
+            YoutubeSearchResponse second = client.search(
+                    new YouTubeSearchQuery("fitness tips", "2026-01-01T00:00:00Z", 25, "en", "US", first.nextPageToken())).block();
+            List<String> ids = first.items().stream().map(item -> item.id().videoId()).toList();
+            YoutubeVideosResponse videos = client.listVideos(ids).block();
+            client.listVideos(ids).block();
+
+            // Then
+            assertEquals(25, first.items().size());
+            assertNotEquals(first.items().get(0).id().videoId(), second.items().get(0).id().videoId());
+            assertEquals(25, videos.items().size());
+            assertNotNull(videos.items().get(0).statistics().viewCount());
+            assertEquals(2, server.requestCount("videos"));
+            assertTrue(client.conditionalRequestStats().stream().anyMatch(s -> s.notModified() == 1));
+        }
+    }
+
+    @Test
+    void testInjectedErrorsSurfaceAsApiExceptions() throws IOException {
+        try (FakeYouTubeServer server = new FakeYouTubeServer(options(1.0)).start()) {
+            // Given
+            YouTubeClient client = client(server);
+
+            // When
+            YouTubeApiException error = assertThrows(YouTubeApiException.class,
+                    () -> client.listChannels(List.of("UC1")).block());
+
+            // Then
+            assertEquals(503, error.getStatusCode());
+        }
+    }
+}
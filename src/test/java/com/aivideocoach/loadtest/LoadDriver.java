@@ -0,0 +1,217 @@
+package com.aivideocoach.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-loop load driver for /api/inspiration/top-youtube and /api/agent/chat.
+ *
+ * Requests are issued on a fixed schedule regardless of how fast responses come back,
+ * and latency is measured from the scheduled send time, so a slow server shows up in
+ * the percentiles instead of silently lowering the offered rate.
+ *
+ * Usage: LoadDriver [--target http://localhost:8081] [--scenario inspiration|chat|mixed]
+ *                   [--rps 20] [--duration 30] [--warmup 5] [--distinct-queries 50] [--timeout 30]
+ */
+public class LoadDriver {
+
+    public enum Scenario { INSPIRATION, CHAT, MIXED }
+
+    public static class Options {
+        public String target = "http://localhost:8081";
+        public Scenario scenario = Scenario.INSPIRATION;
+        public double rps = 20;
+        public int durationSeconds = 30;
+        public int warmupSeconds = 5;
+        /** Size of the request pool; smaller values mean more cache and coalescing hits. */
+        public int distinctQueries = 50;
+        public int timeoutSeconds = 30;
+    }
+
+    public record Report(String endpoint, long sent, long ok, long errors, double throughput,
+                         long p50Millis, long p90Millis, long p99Millis, long maxMillis) {
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%-28s sent=%d ok=%d errors=%d throughput=%.1f/s p50=%dms p90=%dms p99=%dms max=%dms",
+                    endpoint, sent, ok, errors, throughput, p50Millis, p90Millis, p99Millis, maxMillis);
+        }
+    }
+
+    private static final String[] DOMAINS = {"fitness", "cooking", "real estate", "dental clinic", "yoga studio"};
+    private static final String[] KEYWORDS = {"tips", "tutorial", "beginners", "mistakes", "routine", "review"};
+
+    private final Options options;
+    private final HttpClient client;
+
+    public LoadDriver(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+    }
+
+    public List<Report> run() throws InterruptedException {
+        if (options.warmupSeconds > 0) {
+            System.out.println("Warm-up for " + options.warmupSeconds + "s...");
+            drive(options.warmupSeconds);
+        }
+        System.out.printf(Locale.ROOT, "Measuring %s at %.1f rps for %ds against %s%n",
+                options.scenario, options.rps, options.durationSeconds, options.target);
+        return drive(options.durationSeconds);
+    }
+
+    private List<Report> drive(int seconds) throws InterruptedException {
+        Recorder inspiration = new Recorder("POST /api/inspiration/top-youtube");
+        Recorder chat = new Recorder("POST /api/agent/chat");
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        long intervalNanos = (long) (1_000_000_000L / options.rps);
+        long total = (long) (options.rps * seconds);
+        long started = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long scheduledAt = started + i * intervalNanos;
+            long waitNanos = scheduledAt - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            boolean useChat = switch (options.scenario) {
+                case CHAT -> true;
+                case INSPIRATION -> false;
+                case MIXED -> (i % 2) == 1;
+            };
+            Recorder recorder = useChat ? chat : inspiration;
+            HttpRequest request = useChat ? chatRequest() : inspirationRequest();
+            recorder.sent.incrementAndGet();
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> recorder.record(scheduledAt,
+                            error == null && isSuccess(response))));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .orTimeout(options.timeoutSeconds, TimeUnit.SECONDS)
+                .exceptionally(e -> null)
+                .join();
+
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        List<Report> reports = new ArrayList<>();
+        for (Recorder recorder : List.of(inspiration, chat)) {
+            if (recorder.sent.get() > 0) {
+                reports.add(recorder.report(elapsedSeconds));
+            }
+        }
+        return reports;
+    }
+
+    private HttpRequest inspirationRequest() {
+        int variant = ThreadLocalRandom.current().nextInt(options.distinctQueries);
+        String domain = DOMAINS[variant % DOMAINS.length];
+        String keyword = KEYWORDS[(variant / DOMAINS.length) % KEYWORDS.length];
+        String body = """
+                {"businessName":"Load test %d","domain":"%s","targetAudience":"beginners",
+                 "location":"US","language":"en","keywords":["%s","v%d"]}"""
+                .formatted(variant, domain, keyword, variant);
+        return post("/api/inspiration/top-youtube", body);
+    }
+
+    private HttpRequest chatRequest() {
+        int variant = ThreadLocalRandom.current().nextInt(options.distinctQueries);
+        String body = """
+                {"sessionId":"load-%d-%d","message":"Find top YouTube videos for my %s business"}"""
+                .formatted(variant, ThreadLocalRandom.current().nextInt(), DOMAINS[variant % DOMAINS.length]);
+        return post("/api/agent/chat", body);
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(options.target + path))
+                .timeout(Duration.ofSeconds(options.timeoutSeconds))
+                .header("Content-Type", "application/json")
+                .header("X-Tenant-Id", "loadtest")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * The inspiration endpoint reports failures in-band as a single "error" result with HTTP 200.
+     */
+    private static boolean isSuccess(HttpResponse<String> response) {
+        return response.statusCode() < 400 && !response.body().contains("\"videoId\":\"error\"");
+    }
+
+    /**
+     * Nearest-rank percentile over sorted latencies.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static final class Recorder {
+        private final String endpoint;
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final List<Long> latenciesNanos = new ArrayList<>();
+
+        private Recorder(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void record(long scheduledAtNanos, boolean ok) {
+            long latency = System.nanoTime() - scheduledAtNanos;
+            synchronized (latenciesNanos) {
+                if (ok) {
+                    latenciesNanos.add(latency);
+                } else {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+
+        private Report report(double elapsedSeconds) {
+            long[] sorted;
+            synchronized (latenciesNanos) {
+                sorted = latenciesNanos.stream().mapToLong(nanos -> nanos / 1_000_000).toArray();
+            }
+            Arrays.sort(sorted);
+            return new Report(endpoint, sent.get(), sorted.length, errors.get(), sorted.length / elapsedSeconds,
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--target" -> options.target = value;
+                case "--scenario" -> options.scenario = Scenario.valueOf(value.toUpperCase(Locale.ROOT));
+                case "--rps" -> options.rps = Double.parseDouble(value);
+                case "--duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "--distinct-queries" -> options.distinctQueries = Integer.parseInt(value);
+                case "--timeout" -> options.timeoutSeconds = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        for (Report report : new LoadDriver(options).run()) {
+            System.out.println(report);
+        }
+        System.exit(0);
+    }
+}
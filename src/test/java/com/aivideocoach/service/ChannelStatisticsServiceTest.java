@@ -0,0 +1,129 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.MetadataStoreProperties;
+import com.aivideocoach.config.OutboundHttpProperties;
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.config.YouTubeQuotaProperties;
+import com.aivideocoach.http.OutboundHttp;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelStatisticsServiceTest {
+
+    // Served by the fake API: the statistics object per channel ID, absent channels are not returned
+    private final Map<String, String> statistics = new HashMap<>();
+    private final List<List<String>> requestedIds = new ArrayList<>();
+
+    @Test
+    void testMissesAreFetchedInBatchesOfFifty() {
+        // Given
+        ChannelStatisticsService service = newService();
+        List<String> ids = channels("UC", 120);
+        List<String> requested = new ArrayList<>(ids);
+        requested.addAll(Arrays.asList("UC0", null, " "));
+
+        // When
+        Map<String, Long> counts = service.subscriberCounts(requested).block();
+
+        // Then - each distinct ID is asked for once
+        assertEquals(120, counts.size());
+        assertEquals(119L, counts.get("UC119"));
+        assertEquals(List.of(50, 50, 20), requestedIds.stream().map(List::size).sorted(Comparator.reverseOrder()).toList());
+        assertEquals(120, requestedIds.stream().flatMap(List::stream).distinct().count());
+    }
+
+    @Test
+    void testCachedCountsAreNotFetchedAgain() {
+        // Given
+        ChannelStatisticsService service = newService();
+        List<String> ids = channels("UC", 3);
+        service.subscriberCounts(ids).block();
+        requestedIds.clear();
+        statistics.put("UC1", "{\"subscriberCount\":\"999\"}");
+
+        channels("UCnew", 1);
+
+        // When
+        Map<String, Long> counts = service.subscriberCounts(List.of("UC0", "UC1", "UCnew0")).block();
+
+        // Then - only the new channel is fetched; cached counts are served as they were
+        assertEquals(List.of(List.of("UCnew0")), requestedIds);
+        assertEquals(Map.of("UC0", 0L, "UC1", 1L, "UCnew0", 0L), counts);
+    }
+
+    @Test
+    void testHiddenSubscriberCountsAreZeroAndUnknownChannelsAbsent() {
+        // Given
+        ChannelStatisticsService service = newService();
+        statistics.put("UChidden", "{\"hiddenSubscriberCount\":true}");
+        statistics.put("UCnostats", null);
+        statistics.put("UCgarbled", "{\"subscriberCount\":\"many\"}");
+        statistics.put("UCpublic", "{\"subscriberCount\":\"1500\"}");
+
+        // When
+        Map<String, Long> counts = service.subscriberCounts(
+                List.of("UChidden", "UCnostats", "UCgarbled", "UCpublic", "UCdeleted")).block();
+
+        // Then
+        assertEquals(Map.of("UChidden", 0L, "UCnostats", 0L, "UCgarbled", 0L, "UCpublic", 1500L), counts);
+    }
+
+    private ChannelStatisticsService newService() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String ids = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst("id");
+                    List<String> requested = List.of(ids.split(","));
+                    synchronized (requestedIds) {
+                        requestedIds.add(requested);
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .body(channelsBody(requested))
+                            .build());
+                })
+                .build();
+        YouTubeProperties props = new YouTubeProperties();
+        YouTubeClient client = new YouTubeClient(webClient, props,
+                new YouTubeQuotaManager(new YouTubeQuotaProperties()),
+                new OutboundHttp(new OutboundHttpProperties()), new SingleFlightRegistry(), "test-key", "");
+        MetadataStoreProperties storeProps = new MetadataStoreProperties();
+        storeProps.setEnabled(false);
+        return new ChannelStatisticsService(client, props, new VideoMetadataStore(storeProps));
+    }
+
+    /** Registers count channels whose subscriber count is their index, and returns their IDs. */
+    private List<String> channels(String prefix, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(prefix + i);
+            statistics.put(prefix + i, "{\"subscriberCount\":\"" + i + "\"}");
+        }
+        return ids;
+    }
+
+    private String channelsBody(List<String> requested) {
+        return requested.stream()
+                .filter(statistics::containsKey)
+                .map(id -> "{\"id\":\"" + id + "\""
+                        + (statistics.get(id) != null ? ",\"statistics\":" + statistics.get(id) : "") + "}")
+                .collect(Collectors.joining(",", "{\"items\":[", "]}"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.InspirationBatchProperties;
+import com.aivideocoach.youtube.dto.YoutubeInspirationBatchItem;
+import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
+import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import com.aivideocoach.youtube.dto.YoutubeVideoResult;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InspirationBatchServiceTest {
+
+    private static YoutubeInspirationRequest request(String domain) {
+        return new YoutubeInspirationRequest("Biz", domain, null, "US", "en", List.of(), null);
+    }
+
+    private static YoutubeInspirationResponse response(String videoId, String title) {
+        return new YoutubeInspirationResponse(30, 1, List.of(new YoutubeVideoResult(
+                videoId, title, "Channel", "2024-01-01T00:00:00Z", "#", 0L, 0L, 0L, 0, 0L, 0.0)));
+    }
+
+    @Test
+    void testFailuresStayWithTheirItemAndConcurrencyIsBounded() {
+        // Given
+        YoutubeInspirationService inspirationService = mock(YoutubeInspirationService.class);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(inspirationService.topVideosReactive(any())).thenAnswer(invocation -> {
+            String domain = invocation.<YoutubeInspirationRequest>getArgument(0).domain();
+            Mono<YoutubeInspirationResponse> result = switch (domain) {
+                case "boom" -> Mono.error(new IllegalStateException("boom"));
+                case "in-band" -> Mono.just(response("error", "No videos found"));
+                default -> Mono.just(response("v-" + domain, "Title"));
+            };
+            return Mono.defer(() -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        return result.delaySubscription(Duration.ofMillis(20));
+                    })
+                    .doOnTerminate(inFlight::decrementAndGet);
+        });
+        InspirationBatchProperties props = new InspirationBatchProperties();
+        props.setMaxItems(5);
+        InspirationBatchService batchService = new InspirationBatchService(inspirationService, props);
+
+        Flux<YoutubeInspirationRequest> requests = Flux.just(request("a"), request("boom"), request("b"),
+                request("in-band"), request("c"), request("over-limit"));
+
+        // When
+        List<YoutubeInspirationBatchItem> items = batchService.run(requests, 2, "acme")
+                .collectList().block();
+
+        // Then
+        assertNotNull(items);
+        items.sort(Comparator.comparingLong(YoutubeInspirationBatchItem::index));
+        assertEquals(List.of("ok", "error", "ok", "error", "ok", "error"),
+                items.stream().map(YoutubeInspirationBatchItem::status).toList());
+        assertEquals("boom", items.get(1).error());
+        assertEquals("No videos found", items.get(3).error());
+        assertEquals("v-c", items.get(4).response().results().get(0).videoId());
+        assertTrue(maxInFlight.get() <= 2, "maxInFlight=" + maxInFlight.get());
+    }
+
+    @Test
+    void testInputPastTheLimitIsCancelledAfterOneLimitItem() {
+        // Given - an endless request stream
+        YoutubeInspirationService inspirationService = mock(YoutubeInspirationService.class);
+        when(inspirationService.topVideosReactive(any())).thenReturn(Mono.just(response("v", "Title")));
+        InspirationBatchProperties props = new InspirationBatchProperties();
+        props.setMaxItems(3);
+        InspirationBatchService batchService = new InspirationBatchService(inspirationService, props);
+        AtomicInteger read = new AtomicInteger();
+        Flux<YoutubeInspirationRequest> requests = Flux.generate(sink -> sink.next(request("d" + read.incrementAndGet())));
+
+        // When
+        List<YoutubeInspirationBatchItem> items = batchService.run(requests, 2, "acme")
+                .collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(items);
+        items.sort(Comparator.comparingLong(YoutubeInspirationBatchItem::index));
+        assertEquals(List.of("ok", "ok", "ok", "error"), items.stream().map(YoutubeInspirationBatchItem::status).toList());
+        assertEquals("Batch limit of 3 items exceeded", items.get(3).error());
+        assertEquals(4, read.get());
+    }
+}
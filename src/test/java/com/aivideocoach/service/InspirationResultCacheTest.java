@@ -0,0 +1,85 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.InspirationCacheProperties;
+import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
+import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InspirationResultCacheTest {
+
+    @Test
+    void testEquivalentRequestsShareOneKey() {
+        // Given
+        YoutubeInspirationRequest a = new YoutubeInspirationRequest(
+                "BizA", "Fitness ", "men over 30", "us", "en",
+                List.of("Workout", "home gym"), 30
+        );
+        YoutubeInspirationRequest b = new YoutubeInspirationRequest(
+                "BizB", "fitness", "women", "US", "EN",
+                List.of("workout", "Home Gym", " workout"), 30
+        );
+
+        // Then
+        assertEquals(InspirationCacheKey.of(a, 30), InspirationCacheKey.of(b, 30));
+    }
+
+    @Test
+    void testKeywordOrderIsKeptForTheSearch() {
+        // Given - the first keyword is the primary search term
+        YoutubeInspirationRequest a = new YoutubeInspirationRequest(
+                null, "fitness", null, "US", "en", List.of("Workout", "abs"), 30);
+        YoutubeInspirationRequest b = new YoutubeInspirationRequest(
+                null, "fitness", null, "US", "en", List.of("abs", "workout"), 30);
+
+        // Then
+        assertEquals(List.of("workout", "abs"), InspirationCacheKey.of(a, 30).toRequest().keywords());
+        assertNotEquals(InspirationCacheKey.of(a, 30), InspirationCacheKey.of(b, 30));
+    }
+
+    @Test
+    void testHitsAreServedWithoutReloading() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        InspirationResultCache cache = new InspirationResultCache(new InspirationCacheProperties(), key -> {
+            loads.incrementAndGet();
+            return Mono.just(new YoutubeInspirationResponse(key.windowDays(), 0, List.of()));
+        });
+        InspirationCacheKey key = new InspirationCacheKey("fitness", List.of("workout"), "en", "US", 30, null);
+
+        // When
+        cache.get(key).block();
+        cache.get(key).block();
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        InspirationResultCache cache = new InspirationResultCache(new InspirationCacheProperties(), key -> {
+            if (loads.incrementAndGet() == 1) {
+                return Mono.error(new IllegalStateException("quota exceeded"));
+            }
+            return Mono.just(new YoutubeInspirationResponse(key.windowDays(), 0, List.of()));
+        });
+        InspirationCacheKey key = new InspirationCacheKey("fitness", List.of(), null, null, 30, null);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> cache.get(key).block());
+        YoutubeInspirationResponse second = cache.get(key).block();
+
+        // Then
+        assertNotNull(second);
+        assertEquals(2, loads.get());
+    }
+}
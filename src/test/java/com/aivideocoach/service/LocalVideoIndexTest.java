@@ -0,0 +1,228 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.LocalSearchProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalVideoIndexTest {
+
+    private static final long JAN_2024 = 1_704_067_200_000L;
+
+    private static EnrichedVideoData video(String id, String title, String publishedAt) {
+        return new EnrichedVideoData(id, title, "Channel", "UC1", publishedAt,
+                "https://www.youtube.com/watch?v=" + id, 1000L, 10L, 1L, 300, 0L);
+    }
+
+    private static LocalVideoIndex newIndex(int bufferMaxDocs) {
+        return newIndex(bufferMaxDocs, Integer.MAX_VALUE, Runnable::run);
+    }
+
+    // Merging runs on the given executor; Runnable::run merges right after each write
+    private static LocalVideoIndex newIndex(int bufferMaxDocs, int maxDocs, java.util.concurrent.Executor merger) {
+        LocalSearchProperties props = new LocalSearchProperties();
+        props.setBufferMaxDocs(bufferMaxDocs);
+        props.setMaxDocs(maxDocs);
+        return new LocalVideoIndex(props, merger);
+    }
+
+    private static List<EnrichedVideoData> yoga(int from, int to) {
+        List<EnrichedVideoData> videos = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            videos.add(video("v" + i, "yoga routine " + i, "2024-03-01T00:00:00Z"));
+        }
+        return videos;
+    }
+
+    @Test
+    void testAnalyzerHandlesHebrewAndEnglish() {
+        assertEquals(List.of("workout", "tip", "beginner"), VideoTextAnalyzer.terms("Workout Tips for Beginners!"));
+        // Niqqud dropped, final letters folded, prefixed word also indexed without the prefix
+        assertEquals(List.of("בכושר", "כושר", "אימונימ"), VideoTextAnalyzer.terms("בְּכושר: אימונים"));
+        assertEquals(List.of("צהל"), VideoTextAnalyzer.terms("צה\"ל"));
+        assertEquals("story", VideoTextAnalyzer.stemEnglish("stories"));
+        assertEquals("focus", VideoTextAnalyzer.stemEnglish("focus"));
+    }
+
+    @Test
+    void testBm25RanksBetterMatchesFirstAndRequiresCoverage() {
+        // Given
+        LocalVideoIndex index = newIndex(2);
+        index.addAll(List.of(
+                video("a", "Home workout for beginners", "2024-03-01T00:00:00Z"),
+                video("b", "Workout workout workout: beginners home routine", "2024-03-01T00:00:00Z"),
+                video("c", "Cooking pasta at home", "2024-03-01T00:00:00Z"),
+                video("d", "טיפים לכושר בבית", "2024-03-01T00:00:00Z")));
+
+        // When / Then
+        assertEquals(List.of("b", "a"), index.search("workout beginners", JAN_2024, 1.0, 10));
+        assertEquals(List.of("c", "a", "b"), index.search("home pasta", JAN_2024, 0.5, 10).subList(0, 3));
+        assertEquals(List.of("d"), index.search("כושר", JAN_2024, 0.5, 10));
+        assertEquals(List.of(), index.search("workout", JAN_2024 + 365L * 86_400_000, 0.5, 10));
+    }
+
+    @Test
+    void testScopedSearchOnlyReturnsVideosFoundForThatLanguageAndRegion() {
+        // Given - the same term, harvested by an English/US search and a Hebrew/IL search
+        LocalVideoIndex index = newIndex(2);
+        index.addAll(List.of(
+                video("en", "Fitness tips", "2024-03-01T00:00:00Z"),
+                video("he", "Fitness טיפים", "2024-03-01T00:00:00Z"),
+                video("warm", "Fitness at home", "2024-03-01T00:00:00Z")));
+        index.addScope(List.of("en"), LocalVideoIndex.scope("en", "US"));
+        index.addScope(List.of("he"), LocalVideoIndex.scope("HE", " il "));
+
+        // When / Then
+        assertEquals(List.of("he"), index.search("fitness", LocalVideoIndex.scope("he", "IL"), JAN_2024, 1.0, 10));
+        assertEquals(List.of("en"), index.search("fitness", LocalVideoIndex.scope("en", "US"), JAN_2024, 1.0, 10));
+        assertEquals(List.of(), index.search("fitness", LocalVideoIndex.scope("he", null), JAN_2024, 1.0, 10));
+        assertEquals(3, index.search("fitness", null, JAN_2024, 1.0, 10).size());
+        assertNull(LocalVideoIndex.scope(" ", null));
+    }
+
+    @Test
+    void testUpdatesAndDeletesSurviveSegmentMerges() {
+        // Given - small buffer so inserts go through several flushes and merges
+        LocalVideoIndex index = newIndex(3);
+        index.addAll(yoga(0, 40));
+
+        // When
+        index.remove("v1");
+        index.addAll(List.of(video("v2", "pilates routine", "2024-03-01T00:00:00Z")));
+        index.addAll(List.of(video("v3", "yoga routine 3", "2024-03-01T00:00:00Z")));
+
+        // Then
+        List<String> yoga = index.search("yoga", JAN_2024, 1.0, 100);
+        assertEquals(38, yoga.size());
+        assertFalse(yoga.contains("v1"));
+        assertFalse(yoga.contains("v2"));
+        assertEquals(List.of("v2"), index.search("pilates", JAN_2024, 1.0, 100));
+        LocalVideoIndex.Stats stats = index.stats();
+        assertEquals(39, stats.liveDocs());
+        assertTrue(stats.merges() > 0);
+        assertTrue(stats.segments() <= 6, "segments=" + stats.segments());
+    }
+
+    @Test
+    void testScopesAreOnlyRecordedForIndexedVideos() {
+        // Given
+        LocalVideoIndex index = newIndex(2);
+        String us = LocalVideoIndex.scope("en", "US");
+
+        // When - the scope arrives before the video is indexed, and again after
+        index.addScope(List.of("early"), us);
+        index.addAll(List.of(video("early", "Fitness tips", "2024-03-01T00:00:00Z"),
+                video("late", "Fitness plans", "2024-03-01T00:00:00Z")));
+        index.addScope(List.of("late"), us);
+
+        // Then
+        assertEquals(List.of("late"), index.search("fitness", us, JAN_2024, 1.0, 10));
+    }
+
+    @Test
+    void testMaxDocsEvictsTheLongestIndexedVideos() {
+        // Given
+        LocalVideoIndex index = newIndex(2, 5, Runnable::run);
+        index.addAll(yoga(0, 5));
+        index.addScope(List.of("v0"), LocalVideoIndex.scope("en", "US"));
+
+        // When
+        index.addAll(yoga(5, 8));
+
+        // Then
+        assertEquals(5, index.stats().liveDocs());
+        assertEquals(Set.of("v3", "v4", "v5", "v6", "v7"), Set.copyOf(index.search("yoga", JAN_2024, 1.0, 100)));
+
+        // When - an evicted video comes back, it is indexed without its old scope
+        index.addAll(yoga(0, 1));
+
+        // Then
+        assertTrue(index.search("yoga", JAN_2024, 1.0, 100).contains("v0"));
+        assertEquals(List.of(), index.search("yoga", LocalVideoIndex.scope("en", "US"), JAN_2024, 1.0, 100));
+    }
+
+    @Test
+    void testFullBuffersAreMergedOnTheMergerNotTheWriter() {
+        // Given - a merger that only runs when the test says so
+        List<Runnable> queued = new ArrayList<>();
+        LocalVideoIndex index = newIndex(3, Integer.MAX_VALUE, queued::add);
+
+        // When
+        index.addAll(yoga(0, 10));
+
+        // Then - nothing flushed yet, but the frozen buffers are searchable
+        assertEquals(0, index.stats().segments());
+        assertEquals(10, index.stats().bufferedDocs());
+        assertEquals(10, index.search("yoga", JAN_2024, 1.0, 100).size());
+        assertEquals(1, queued.size());
+
+        // When
+        queued.remove(0).run();
+
+        // Then
+        assertTrue(index.stats().segments() > 0);
+        assertEquals(1, index.stats().bufferedDocs());
+        assertEquals(10, index.search("yoga", JAN_2024, 1.0, 100).size());
+    }
+
+    @Test
+    void testCompactionRenumbersLiveDocs() {
+        // Given
+        LocalVideoIndex index = newIndex(4);
+        index.addAll(yoga(0, 40));
+        index.addScope(List.of("v35"), LocalVideoIndex.scope("en", "US"));
+
+        // When - most of the index is deleted
+        for (int i = 0; i < 30; i++) {
+            index.remove("v" + i);
+        }
+        index.addAll(yoga(40, 42));
+
+        // Then - deleted docs never outnumber live ones for long, and searches, scopes and later deletes still line up
+        assertEquals(12, index.stats().liveDocs());
+        assertTrue(index.docNumbers() <= 2 * 12, "docNumbers=" + index.docNumbers());
+        List<String> expected = new ArrayList<>();
+        for (int i = 30; i < 42; i++) {
+            expected.add("v" + i);
+        }
+        assertEquals(Set.copyOf(expected), Set.copyOf(index.search("yoga", JAN_2024, 1.0, 100)));
+        assertEquals(List.of("v35"), index.search("yoga", LocalVideoIndex.scope("en", "US"), JAN_2024, 1.0, 100));
+        assertEquals(List.of("v41"), index.search("yoga routine 41", JAN_2024, 1.0, 1));
+        index.remove("v41");
+        assertFalse(index.search("yoga", JAN_2024, 1.0, 100).contains("v41"));
+    }
+
+    @Test
+    void testSearchesStayConsistentWhileTheMergerCompacts() throws InterruptedException {
+        // Given - the real merger thread, racing the writes below
+        LocalSearchProperties props = new LocalSearchProperties();
+        props.setBufferMaxDocs(8);
+        LocalVideoIndex index = new LocalVideoIndex(props);
+        Set<String> expected = new HashSet<>();
+
+        // When - a sliding window of 50 live videos over 3,000 inserts
+        for (int i = 0; i < 3_000; i++) {
+            index.addAll(yoga(i, i + 1));
+            expected.add("v" + i);
+            if (i >= 50) {
+                index.remove("v" + (i - 50));
+                expected.remove("v" + (i - 50));
+            }
+        }
+
+        // Then
+        assertEquals(expected, Set.copyOf(index.search("yoga", JAN_2024, 1.0, 1_000)));
+        for (int attempt = 0; attempt < 100 && index.docNumbers() > 200; attempt++) {
+            Thread.sleep(20);
+        }
+        assertTrue(index.docNumbers() <= 200, "docNumbers=" + index.docNumbers());
+        assertTrue(index.stats().merges() > 0);
+        assertEquals(expected, Set.copyOf(index.search("yoga", JAN_2024, 1.0, 1_000)));
+        index.close();
+    }
+}
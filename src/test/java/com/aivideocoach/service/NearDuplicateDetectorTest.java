@@ -0,0 +1,46 @@
+package com.aivideocoach.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearDuplicateDetectorTest {
+
+    private final NearDuplicateDetector detector = new NearDuplicateDetector(true, 0.7);
+
+    @Test
+    void testReuploadsAndTitleVariantsAreNearDuplicates() {
+        assertTrue(detector.isNearDuplicate("Full Body Workout", "Gym Lab", "full body workout!!", "Re-Uploads 24/7"));
+        assertTrue(detector.isNearDuplicate("How to Lose Weight Fast | 10 Tips", "Fit Coach",
+                "HOW TO LOSE WEIGHT FAST - 10 tips (2024)", "Viral Farm"));
+        assertTrue(detector.isNearDuplicate("אימון כוח למתחילים", "ערוץ", "אִימוּן כּוֹחַ לְמַתְחִילִים", "אחר"));
+    }
+
+    @Test
+    void testDifferentNumbersAndDistinctTopicsAreKept() {
+        assertFalse(detector.isNearDuplicate("Full body workout part 1", "Gym Lab", "Full body workout part 2", "Gym Lab"));
+        assertFalse(detector.isNearDuplicate("5 tips for better sleep", "c", "7 tips for better sleep", "c"));
+        assertFalse(detector.isNearDuplicate("Leg day workout", "Gym Lab", "Leg day routine", "Gym Lab"));
+        assertFalse(detector.isNearDuplicate("Video 12", "c", "Video 13", "c"));
+    }
+
+    @Test
+    void testSameChannelCountsTowardsSimilarity() {
+        // 2 of 3 words shared: 0.75 with the channel, 0.67 without
+        assertTrue(detector.isNearDuplicate("morning yoga flow", "Yoga Lab", "Morning Yoga", "yoga lab"));
+        assertFalse(detector.isNearDuplicate("morning yoga flow", "Yoga Lab", "Morning Yoga", "Other"));
+    }
+
+    @Test
+    void testIndexKeepsTheFirstOfEachCluster() {
+        // Given
+        NearDuplicateDetector.Index index = detector.newIndex();
+
+        // When / Then
+        assertTrue(index.addIfDistinct("Full Body Workout", "Gym Lab"));
+        assertFalse(index.addIfDistinct("FULL BODY WORKOUT (2023)", "Copycat"));
+        assertTrue(index.addIfDistinct("Upper body workout", "Gym Lab"));
+        assertTrue(index.addIfDistinct("!!!", "Gym Lab"));
+        assertTrue(index.addIfDistinct(null, null));
+    }
+}
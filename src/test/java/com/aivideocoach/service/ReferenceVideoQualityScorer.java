@@ -0,0 +1,148 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.youtube.dto.YoutubeVideoResult;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The original per-object scoring formula (OffsetDateTime parsing per use, one stream pass per
+ * min/max, full sort), kept as the reference the columnar {@link VideoQualityScorer.Ranker}
+ * must match and as the baseline for benchmarks. The clock is passed in instead of read per video.
+ */
+public class ReferenceVideoQualityScorer {
+
+    private final Set<String> spamPatterns;
+    private final long minViewCountThreshold;
+    private final int recentVideoThresholdDays;
+
+    public ReferenceVideoQualityScorer(String spamPatternsStr, long minViewCountThreshold, int recentVideoThresholdDays) {
+        this.spamPatterns = Set.of(spamPatternsStr.toLowerCase().split(","));
+        this.minViewCountThreshold = minViewCountThreshold;
+        this.recentVideoThresholdDays = recentVideoThresholdDays;
+    }
+
+    public List<YoutubeVideoResult> scoreAndRankVideos(List<YoutubeVideoResult> videos, String domain, OffsetDateTime now) {
+        List<Scored> candidates = new ArrayList<>();
+        for (YoutubeVideoResult video : videos) {
+            if (passesQualityFilters(video, domain, now)) {
+                long days = Math.max(1, daysSincePublish(video.publishedAt(), now));
+                long viewCount = video.viewCount() != null ? video.viewCount() : 0;
+                candidates.add(new Scored(video, viewCount / (double) days, engagementRate(video), viewCount,
+                        Math.log10((video.subscriberCount() != null ? video.subscriberCount() : 0) + 10),
+                        durationPenalty(video.durationSeconds())));
+            }
+        }
+        normalizeScores(candidates);
+        candidates.sort(Comparator.comparingDouble((Scored sv) -> sv.finalScore).reversed());
+
+        List<YoutubeVideoResult> ranked = new ArrayList<>();
+        for (Scored sv : candidates) {
+            YoutubeVideoResult v = sv.video;
+            ranked.add(new YoutubeVideoResult(v.videoId(), v.title(), v.channelTitle(), v.publishedAt(), v.url(),
+                    v.viewCount(), v.likeCount(), v.commentCount(), v.durationSeconds(), v.subscriberCount(), sv.finalScore));
+        }
+        return ranked;
+    }
+
+    private boolean passesQualityFilters(YoutubeVideoResult video, String domain, OffsetDateTime now) {
+        long viewCount = video.viewCount() != null ? video.viewCount() : 0;
+        long likeCount = video.likeCount() != null ? video.likeCount() : 0;
+        long daysSincePublish = daysSincePublish(video.publishedAt(), now);
+        if (viewCount < minViewCountThreshold) {
+            if (daysSincePublish > recentVideoThresholdDays) return false;
+            if (engagementRate(video) < 0.01) return false;
+        }
+        if (viewCount > 0 && likeCount < 10 && daysSincePublish > 14) return false;
+        return !containsSpamPatterns(video.title(), domain);
+    }
+
+    private boolean containsSpamPatterns(String title, String domain) {
+        if (title == null) return false;
+        String lowerTitle = title.toLowerCase();
+        String lowerDomain = domain != null ? domain.toLowerCase() : "";
+        for (String pattern : spamPatterns) {
+            if (lowerTitle.contains(pattern.trim())) {
+                if (lowerDomain.contains("crypto") && pattern.contains("crypto")) continue;
+                if (lowerDomain.contains("giveaway") && pattern.contains("giveaway")) continue;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double engagementRate(YoutubeVideoResult video) {
+        long viewCount = Math.max(1, video.viewCount() != null ? video.viewCount() : 1);
+        long likeCount = video.likeCount() != null ? video.likeCount() : 0;
+        long commentCount = video.commentCount() != null ? video.commentCount() : 0;
+        return (likeCount + 2.0 * commentCount) / viewCount;
+    }
+
+    private static double durationPenalty(Integer durationSeconds) {
+        if (durationSeconds == null) return 0.0;
+        if (durationSeconds >= 120 && durationSeconds <= 1200) return 0.0;
+        if (durationSeconds < 60) return 0.05;
+        if (durationSeconds > 1200) return 0.1;
+        return 0.02;
+    }
+
+    private static long daysSincePublish(String publishedAt, OffsetDateTime now) {
+        if (publishedAt == null) return 30;
+        try {
+            return ChronoUnit.DAYS.between(OffsetDateTime.parse(publishedAt), now);
+        } catch (Exception e) {
+            return 30;
+        }
+    }
+
+    private static void normalizeScores(List<Scored> scored) {
+        if (scored.size() <= 1) {
+            scored.forEach(sv -> sv.finalScore = 1.0);
+            return;
+        }
+        double minVelocity = scored.stream().mapToDouble(sv -> sv.velocity).min().orElse(0);
+        double maxVelocity = scored.stream().mapToDouble(sv -> sv.velocity).max().orElse(1);
+        double minEngagement = scored.stream().mapToDouble(sv -> sv.engagementRate).min().orElse(0);
+        double maxEngagement = scored.stream().mapToDouble(sv -> sv.engagementRate).max().orElse(1);
+        double minViews = scored.stream().mapToDouble(sv -> sv.viewCount).min().orElse(0);
+        double maxViews = scored.stream().mapToDouble(sv -> sv.viewCount).max().orElse(1);
+        double minChannel = scored.stream().mapToDouble(sv -> sv.channelBoost).min().orElse(0);
+        double maxChannel = scored.stream().mapToDouble(sv -> sv.channelBoost).max().orElse(1);
+        for (Scored sv : scored) {
+            sv.finalScore = 0.55 * normalize(sv.velocity, minVelocity, maxVelocity) +
+                           0.30 * normalize(sv.engagementRate, minEngagement, maxEngagement) +
+                           0.10 * normalize(sv.viewCount, minViews, maxViews) +
+                           0.05 * normalize(sv.channelBoost, minChannel, maxChannel) -
+                           sv.durationPenalty;
+        }
+    }
+
+    private static double normalize(double value, double min, double max) {
+        if (max == min) return 1.0;
+        return (value - min) / (max - min);
+    }
+
+    private static final class Scored {
+        final YoutubeVideoResult video;
+        final double velocity;
+        final double engagementRate;
+        final double viewCount;
+        final double channelBoost;
+        final double durationPenalty;
+        double finalScore;
+
+        Scored(YoutubeVideoResult video, double velocity, double engagementRate, double viewCount,
+               double channelBoost, double durationPenalty) {
+            this.video = video;
+            this.velocity = velocity;
+            this.engagementRate = engagementRate;
+            this.viewCount = viewCount;
+            this.channelBoost = channelBoost;
+            this.durationPenalty = durationPenalty;
+        }
+    }
+}
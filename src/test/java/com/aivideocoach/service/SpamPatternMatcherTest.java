@@ -0,0 +1,112 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.SpamFilterProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpamPatternMatcherTest {
+
+    private static final List<String> EXEMPTIONS = List.of("crypto", "giveaway");
+
+    @Test
+    void testMatchesLikeContainsPerPattern() {
+        // Given - overlapping phrases (prefixes, suffixes, shared middles) and random titles over a tiny alphabet
+        List<String> patterns = List.of("he", "she", "his", "hers", "crypto pump", "giveaway", "ypto", "a giveaway now");
+        SpamPatternMatcher dense = SpamPatternMatcher.compile(patterns, EXEMPTIONS);
+        SpamPatternMatcher sparse = SpamPatternMatcher.compile(patterns, EXEMPTIONS, 0);
+        Random random = new Random(5);
+        String alphabet = "hersiCRYPTOPUMgivawyn ";
+
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int j = random.nextInt(40); j > 0; j--) {
+                title.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (i % 3 == 0) title.insert(random.nextInt(title.length() + 1), patterns.get(i % patterns.size()));
+            String domain = switch (i % 4) {
+                case 0 -> "Crypto trading";
+                case 1 -> "giveaways";
+                case 2 -> null;
+                default -> "fitness";
+            };
+
+            // When
+            boolean expected = naiveMatches(patterns, title.toString(), domain);
+
+            // Then - the full transition table and the sparse edges with failure links agree
+            assertEquals(expected, dense.matches(title, dense.domainMask(domain)), title + " / " + domain);
+            assertEquals(expected, sparse.matches(title, sparse.domainMask(domain)), title + " / " + domain);
+        }
+    }
+
+    @Test
+    void testHebrewIgnoresNiqqudAndFinalLetters() {
+        // Given
+        SpamPatternMatcher matcher = SpamPatternMatcher.compile(List.of("כסף קל", "הגרלה"), EXEMPTIONS);
+
+        // Then
+        assertTrue(matcher.matches("איך לעשות כֶּסֶף קַל מהבית", 0));
+        assertTrue(matcher.matches("כספ קלים בלי מאמץ", 0));
+        assertTrue(matcher.matches("הַגְרָלָה ענקית", 0));
+        assertFalse(matcher.matches("כסף ועוד כסף", 0));
+        assertFalse(matcher.matches(null, 0));
+        assertFalse(SpamPatternMatcher.EMPTY.matches("free money", 0));
+    }
+
+    @Test
+    void testRegistryComposesTenantAndLanguageListsAndReloads(@TempDir Path dir) throws Exception {
+        // Given
+        SpamFilterProperties props = new SpamFilterProperties();
+        props.setLanguages(Map.of("he", List.of("הגרלה")));
+        props.setDirectory(dir.toString());
+        Files.writeString(dir.resolve("tenant-acme.txt"), "# acme blocklist\nmiracle cure\n\n");
+        SpamPatternRegistry registry = new SpamPatternRegistry("free money,click here", props);
+
+        // Then
+        assertEquals("acme", registry.profileFor("acme"));
+        assertNull(registry.profileFor("other"));
+        assertSame(registry.matcher(null, null), registry.matcher("other", "en"));
+        assertTrue(registry.matcher("acme", "en").matches("Miracle cure for back pain", 0));
+        assertFalse(registry.matcher("other", "en").matches("Miracle cure for back pain", 0));
+        assertTrue(registry.matcher("acme", "HE").matches("הגרלה click here", 0));
+        assertEquals(4, registry.matcher("acme", "he").patternCount());
+
+        // When - the list changes on disk
+        SpamPatternMatcher before = registry.matcher("acme", null);
+        Path list = dir.resolve("tenant-acme.txt");
+        Files.writeString(list, "detox tea\n");
+        Files.setLastModifiedTime(list, FileTime.fromMillis(Files.getLastModifiedTime(list).toMillis() + 5_000));
+        registry.reloadIfChanged();
+
+        // Then - new rankings see the new list, a matcher already handed out is unchanged
+        assertTrue(registry.matcher("acme", null).matches("Detox tea review", 0));
+        assertFalse(registry.matcher("acme", null).matches("Miracle cure for back pain", 0));
+        assertTrue(before.matches("Miracle cure for back pain", 0));
+        assertEquals(1, registry.stats().reloads());
+    }
+
+    /**
+     * The per-pattern loop the automaton replaces.
+     */
+    private static boolean naiveMatches(List<String> patterns, String title, String domain) {
+        String lowerTitle = title.toLowerCase(Locale.ROOT);
+        String lowerDomain = domain != null ? domain.toLowerCase(Locale.ROOT) : "";
+        for (String pattern : patterns) {
+            if (!lowerTitle.contains(pattern)) continue;
+            if (lowerDomain.contains("crypto") && pattern.contains("crypto")) continue;
+            if (lowerDomain.contains("giveaway") && pattern.contains("giveaway")) continue;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,92 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.InspirationPrecomputeProperties;
+import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
+import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingIndexTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private static InspirationCacheKey key(String domain) {
+        return InspirationCacheKey.of(new YoutubeInspirationRequest(null, domain, null, "US", "en", List.of(), null), 30);
+    }
+
+    private static YoutubeInspirationResponse response() {
+        return new YoutubeInspirationResponse(30, 1, List.of());
+    }
+
+    private TrendingIndex newIndex(InspirationPrecomputeProperties props) {
+        return new TrendingIndex(props, clock::get);
+    }
+
+    @Test
+    void testConfiguredTuplesAreTrackedAndServedWhileFresh() {
+        // Given
+        InspirationPrecomputeProperties props = new InspirationPrecomputeProperties();
+        InspirationPrecomputeProperties.Tuple tuple = new InspirationPrecomputeProperties.Tuple();
+        tuple.setDomain(" Fitness ");
+        tuple.setLanguage("en");
+        tuple.setLocation("us");
+        props.setTuples(List.of(tuple));
+        props.setMaxAge(Duration.ofHours(1));
+        TrendingIndex index = newIndex(props);
+
+        // When
+        List<InspirationCacheKey> due = index.dueKeys(10);
+        index.put(due.get(0), response());
+
+        // Then - normalized to the same key a live request produces
+        assertEquals(List.of(key("fitness")), due);
+        assertNotNull(index.lookup(key("fitness")));
+        clock.addAndGet(Duration.ofHours(2).toMillis());
+        assertNull(index.lookup(key("fitness")));
+    }
+
+    @Test
+    void testFrequentRequestsAreLearnedAndDecay() {
+        // Given
+        InspirationPrecomputeProperties props = new InspirationPrecomputeProperties();
+        props.setLearnMinRequests(3);
+        props.setLearnedMax(1);
+        props.setLearningHalfLife(Duration.ofHours(1));
+        TrendingIndex index = newIndex(props);
+
+        // When - beauty asked 4 times, real estate 3 times, yoga once
+        for (int i = 0; i < 4; i++) index.lookup(key("beauty"));
+        for (int i = 0; i < 3; i++) index.lookup(key("real estate"));
+        index.lookup(key("yoga"));
+
+        // Then - only the top learned key is tracked
+        assertEquals(List.of(key("beauty")), index.trackedKeys());
+
+        // And interest fades after a half-life
+        clock.addAndGet(Duration.ofHours(1).toMillis());
+        index.decayDemand();
+        assertTrue(index.trackedKeys().isEmpty());
+    }
+
+    @Test
+    void testRefreshIsDueAfterIntervalAndStaggeredPhase() {
+        // Given
+        InspirationPrecomputeProperties props = new InspirationPrecomputeProperties();
+        props.setLearnMinRequests(1);
+        props.setRefreshInterval(Duration.ofHours(4));
+        TrendingIndex index = newIndex(props);
+        index.lookup(key("beauty"));
+        index.put(key("beauty"), response());
+
+        // Then - not due before the interval, due once interval + max phase has passed
+        clock.addAndGet(Duration.ofHours(4).toMillis() - 1);
+        assertTrue(index.dueKeys(10).isEmpty());
+        clock.addAndGet(Duration.ofHours(1).toMillis() + 1);
+        assertEquals(List.of(key("beauty")), index.dueKeys(10));
+    }
+}
@@ -0,0 +1,66 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.InspirationPrecomputeProperties;
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import com.aivideocoach.youtube.dto.YoutubeVideoResult;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrendingPrecomputerTest {
+
+    private static YoutubeInspirationResponse response(String videoId) {
+        return new YoutubeInspirationResponse(30, 1, List.of(new YoutubeVideoResult(
+                videoId, "Title", "Channel", "2026-01-01T00:00:00Z", "#", 0L, 0L, 0L, 0, 0L, 0.0)));
+    }
+
+    @Test
+    void testFailedAndEmptyComputationsKeepThePreviousEntry() {
+        // Given - an indexed key that is due for refresh
+        AtomicLong clock = new AtomicLong(1_000_000);
+        InspirationPrecomputeProperties props = new InspirationPrecomputeProperties();
+        InspirationPrecomputeProperties.Tuple tuple = new InspirationPrecomputeProperties.Tuple();
+        tuple.setDomain("fitness");
+        tuple.setLanguage("en");
+        tuple.setLocation("US");
+        props.setTuples(List.of(tuple));
+        TrendingIndex index = new TrendingIndex(props, clock::get);
+        InspirationCacheKey key = index.dueKeys(1).get(0);
+        index.put(key, response("old"));
+        clock.addAndGet(Duration.ofHours(8).toMillis());
+
+        YoutubeInspirationService service = mock(YoutubeInspirationService.class);
+        when(service.computeFresh(any())).thenReturn(
+                Mono.error(new IllegalStateException("videos.list failed")),
+                Mono.just(new YoutubeInspirationResponse(30, 12, List.of())),
+                Mono.just(response("new")));
+        TrendingPrecomputer precomputer = new TrendingPrecomputer(props, new YouTubeProperties(), index, service);
+
+        // When - a failed run, then an empty one
+        precomputer.refreshDue();
+        precomputer.refreshDue();
+
+        // Then - still served the previous entry, and still due
+        assertEquals("old", index.lookup(key).results().get(0).videoId());
+        assertEquals(List.of(key), index.dueKeys(1));
+
+        // When
+        precomputer.refreshDue();
+
+        // Then
+        assertEquals("new", index.lookup(key).results().get(0).videoId());
+        assertTrue(index.dueKeys(1).isEmpty());
+        verify(service, times(3)).computeFresh(key);
+    }
+}
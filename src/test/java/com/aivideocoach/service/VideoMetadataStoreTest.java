@@ -0,0 +1,170 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.MetadataStoreProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoMetadataStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    private VideoMetadataStore open() {
+        MetadataStoreProperties props = new MetadataStoreProperties();
+        props.setDirectory(dir.toString());
+        props.setRetention(Duration.ofDays(7));
+        return new VideoMetadataStore(props, clock::get);
+    }
+
+    private static EnrichedVideoData video(String id, long views) {
+        return video(id, views, 95);
+    }
+
+    private static EnrichedVideoData video(String id, long views, Integer durationSeconds) {
+        return new EnrichedVideoData(id, "Título ✓ " + id, "Channel", "UC" + id, "2024-01-01T00:00:00Z",
+                "https://www.youtube.com/watch?v=" + id, views, 10L, 2L, durationSeconds, 0L);
+    }
+
+    @Test
+    void testAsyncAppendsDoNotWaitForTheStoreLock() throws Exception {
+        // Given - another thread holds the store, as a compaction would
+        VideoMetadataStore store = open();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread compaction = new Thread(() -> {
+            synchronized (store) {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        compaction.start();
+        locked.await();
+
+        // When
+        long started = System.nanoTime();
+        store.appendVideosAsync(List.of(video("a", 100)), clock.get());
+        store.appendChannelsAsync(Map.of("UCa", 5_000L), clock.get());
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        release.countDown();
+        compaction.join();
+        store.flush();
+
+        // Then
+        assertTrue(elapsedMillis < 1_000, "appends waited " + elapsedMillis + "ms");
+        assertEquals(video("a", 100), store.videos(Long.MAX_VALUE).get(0).video());
+        assertEquals(1, store.channels(Long.MAX_VALUE).size());
+        store.close();
+    }
+
+    @Test
+    void testRecordsSurviveRestartAndNewestWins() {
+        // Given
+        VideoMetadataStore store = open();
+        store.appendVideos(List.of(video("a", 100), video("b", 200)), clock.get());
+        store.appendVideos(List.of(video("a", 150)), clock.get());
+        store.removeVideos(List.of("b"));
+        store.appendChannels(Map.of("UCa", 5_000L), clock.get());
+        store.close();
+
+        // When
+        VideoMetadataStore reopened = open();
+
+        // Then
+        List<VideoMetadataStore.StoredVideo> videos = reopened.videos(Long.MAX_VALUE);
+        assertEquals(1, videos.size());
+        assertEquals(video("a", 150), videos.get(0).video());
+        assertEquals(clock.get(), videos.get(0).fetchedAtMillis());
+        assertEquals(List.of(new VideoMetadataStore.StoredChannel("UCa", 5_000L, clock.get())),
+                reopened.channels(Long.MAX_VALUE));
+        reopened.close();
+    }
+
+    @Test
+    void testUnknownAndZeroDurationsSurviveRestart() {
+        // Given
+        VideoMetadataStore store = open();
+        EnrichedVideoData unknown = video("a", 100, null);
+        EnrichedVideoData zero = video("b", 100, 0);
+        store.appendVideos(List.of(unknown, zero), clock.get());
+        store.close();
+
+        // When
+        VideoMetadataStore reopened = open();
+
+        // Then
+        Map<String, EnrichedVideoData> byId = new HashMap<>();
+        reopened.videos(Long.MAX_VALUE).forEach(v -> byId.put(v.video().videoId(), v.video()));
+        assertNull(byId.get("a").durationSeconds());
+        assertEquals(0, byId.get("b").durationSeconds());
+        reopened.close();
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws IOException {
+        // Given
+        VideoMetadataStore store = open();
+        store.appendVideos(List.of(video("a", 100)), clock.get());
+        store.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        // A crash in the middle of the next record
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        VideoMetadataStore reopened = open();
+
+        // Then
+        assertEquals(List.of("a"), reopened.videos(Long.MAX_VALUE).stream().map(v -> v.video().videoId()).toList());
+        reopened.close();
+    }
+
+    @Test
+    void testCompactionKeepsLatestUnexpiredRecords() throws IOException {
+        // Given
+        VideoMetadataStore store = open();
+        store.appendVideos(List.of(video("old", 1)), clock.get());
+        clock.addAndGet(Duration.ofDays(8).toMillis());
+        for (int i = 0; i < 10; i++) {
+            store.appendVideos(List.of(video("a", i)), clock.get());
+        }
+
+        // When
+        store.compact();
+        store.appendVideos(List.of(video("c", 1)), clock.get());
+        store.close();
+
+        // Then - the compacted segment plus the one appended to afterwards
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+        VideoMetadataStore reopened = open();
+        VideoMetadataStore.Stats stats = reopened.stats();
+        assertEquals(2, stats.videos());
+        assertEquals(stats.totalBytes(), stats.liveBytes());
+        assertEquals(List.of("a", "c"), reopened.videos(Long.MAX_VALUE).stream()
+                .map(v -> v.video().videoId()).sorted().toList());
+        reopened.close();
+    }
+}
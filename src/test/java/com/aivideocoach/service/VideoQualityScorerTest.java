@@ -0,0 +1,147 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.youtube.dto.YoutubeVideoResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoQualityScorerTest {
+
+    private final VideoQualityScorer scorer = new VideoQualityScorer(
+            new SpamPatternRegistry("free money,crypto pump,giveaway,click here,subscribe for,100% guaranteed"), 10000, 7,
+            new NearDuplicateDetector(true, 0.7));
+
+    static List<YoutubeVideoResult> randomVideos(int count, long seed) {
+        Random random = new Random(seed);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<YoutubeVideoResult> videos = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long views = 1_000 + random.nextInt(2_000_000);
+            videos.add(new YoutubeVideoResult(
+                    "vid" + i, "Video " + i + (i % 17 == 0 ? " click here" : ""), "Channel " + (i % 9),
+                    now.minusDays(random.nextInt(60)).minusHours(random.nextInt(24)).toString(),
+                    "https://www.youtube.com/watch?v=vid" + i,
+                    views, views / (10 + random.nextInt(90)), (long) random.nextInt(2_000),
+                    30 + random.nextInt(3_000), (long) random.nextInt(5_000_000), 0.0
+            ));
+        }
+        return videos;
+    }
+
+    @Test
+    void testTopKMatchesFullRankingPrefix() {
+        // Given
+        List<YoutubeVideoResult> videos = randomVideos(200, 42);
+
+        // When
+        List<YoutubeVideoResult> full = scorer.scoreAndRankVideos(videos, "fitness");
+        List<YoutubeVideoResult> top10 = scorer.newRanker("fitness", 10).offer(videos).topK();
+
+        // Then
+        assertEquals(full.subList(0, 10), top10);
+    }
+
+    @Test
+    void testNormalizationCoversAllOfferedPages() {
+        // Given
+        List<YoutubeVideoResult> videos = randomVideos(75, 7);
+
+        // When - offered in three pages
+        VideoQualityScorer.Ranker ranker = scorer.newRanker("fitness", 10);
+        ranker.offer(videos.subList(0, 25)).offer(videos.subList(25, 50)).offer(videos.subList(50, 75));
+
+        // Then
+        assertEquals(75, ranker.offeredCount());
+        assertEquals(scorer.scoreAndRankVideos(videos, "fitness").subList(0, 10), ranker.topK());
+    }
+
+    @Test
+    void testSpamTitlesAreFilteredUnlessDomainRelated() {
+        // Given
+        YoutubeVideoResult giveaway = new YoutubeVideoResult(
+                "g1", "Huge GIVEAWAY this week", "Channel", OffsetDateTime.now().minusDays(3).toString(),
+                "https://www.youtube.com/watch?v=g1", 500_000L, 20_000L, 1_000L, 600, 10_000L, 0.0);
+
+        // Then
+        assertTrue(scorer.scoreAndRankVideos(List.of(giveaway), "fitness").isEmpty());
+        assertEquals(1, scorer.scoreAndRankVideos(List.of(giveaway), "giveaway marketing").size());
+    }
+
+    @Test
+    void testNearDuplicatesCollapseToTheBestScoredVideo() {
+        // Given - a re-upload on another channel and a title variant, both with fewer views
+        String now = OffsetDateTime.now(ZoneOffset.UTC).minusDays(3).toString();
+        List<YoutubeVideoResult> videos = List.of(
+                video("orig", "How to Lose Weight Fast | 10 Tips", "Fit Coach", now, 900_000L),
+                video("reup", "HOW TO LOSE WEIGHT FAST - 10 tips (2024)", "Viral Farm", now, 300_000L),
+                video("variant", "How to lose weight fast: 10 tips!", "Fit Coach", now, 200_000L),
+                video("other", "How to lose weight fast: 12 tips", "Fit Coach", now, 100_000L),
+                video("part2", "Full body workout part 2", "Gym Lab", now, 500_000L));
+
+        // When
+        VideoQualityScorer.Ranker ranker = scorer.newRanker("fitness", 3).offer(videos);
+        List<YoutubeVideoResult> top = ranker.topK();
+
+        // Then
+        assertEquals(List.of("orig", "part2", "other"), top.stream().map(YoutubeVideoResult::videoId).toList());
+        assertEquals(2, ranker.collapsedCount());
+        assertEquals(5, ranker.candidateCount());
+        assertEquals(3, ranker.distinctCandidateCount());
+    }
+
+    private static YoutubeVideoResult video(String id, String title, String channel, String publishedAt, long views) {
+        return new YoutubeVideoResult(id, title, channel, publishedAt, "https://www.youtube.com/watch?v=" + id,
+                views, views / 20, views / 200, 600, 100_000L, 0.0);
+    }
+
+    @Test
+    void testColumnarScoresMatchReferenceFormula() {
+        // Given - mixed timestamp formats, missing fields and unparseable dates
+        Instant now = Instant.parse("2024-06-15T10:30:00.123456789Z");
+        VideoQualityScorer columnar = new VideoQualityScorer(
+                new SpamPatternRegistry("free money,crypto pump,giveaway,click here,subscribe for,100% guaranteed"), 10000, 7,
+                Clock.fixed(now, ZoneOffset.UTC));
+        ReferenceVideoQualityScorer reference = new ReferenceVideoQualityScorer(
+                "free money,crypto pump,giveaway,click here,subscribe for,100% guaranteed", 10000, 7);
+        Random random = new Random(11);
+        List<YoutubeVideoResult> videos = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            OffsetDateTime published = now.atOffset(ZoneOffset.UTC).minusSeconds(random.nextInt(90 * 86_400));
+            String publishedAt = switch (i % 7) {
+                case 0 -> published.withNano(0).toString().replace("Z", "+03:00");
+                case 1 -> published.toString();
+                case 2 -> i % 14 == 2 ? null : "not-a-date";
+                default -> published.withNano(0).toInstant().toString();
+            };
+            long views = random.nextInt(10) == 0 ? random.nextInt(10_000) : random.nextInt(3_000_000);
+            videos.add(new YoutubeVideoResult("v" + i, "Video " + i + (i % 31 == 0 ? " FREE MONEY" : ""), "c",
+                    publishedAt, "https://www.youtube.com/watch?v=v" + i,
+                    i % 50 == 0 ? null : views, (long) random.nextInt(50_000), (long) random.nextInt(500),
+                    i % 40 == 0 ? null : random.nextInt(4_000), i % 25 == 0 ? null : (long) random.nextInt(10_000_000), 0.0));
+        }
+
+        // When
+        List<YoutubeVideoResult> expected = reference.scoreAndRankVideos(videos, "fitness", now.atOffset(ZoneOffset.UTC));
+        List<YoutubeVideoResult> actual = columnar.newRanker("fitness", videos.size()).offer(videos).topK();
+
+        // Then - same candidates, same order, bit-identical scores
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testFastTimestampPathMatchesOffsetDateTime() {
+        for (String s : List.of("2024-02-29T23:59:59Z", "1999-12-31T00:00:00Z", "2000-03-01T12:00:00Z", "2100-01-01T00:00:01Z")) {
+            assertEquals(OffsetDateTime.parse(s).toEpochSecond(), VideoQualityScorer.parseUtcSeconds(s), s);
+        }
+        assertEquals(Long.MIN_VALUE, VideoQualityScorer.parseUtcSeconds("2023-02-29T00:00:00Z"));
+        assertEquals(Long.MIN_VALUE, VideoQualityScorer.parseUtcSeconds("2024-01-01T00:00:00.5Z"));
+    }
+}
@@ -0,0 +1,177 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.LocalSearchProperties;
+import com.aivideocoach.config.MetadataStoreProperties;
+import com.aivideocoach.config.OutboundHttpProperties;
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.config.YouTubeQuotaProperties;
+import com.aivideocoach.http.OutboundHttp;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoStatisticsCacheTest {
+
+    private static final long T0 = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    private final Map<String, String> publishedAt = new HashMap<>();
+    private final Set<String> gone = new HashSet<>();
+    private final Map<String, String> durations = new HashMap<>();
+    private final List<List<String>> requestedIds = new ArrayList<>();
+    private final AtomicLong now = new AtomicLong(T0);
+    private final LocalVideoIndex localIndex = new LocalVideoIndex(new LocalSearchProperties());
+
+    @Test
+    void testRefreshIntervalFollowsAgeAndViewVelocity() {
+        // Then - age buckets for slow videos
+        assertEquals(Duration.ofMinutes(15), VideoStatisticsCache.refreshInterval(1, 0));
+        assertEquals(Duration.ofHours(1), VideoStatisticsCache.refreshInterval(2, 0));
+        assertEquals(Duration.ofHours(1), VideoStatisticsCache.refreshInterval(6, 0));
+        assertEquals(Duration.ofHours(6), VideoStatisticsCache.refreshInterval(7, 0));
+        assertEquals(Duration.ofHours(6), VideoStatisticsCache.refreshInterval(29, 499));
+        assertEquals(Duration.ofHours(24), VideoStatisticsCache.refreshInterval(30, 499));
+
+        // Then - velocity pulls old videos into faster buckets
+        assertEquals(Duration.ofHours(6), VideoStatisticsCache.refreshInterval(365, 500));
+        assertEquals(Duration.ofHours(1), VideoStatisticsCache.refreshInterval(365, 5_000));
+        assertEquals(Duration.ofMinutes(15), VideoStatisticsCache.refreshInterval(365, 50_000));
+    }
+
+    @Test
+    void testRefreshTakesMostOverdueEntriesUpToTheBatchCap() {
+        // Given - 60 year-old videos (24h interval) and 5 published an hour ago (15m interval)
+        VideoStatisticsCache cache = newCache(1);
+        List<String> old = ids("old", 60);
+        List<String> fresh = ids("fresh", 5);
+        old.forEach(id -> publishedAt.put(id, "2025-01-01T00:00:00Z"));
+        fresh.forEach(id -> publishedAt.put(id, "2025-12-31T23:00:00Z"));
+        cache.getVideos("test", concat(old, fresh)).block();
+        requestedIds.clear();
+
+        // When - an hour later only the fresh videos are due
+        now.set(T0 + Duration.ofHours(1).toMillis());
+        cache.refreshDueEntries();
+
+        // Then
+        assertEquals(1, requestedIds.size());
+        assertEquals(Set.copyOf(fresh), Set.copyOf(requestedIds.get(0)));
+
+        // When - a day later everything is due, but one run covers a single 50-ID batch
+        requestedIds.clear();
+        now.set(T0 + Duration.ofHours(26).toMillis());
+        cache.refreshDueEntries();
+
+        // Then - the fresh videos, overdue since 1h15m, come first
+        assertEquals(1, requestedIds.size());
+        assertEquals(50, requestedIds.get(0).size());
+        assertTrue(requestedIds.get(0).containsAll(fresh));
+    }
+
+    @Test
+    void testRefreshInvalidatesVideosNoLongerReturned() {
+        // Given
+        VideoStatisticsCache cache = newCache(1);
+        publishedAt.put("kept", "2025-01-01T00:00:00Z");
+        publishedAt.put("deleted", "2025-01-01T00:00:00Z");
+        cache.getVideos("test", List.of("kept", "deleted")).block();
+        assertEquals(List.of("deleted"), localIndex.search("deleted video", 0, 1.0, 10));
+
+        // When - the video was deleted before the next refresh
+        gone.add("deleted");
+        now.set(T0 + Duration.ofHours(25).toMillis());
+        cache.refreshDueEntries();
+
+        // Then - dropped from the local index, and the next lookup goes back to the API
+        assertTrue(localIndex.search("deleted video", 0, 1.0, 10).isEmpty());
+        assertEquals(List.of("kept"), localIndex.search("kept video", 0, 1.0, 10));
+        requestedIds.clear();
+        List<EnrichedVideoData> videos = cache.getVideos("test", List.of("kept", "deleted")).block();
+        assertEquals(List.of(List.of("deleted")), requestedIds);
+        assertEquals(List.of("kept"), videos.stream().map(EnrichedVideoData::videoId).toList());
+    }
+
+    @Test
+    void testInvalidDurationsAreUnknownNotZero() {
+        // Given
+        VideoStatisticsCache cache = newCache(1);
+        publishedAt.put("valid", "2025-01-01T00:00:00Z");
+        publishedAt.put("invalid", "2025-01-01T00:00:00Z");
+        durations.put("invalid", "PT4X");
+
+        // When
+        List<EnrichedVideoData> videos = cache.getVideos("test", List.of("valid", "invalid")).block();
+
+        // Then
+        assertEquals(253, videos.get(0).durationSeconds());
+        assertNull(videos.get(1).durationSeconds());
+    }
+
+    private VideoStatisticsCache newCache(int batchesPerRun) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String ids = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst("id");
+                    List<String> requested = List.of(ids.split(","));
+                    requestedIds.add(requested);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .body(videosBody(requested))
+                            .build());
+                })
+                .build();
+        YouTubeClient client = new YouTubeClient(webClient, new YouTubeProperties(),
+                new YouTubeQuotaManager(new YouTubeQuotaProperties()),
+                new OutboundHttp(new OutboundHttpProperties()), new SingleFlightRegistry(), "test-key", "");
+        YouTubeProperties props = new YouTubeProperties();
+        props.setVideoStatsRefreshBatchesPerRun(batchesPerRun);
+        MetadataStoreProperties storeProps = new MetadataStoreProperties();
+        storeProps.setEnabled(false);
+        return new VideoStatisticsCache(client, new YouTubeDurationParser(), props,
+                new VideoMetadataStore(storeProps), localIndex, now::get);
+    }
+
+    private String videosBody(List<String> requested) {
+        String items = requested.stream()
+                .filter(id -> !gone.contains(id))
+                .map(id -> "{\"id\":\"" + id + "\","
+                        + "\"snippet\":{\"title\":\"" + id + " video\",\"channelTitle\":\"Channel\","
+                        + "\"channelId\":\"UC1\",\"publishedAt\":\"" + publishedAt.get(id) + "\"},"
+                        + "\"statistics\":{\"viewCount\":\"1000\",\"likeCount\":\"10\",\"commentCount\":\"1\"},"
+                        + "\"contentDetails\":{\"duration\":\"" + durations.getOrDefault(id, "PT4M13S") + "\"}}")
+                .collect(Collectors.joining(","));
+        return "{\"items\":[" + items + "]}";
+    }
+
+    private static List<String> ids(String prefix, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(prefix + i);
+        }
+        return ids;
+    }
+
+    private static List<String> concat(List<String> a, List<String> b) {
+        List<String> all = new ArrayList<>(a);
+        all.addAll(b);
+        return all;
+    }
+}
@@ -0,0 +1,47 @@
+package com.aivideocoach.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YouTubeDurationParserTest {
+
+    private final YouTubeDurationParser parser = new YouTubeDurationParser();
+
+    @Test
+    void testParsesTimeOnlyDurations() {
+        assertEquals(253, parser.parseToSeconds("PT4M13S"));
+        assertEquals(3730, parser.parseToSeconds("PT1H2M10S"));
+        assertEquals(720, parser.parseToSeconds("PT12M"));
+        assertEquals(3600, parser.parseToSeconds("PT1H"));
+        assertEquals(59, parser.parseToSeconds("PT59S"));
+        assertEquals(36300, parser.parseToSeconds("PT10H5M"));
+        assertEquals(0, parser.parseToSeconds("PT0S"));
+    }
+
+    @Test
+    void testParsesDaysWeeksAndZeroLengthLives() {
+        assertEquals(0, parser.parseToSeconds("P0D"));
+        assertEquals(93784, parser.parseToSeconds("P1DT2H3M4S"));
+        assertEquals(172800, parser.parseToSeconds("P2D"));
+        assertEquals(694800, parser.parseToSeconds("P1W1DT1H"));
+    }
+
+    @Test
+    void testRejectsMalformedDurations() {
+        for (String invalid : new String[]{
+                null, "", " ", "P", "PT", "P1DT", "4M13S", "PT4M13", "PT13S4M", "PT4M4M",
+                "P1M", "P1Y", "PT1D", "P1H", "PTM", "PT-1S", "PT1.5S", " PT4M", "PT4M ", "P1DT1W"}) {
+            assertNull(parser.parseToSeconds(invalid), invalid);
+            assertEquals(YouTubeDurationParser.INVALID, parser.parseSeconds(invalid), invalid);
+        }
+    }
+
+    @Test
+    void testRejectsDurationsOverflowingAnInt() {
+        assertEquals(Integer.MAX_VALUE, parser.parseSeconds("PT2147483647S"));
+        assertNull(parser.parseToSeconds("PT2147483648S"));
+        assertNull(parser.parseToSeconds("P99999999999999999999D"));
+        assertNull(parser.parseToSeconds("P24856D"));
+    }
+}
@@ -0,0 +1,354 @@
+package com.aivideocoach.service;
+
+import com.aivideocoach.config.InspirationCacheProperties;
+import com.aivideocoach.config.InspirationPrecomputeProperties;
+import com.aivideocoach.config.LocalSearchProperties;
+import com.aivideocoach.config.MetadataStoreProperties;
+import com.aivideocoach.config.OutboundHttpProperties;
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.config.YouTubeQuotaProperties;
+import com.aivideocoach.http.OutboundHttp;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.youtube.YouTubeClient;
+import com.aivideocoach.youtube.YouTubeQuotaManager;
+import com.aivideocoach.youtube.dto.YoutubeInspirationProgressEvent;
+import com.aivideocoach.youtube.dto.YoutubeInspirationRequest;
+import com.aivideocoach.youtube.dto.YoutubeInspirationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YoutubeInspirationServiceTest {
+
+    private static final YoutubeInspirationRequest REQUEST =
+            new YoutubeInspirationRequest("Gym", "fitness", null, "US", "en", List.of("workout"), null);
+
+    // Served by the fake API: search results in order, and every video's views by ID
+    private final List<String> searchResults = new ArrayList<>();
+    private final List<String> secondPage = new ArrayList<>();
+    private final Map<String, Long> views = new LinkedHashMap<>();
+    private final LocalVideoIndex localIndex = new LocalVideoIndex(new LocalSearchProperties());
+    private final AtomicInteger searches = new AtomicInteger();
+    private Duration searchDelay = Duration.ZERO;
+    private Duration searchTimeout;
+    // Answer videos.list, or search result pages after the first, with 400
+    private boolean failVideos;
+    private boolean failLaterPages;
+    private YouTubeQuotaManager quotaManager;
+
+    @Test
+    void testMergeVideoIdsInterleavesAndDedupes() {
+        // Given
+        List<List<String>> perQuery = List.of(
+                List.of("a1", "shared", "a3"),
+                List.of("b1", "b2"),
+                List.of("shared", "c2")
+        );
+
+        // When
+        List<String> merged = YoutubeInspirationService.mergeVideoIds(perQuery);
+
+        // Then
+        assertEquals(List.of("a1", "b1", "shared", "b2", "c2", "a3"), merged);
+    }
+
+    @Test
+    void testMergeVideoIdsCapsAtOneVideosBatch() {
+        // Given
+        List<List<String>> perQuery = new ArrayList<>();
+        for (int q = 0; q < 3; q++) {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                ids.add("q" + q + "-" + i);
+            }
+            perQuery.add(ids);
+        }
+
+        // When
+        List<String> merged = YoutubeInspirationService.mergeVideoIds(perQuery);
+
+        // Then
+        assertEquals(50, merged.size());
+        assertTrue(merged.contains("q2-15"), "Every query should be represented up to the cap");
+    }
+
+    @Test
+    void testTopVideosReactiveRanksTheSearchResults() {
+        // Given
+        YoutubeInspirationService service = newService(false);
+        searchResults.addAll(videos("search", 12, 50_000));
+
+        // When
+        YoutubeInspirationResponse response = service.topVideosReactive(REQUEST).block(Duration.ofSeconds(10));
+
+        // Then - the top 10 by views, best first
+        assertEquals(12, response.totalCandidates());
+        assertEquals(10, response.results().size());
+        assertEquals("search11", response.results().get(0).videoId());
+        assertTrue(response.results().stream().allMatch(v -> v.videoId().startsWith("search")));
+    }
+
+    @Test
+    void testTopVideosReactiveGivesUpOnASlowSearchAfterTheStageTimeout() {
+        // Given - the search answers long after its per-stage deadline
+        searchTimeout = Duration.ofMillis(200);
+        YoutubeInspirationService service = newService(false);
+        searchResults.addAll(videos("search", 12, 50_000));
+        searchDelay = Duration.ofSeconds(5);
+
+        // When
+        long start = System.nanoTime();
+        YoutubeInspirationResponse response = service.topVideosReactive(REQUEST).block(Duration.ofSeconds(10));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then - an error response well before the search would have answered
+        assertEquals("error", response.results().get(0).videoId());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(3)) < 0, elapsed.toString());
+    }
+
+    @Test
+    void testProgressEventsFollowThePipelineAndEndWithFinal() {
+        // Given
+        YoutubeInspirationService service = newService(false);
+        searchResults.addAll(videos("search", 12, 50_000));
+
+        // When
+        List<YoutubeInspirationProgressEvent> events = service.topVideosWithProgress(REQUEST).collectList().block();
+
+        // Then
+        assertEquals(List.of("candidates", "details", "ranking", "final"), stages(events));
+        assertEquals(12, events.get(0).count());
+        assertEquals(12, events.get(1).count());
+        assertEquals(10, events.get(2).results().size());
+        assertEquals(10, events.get(3).response().results().size());
+    }
+
+    @Test
+    void testCachedAnswerOnlyEmitsFinal() {
+        // Given - the first request fills the result cache
+        YoutubeInspirationService service = newService(false);
+        searchResults.addAll(videos("search", 12, 50_000));
+        service.topVideosReactive(REQUEST).block();
+
+        // When
+        List<YoutubeInspirationProgressEvent> events = service.topVideosWithProgress(REQUEST).collectList().block();
+
+        // Then
+        assertEquals(List.of("final"), stages(events));
+        assertEquals(10, events.get(0).response().results().size());
+    }
+
+    @Test
+    void testFallbackFromLocalAnswerReportsOnlyTheSearch() {
+        // Given - enough local matches, but all of them spam
+        List<String> local = videos("spam", 40, 50_000);
+        YoutubeInspirationService service = newService(true);
+        localIndex.addScope(local, LocalVideoIndex.scope("en", "US"));
+        searchResults.addAll(videos("search", 12, 50_000));
+
+        // When
+        List<YoutubeInspirationProgressEvent> events = service.topVideosWithProgress(REQUEST).collectList().block();
+
+        // Then - no events from the abandoned local attempt
+        assertEquals(List.of("candidates", "details", "ranking", "final"), stages(events));
+        assertEquals(12, events.get(0).count());
+        assertEquals(12, events.get(1).count());
+        assertTrue(events.get(3).response().results().stream().allMatch(v -> v.videoId().startsWith("search")));
+    }
+
+    @Test
+    void testReuploadsDoNotStopPagingEarly() {
+        // Given - 12 candidates on the first page, but only 4 distinct ones
+        YoutubeInspirationService service = newService(false);
+        searchResults.addAll(videos("search", 3, 50_000));
+        searchResults.addAll(videos("reupload", 9, 50_000));
+        secondPage.addAll(videos("page2-", 8, 50_000));
+
+        // When
+        List<YoutubeInspirationProgressEvent> events = service.topVideosWithProgress(REQUEST).collectList().block();
+
+        // Then - the second page is fetched to fill the top 10
+        assertEquals(List.of("candidates", "details", "ranking", "candidates", "details", "ranking", "final"), stages(events));
+        assertEquals(4, events.get(2).results().size());
+        assertEquals(10, events.get(6).response().results().size());
+    }
+
+    @Test
+    void testConcurrentRequestsShareTheFirstCallersComputation() {
+        // Given - a slow search, so the second tenant's identical request arrives while it runs
+        YoutubeInspirationService service = newService(false);
+        searchResults.addAll(videos("search", 12, 50_000));
+        searchDelay = Duration.ofMillis(300);
+
+        // When
+        var first = service.topVideosWithProgress(REQUEST)
+                .contextWrite(YouTubeQuotaManager.tenantContext("acme"))
+                .collectList();
+        var second = service.topVideosWithProgress(REQUEST)
+                .contextWrite(YouTubeQuotaManager.tenantContext("globex"))
+                .collectList()
+                .delaySubscription(Duration.ofMillis(100));
+        var both = Mono.zip(first, second).block(Duration.ofSeconds(10));
+
+        // Then - one search, paid by the first tenant; the joiner only sees the final response
+        assertEquals(1, searches.get());
+        assertEquals(List.of("candidates", "details", "ranking", "final"), stages(both.getT1()));
+        assertEquals(List.of("final"), stages(both.getT2()));
+        assertEquals(both.getT1().get(3).response(), both.getT2().get(0).response());
+        Map<String, Long> usedByTenant = quotaManager.snapshot().usedByTenant();
+        assertTrue(usedByTenant.getOrDefault("acme", 0L) >= 100, usedByTenant.toString());
+        assertFalse(usedByTenant.containsKey("globex"), usedByTenant.toString());
+    }
+
+    @Test
+    void testFailedVideoDetailsAreNotCached() {
+        // Given
+        YoutubeInspirationService service = newService(false);
+        searchResults.addAll(videos("search", 12, 50_000));
+        failVideos = true;
+
+        // When
+        YoutubeInspirationResponse failed = service.topVideosReactive(REQUEST).block();
+        failVideos = false;
+        YoutubeInspirationResponse retried = service.topVideosReactive(REQUEST).block();
+
+        // Then - the second request searches again instead of getting the failure from the cache
+        assertEquals("error", failed.results().get(0).videoId());
+        assertEquals(2, searches.get());
+        assertEquals(10, retried.results().size());
+    }
+
+    @Test
+    void testPartialRankingIsReturnedButNotCached() {
+        // Given - the second page fails, leaving only 4 distinct videos
+        YoutubeInspirationService service = newService(false);
+        searchResults.addAll(videos("search", 3, 50_000));
+        searchResults.addAll(videos("reupload", 9, 50_000));
+        secondPage.addAll(videos("page2-", 8, 50_000));
+        failLaterPages = true;
+
+        // When
+        YoutubeInspirationResponse partial = service.topVideosReactive(REQUEST).block();
+        failLaterPages = false;
+        YoutubeInspirationResponse complete = service.topVideosReactive(REQUEST).block();
+
+        // Then
+        assertEquals(4, partial.results().size());
+        assertEquals(10, complete.results().size());
+        assertEquals(4, searches.get());
+    }
+
+    private YoutubeInspirationService newService(boolean localSearch) {
+        YouTubeProperties props = new YouTubeProperties();
+        props.setApiKey("test-key");
+        props.setSearchMaxPages(2);
+        if (searchTimeout != null) {
+            props.setSearchTimeout(searchTimeout);
+        }
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    var params = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams();
+                    String path = request.url().getPath();
+                    String body = path.endsWith("/search") ? searchBody(params.getFirst("pageToken"))
+                            : path.endsWith("/videos") ? videosBody(List.of(params.getFirst("id").split(",")))
+                            : "{\"items\":[{\"id\":\"UC1\",\"statistics\":{\"subscriberCount\":\"10000\"}}]}";
+                    if (path.endsWith("/search")) {
+                        searches.incrementAndGet();
+                    }
+                    if ((failVideos && path.endsWith("/videos"))
+                            || (failLaterPages && path.endsWith("/search") && params.getFirst("pageToken") != null)) {
+                        return Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST)
+                                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                                .body("{\"error\":{\"code\":400,\"message\":\"bad request\"}}")
+                                .build());
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                    .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                                    .body(body)
+                                    .build())
+                            .delayElement(path.endsWith("/search") ? searchDelay : Duration.ZERO);
+                })
+                .build();
+        quotaManager = new YouTubeQuotaManager(new YouTubeQuotaProperties());
+        YouTubeClient client = new YouTubeClient(webClient, props, quotaManager,
+                new OutboundHttp(new OutboundHttpProperties()), new SingleFlightRegistry(), "test-key", "");
+        MetadataStoreProperties storeProps = new MetadataStoreProperties();
+        storeProps.setEnabled(false);
+        VideoMetadataStore store = new VideoMetadataStore(storeProps);
+        VideoStatisticsCache videoCache = new VideoStatisticsCache(client, new YouTubeDurationParser(), props, store, localIndex);
+        if (!views.isEmpty()) {
+            // Videos registered so far are already cached and indexed, as after earlier searches
+            videoCache.getVideos("warm", List.copyOf(views.keySet())).block();
+        }
+        LocalSearchProperties localProps = new LocalSearchProperties();
+        localProps.setEnabled(localSearch);
+        VideoQualityScorer scorer = new VideoQualityScorer(new SpamPatternRegistry("free money"), 10000, 7,
+                new NearDuplicateDetector(true, 0.7), java.time.Clock.systemUTC());
+        return new YoutubeInspirationService(props, new InspirationCacheProperties(), scorer, client, quotaManager,
+                new ChannelStatisticsService(client, props, store), videoCache,
+                new TrendingIndex(new InspirationPrecomputeProperties()), localIndex, localProps,
+                new SingleFlightRegistry(), new SimpleMeterRegistry());
+    }
+
+    /** Registers count videos with distinct titles and returns their IDs. */
+    private List<String> videos(String prefix, int count, long viewCount) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(prefix + i);
+            views.put(prefix + i, viewCount + i);
+        }
+        return ids;
+    }
+
+    private String searchBody(String pageToken) {
+        List<String> page = pageToken == null ? searchResults : secondPage;
+        String next = pageToken == null && !secondPage.isEmpty() ? ",\"nextPageToken\":\"p2\"" : "";
+        return page.stream()
+                .map(id -> "{\"id\":{\"videoId\":\"" + id + "\"}}")
+                .collect(Collectors.joining(",", "{\"items\":[", "]" + next + "}"));
+    }
+
+    private String videosBody(List<String> ids) {
+        String publishedAt = Instant.now().minus(Duration.ofDays(3)).toString();
+        return ids.stream()
+                .map(id -> "{\"id\":\"" + id + "\","
+                        + "\"snippet\":{\"title\":\"Fitness workout " + title(id) + "\",\"channelTitle\":\"Channel " + id + "\","
+                        + "\"channelId\":\"UC1\",\"publishedAt\":\"" + publishedAt + "\"},"
+                        + "\"statistics\":{\"viewCount\":\"" + views.get(id) + "\",\"likeCount\":\"100\",\"commentCount\":\"10\"},"
+                        + "\"contentDetails\":{\"duration\":\"PT8M\"}}")
+                .collect(Collectors.joining(",", "{\"items\":[", "]}"));
+    }
+
+    // Only "fitness workout" is shared, so near-duplicate detection keeps every video
+    private static String title(String id) {
+        if (id.startsWith("spam")) {
+            return id + " free money";
+        }
+        if (id.startsWith("reupload")) {
+            return "full body routine";
+        }
+        String[] words = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india", "juliet",
+                "kilo", "lima", "mike", "november", "oscar", "papa", "quebec", "romeo", "sierra", "tango"};
+        return id + " " + words[Integer.parseInt(id.replaceAll("\\D", "")) % words.length];
+    }
+
+    private static List<String> stages(List<YoutubeInspirationProgressEvent> events) {
+        return events.stream().map(YoutubeInspirationProgressEvent::stage).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.aivideocoach.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneExecution() {
+        // Given
+        SingleFlight<String, String> flight = new SingleFlight<>("test");
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+
+        // When - three callers subscribe before the upstream answers
+        Mono<String> first = flight.execute("fitness", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<String> second = flight.execute("fitness", () -> {
+            calls.incrementAndGet();
+            return Mono.just("unexpected");
+        });
+        Mono<String> third = flight.execute("fitness", () -> {
+            calls.incrementAndGet();
+            return Mono.just("unexpected");
+        });
+
+        var r1 = first.toFuture();
+        var r2 = second.toFuture();
+        var r3 = third.toFuture();
+        upstream.tryEmitValue("result");
+
+        // Then
+        assertEquals("result", r1.join());
+        assertEquals("result", r2.join());
+        assertEquals("result", r3.join());
+        assertEquals(1, calls.get());
+        assertEquals(1, flight.stats().executed());
+        assertEquals(2, flight.stats().coalesced());
+        assertEquals(0, flight.stats().inFlight());
+    }
+
+    @Test
+    void testCompletedFlightsAreNotReused() {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test");
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        flight.execute("k", () -> Mono.just(calls.incrementAndGet())).block();
+        Integer second = flight.execute("k", () -> Mono.just(calls.incrementAndGet())).block();
+
+        // Then
+        assertEquals(2, second);
+        assertEquals(0, flight.stats().coalesced());
+    }
+
+    @Test
+    void testWorkRunsInTheFirstCallersContext() {
+        // Given
+        SingleFlight<String, String> flight = new SingleFlight<>("test");
+        Sinks.One<String> upstream = Sinks.one();
+
+        // When - the work reads the tenant from the context of whoever subscribes first
+        Mono<String> work = Mono.deferContextual(ctx -> upstream.asMono().map(v -> v + ":" + ctx.get("tenant")));
+        var first = flight.execute("k", () -> work).contextWrite(Context.of("tenant", "acme")).toFuture();
+        var second = flight.execute("k", () -> work).contextWrite(Context.of("tenant", "globex")).toFuture();
+        upstream.tryEmitValue("result");
+
+        // Then
+        assertEquals("result:acme", first.join());
+        assertEquals("result:acme", second.join());
+    }
+}
@@ -0,0 +1,65 @@
+package com.aivideocoach.youtube;
+
+import com.aivideocoach.config.OutboundHttpProperties;
+import com.aivideocoach.config.YouTubeProperties;
+import com.aivideocoach.config.YouTubeQuotaProperties;
+import com.aivideocoach.http.OutboundHttp;
+import com.aivideocoach.util.SingleFlightRegistry;
+import com.aivideocoach.youtube.model.YoutubeChannelsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YouTubeClientTest {
+
+    private static final String CHANNELS_BODY =
+            "{\"items\":[{\"id\":\"UC1\",\"statistics\":{\"subscriberCount\":\"1200\"}}]}";
+
+    @Test
+    void testRepeatLookupRevalidatesWithEtag() {
+        // Given - the API answers 304 whenever the current ETag is presented
+        List<ClientRequest> requests = new ArrayList<>();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    if ("\"v1\"".equals(request.headers().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                        return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.ETAG, "\"v1\"")
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .body(CHANNELS_BODY)
+                            .build());
+                })
+                .build();
+        YouTubeClient client = new YouTubeClient(webClient, new YouTubeProperties(),
+                new YouTubeQuotaManager(new YouTubeQuotaProperties()),
+                new OutboundHttp(new OutboundHttpProperties()), new SingleFlightRegistry(), "test-key", "");
+
+        // When - same channel set, different order
+        YoutubeChannelsResponse first = client.listChannels(List.of("UC2", "UC1")).block();
+        YoutubeChannelsResponse second = client.listChannels(List.of("UC1", "UC2")).block();
+
+        // Then
+        assertEquals(2, requests.size());
+        assertNull(requests.get(0).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"v1\"", requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(requests.get(0).url(), requests.get(1).url());
+        assertSame(first, second);
+
+        ConditionalResponseCache.Stats channels = client.conditionalRequestStats().stream()
+                .filter(s -> s.name().equals("youtube.channels"))
+                .findFirst().orElseThrow();
+        assertEquals(1, channels.notModified());
+        assertEquals(1, channels.modified());
+    }
+}
@@ -0,0 +1,111 @@
+package com.aivideocoach.youtube;
+
+import com.aivideocoach.config.YouTubeQuotaProperties;
+import com.aivideocoach.youtube.YouTubeQuotaManager.Level;
+import com.aivideocoach.youtube.YouTubeQuotaManager.Operation;
+import com.aivideocoach.youtube.YouTubeQuotaManager.Priority;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YouTubeQuotaManagerTest {
+
+    private YouTubeQuotaManager newManager(long daily, long perTenant) {
+        YouTubeQuotaProperties props = new YouTubeQuotaProperties();
+        props.setDailyBudget(daily);
+        props.setTenantDailyBudget(perTenant);
+        return new YouTubeQuotaManager(props);
+    }
+
+    @Test
+    void testDegradesAsTenantBudgetIsSpent() {
+        // Given
+        YouTubeQuotaManager manager = newManager(10_000, 1_000);
+
+        // When - 7 searches leave 30% of the tenant budget
+        for (int i = 0; i < 7; i++) {
+            assertTrue(manager.tryAcquire("acme", Priority.INTERACTIVE, Operation.SEARCH));
+        }
+
+        // Then
+        assertEquals(Level.FULL, manager.level("acme", Priority.INTERACTIVE));
+        assertTrue(manager.tryAcquire("acme", Priority.INTERACTIVE, Operation.SEARCH));
+        assertEquals(Level.REDUCED, manager.level("acme", Priority.INTERACTIVE));
+        assertTrue(manager.tryAcquire("acme", Priority.INTERACTIVE, Operation.SEARCH));
+        assertEquals(Level.CACHE_ONLY, manager.level("acme", Priority.INTERACTIVE));
+        assertFalse(manager.tryAcquire("acme", Priority.INTERACTIVE, Operation.VIDEOS_LIST));
+
+        // Other tenants are unaffected
+        assertEquals(Level.FULL, manager.level("other", Priority.INTERACTIVE));
+        assertEquals(900, manager.snapshot().used());
+        assertEquals(900, manager.unitsSpent(Operation.SEARCH, Priority.INTERACTIVE));
+        assertEquals(0, manager.unitsSpent(Operation.VIDEOS_LIST, Priority.INTERACTIVE));
+        assertEquals(1, manager.deniedCalls());
+    }
+
+    @Test
+    void testBackgroundWorkStopsAtReserve() {
+        // Given
+        YouTubeQuotaManager manager = newManager(1_000, 1_000);
+        for (int i = 0; i < 6; i++) {
+            manager.tryAcquire("acme", Priority.INTERACTIVE, Operation.SEARCH);
+        }
+
+        // Then
+        assertFalse(manager.tryAcquire(YouTubeQuotaManager.DEFAULT_TENANT, Priority.BACKGROUND, Operation.VIDEOS_LIST));
+    }
+
+    @Test
+    void testBackgroundSpendDoesNotReduceDefaultTenantAllowance() {
+        // Given - background refreshes spend more than a whole tenant budget
+        YouTubeQuotaManager manager = newManager(10_000, 1_000);
+        for (int i = 0; i < 15; i++) {
+            assertTrue(manager.tryAcquire(YouTubeQuotaManager.DEFAULT_TENANT, Priority.BACKGROUND, Operation.SEARCH));
+        }
+
+        // Then - un-headered interactive traffic still has its full allowance (9 searches, as for any tenant)
+        assertEquals(Level.FULL, manager.level(YouTubeQuotaManager.DEFAULT_TENANT, Priority.INTERACTIVE));
+        for (int i = 0; i < 9; i++) {
+            assertTrue(manager.tryAcquire(YouTubeQuotaManager.DEFAULT_TENANT, Priority.INTERACTIVE, Operation.SEARCH));
+        }
+        assertEquals(1_500, manager.snapshot().usedByTenant().get(YouTubeQuotaManager.BACKGROUND_LEDGER));
+        assertEquals(900, manager.snapshot().usedByTenant().get(YouTubeQuotaManager.DEFAULT_TENANT));
+        assertEquals(2_400, manager.snapshot().used());
+    }
+
+    @Test
+    void testGuardFailsFastWithoutCallingUpstream() {
+        // Given
+        YouTubeQuotaManager manager = newManager(100, 100);
+        manager.tryAcquire("acme", Priority.INTERACTIVE, Operation.SEARCH);
+
+        // When
+        Mono<String> guarded = manager.guard(Operation.SEARCH, Mono.<String>fromCallable(() -> fail("upstream must not be called")))
+                .contextWrite(YouTubeQuotaManager.tenantContext("acme"));
+
+        // Then
+        assertThrows(YouTubeQuotaExceededException.class, guarded::block);
+    }
+
+    @Test
+    void testBatchBudgetCapsSpendAcrossItems() {
+        // Given
+        YouTubeQuotaManager manager = newManager(10_000, 10_000);
+        YouTubeQuotaManager.BatchBudget budget = new YouTubeQuotaManager.BatchBudget(150);
+
+        // When
+        String first = manager.guard(Operation.SEARCH, Mono.just("ok"))
+                .contextWrite(YouTubeQuotaManager.batchContext("acme", budget)).block();
+        Mono<String> second = manager.guard(Operation.SEARCH, Mono.just("ok"))
+                .contextWrite(YouTubeQuotaManager.batchContext("acme", budget));
+
+        // Then - the second search does not fit, and the batch drops to cache-only
+        assertEquals("ok", first);
+        assertThrows(YouTubeQuotaExceededException.class, second::block);
+        assertEquals(50, budget.remaining());
+        assertEquals(100, manager.snapshot().used());
+        assertEquals(Level.CACHE_ONLY, manager.currentLevel()
+                .contextWrite(YouTubeQuotaManager.batchContext("acme", budget)).block());
+    }
+}
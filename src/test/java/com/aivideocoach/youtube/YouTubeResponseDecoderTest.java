@@ -0,0 +1,144 @@
+package com.aivideocoach.youtube;
+
+import com.aivideocoach.youtube.model.YoutubeChannelsResponse;
+import com.aivideocoach.youtube.model.YoutubeSearchResponse;
+import com.aivideocoach.youtube.model.YoutubeVideosResponse;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YouTubeResponseDecoderTest {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    void testVideosMatchFullDatabindOnUsedFields() throws IOException {
+        // Given
+        byte[] body = fixture("videos-list.json");
+
+        // When
+        YoutubeVideosResponse streamed = YouTubeResponseDecoder.decodeVideos(body);
+        YoutubeVideosResponse full = mapper.readValue(body, YoutubeVideosResponse.class);
+
+        // Then
+        assertEquals(50, streamed.items().size());
+        for (int i = 0; i < full.items().size(); i++) {
+            YoutubeVideosResponse.Item expected = full.items().get(i);
+            YoutubeVideosResponse.Item actual = streamed.items().get(i);
+            assertEquals(expected.id(), actual.id());
+            assertEquals(expected.snippet().title(), actual.snippet().title());
+            assertEquals(expected.snippet().channelTitle(), actual.snippet().channelTitle());
+            assertEquals(expected.snippet().channelId(), actual.snippet().channelId());
+            assertEquals(expected.snippet().publishedAt(), actual.snippet().publishedAt());
+            assertEquals(expected.statistics(), actual.statistics());
+            assertEquals(expected.contentDetails(), actual.contentDetails());
+        }
+    }
+
+    @Test
+    void testSearchKeepsIdsAndCursor() throws IOException {
+        // Given
+        byte[] body = fixture("search-list.json");
+
+        // When
+        YoutubeSearchResponse response = YouTubeResponseDecoder.decodeSearch(body);
+
+        // Then
+        assertEquals(25, response.items().size());
+        assertEquals("vid00000000", response.items().get(0).id().videoId());
+        assertEquals("CBkQAA", response.nextPageToken());
+        assertEquals(25, response.pageInfo().resultsPerPage());
+    }
+
+    @Test
+    void testChannelsAndMissingFields() {
+        // Given - numeric counts, unknown fields and an item without statistics
+        byte[] body = """
+                {"kind":"youtube#channelListResponse","items":[
+                  {"id":"UC1","snippet":{"title":"x"},"statistics":{"subscriberCount":1200,"hiddenSubscriberCount":false}},
+                  {"id":"UC2"}
+                ]}""".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        YoutubeChannelsResponse response = YouTubeResponseDecoder.decodeChannels(body);
+
+        // Then
+        assertEquals("1200", response.items().get(0).statistics().subscriberCount());
+        assertNull(response.items().get(1).statistics());
+        assertTrue(YouTubeResponseDecoder.decodeVideos("{}".getBytes(StandardCharsets.UTF_8)).items().isEmpty());
+    }
+
+    @Test
+    void testSearchMatchesFullDatabindOnUsedFields() throws IOException {
+        // Given
+        byte[] body = fixture("search-list.json");
+
+        // When
+        YoutubeSearchResponse streamed = YouTubeResponseDecoder.decodeSearch(body);
+        YoutubeSearchResponse full = mapper.readValue(body, YoutubeSearchResponse.class);
+
+        // Then
+        assertEquals(full.items().size(), streamed.items().size());
+        for (int i = 0; i < full.items().size(); i++) {
+            assertEquals(full.items().get(i).id(), streamed.items().get(i).id());
+        }
+        assertEquals(full.nextPageToken(), streamed.nextPageToken());
+        assertEquals(full.pageInfo(), streamed.pageInfo());
+    }
+
+    @Test
+    void testNullSubObjectsAndArrayElementsAreSkipped() {
+        // Given - explicit nulls where objects are expected, and a null between two items
+        byte[] videos = """
+                {"items":[
+                  {"id":"v1","snippet":null,"statistics":{"viewCount":"10"},"contentDetails":null},
+                  null,
+                  {"id":"v2","snippet":{"title":"t2","thumbnails":null},"statistics":null}
+                ],"pageInfo":null}""".getBytes(StandardCharsets.UTF_8);
+        byte[] search = """
+                {"items":[null,{"id":null},{"id":{"videoId":"v3"}}],"pageInfo":null,"nextPageToken":null}"""
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] channels = """
+                {"items":[{"id":"UC1","statistics":null},null,{"id":"UC2","statistics":{"subscriberCount":"5"}}]}"""
+                .getBytes(StandardCharsets.UTF_8);
+
+        // When
+        YoutubeVideosResponse videosResponse = YouTubeResponseDecoder.decodeVideos(videos);
+        YoutubeSearchResponse searchResponse = YouTubeResponseDecoder.decodeSearch(search);
+        YoutubeChannelsResponse channelsResponse = YouTubeResponseDecoder.decodeChannels(channels);
+
+        // Then
+        assertEquals(2, videosResponse.items().size());
+        YoutubeVideosResponse.Item first = videosResponse.items().get(0);
+        assertEquals("v1", first.id());
+        assertNull(first.snippet());
+        assertEquals("10", first.statistics().viewCount());
+        assertNull(first.contentDetails());
+        YoutubeVideosResponse.Item second = videosResponse.items().get(1);
+        assertEquals("v2", second.id());
+        assertEquals("t2", second.snippet().title());
+        assertNull(second.statistics());
+
+        assertEquals(2, searchResponse.items().size());
+        assertNull(searchResponse.items().get(0).id().videoId());
+        assertEquals("v3", searchResponse.items().get(1).id().videoId());
+        assertNull(searchResponse.pageInfo());
+        assertNull(searchResponse.nextPageToken());
+
+        assertEquals(2, channelsResponse.items().size());
+        assertNull(channelsResponse.items().get(0).statistics());
+        assertEquals("5", channelsResponse.items().get(1).statistics().subscriberCount());
+    }
+
+    private static byte[] fixture(String name) throws IOException {
+        try (InputStream in = YouTubeResponseDecoderTest.class.getResourceAsStream("/youtube/" + name)) {
+            assertNotNull(in, name);
+            return in.readAllBytes();
+        }
+    }
+}